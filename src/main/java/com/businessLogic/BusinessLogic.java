@@ -1,27 +1,43 @@
 package com.businessLogic;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
+import com.catalog.MovieListCache;
+import com.catalog.SerializedMovies;
+import com.dispatch.TopicStages;
+import com.localTopics.GroupTicketRequest;
+import com.localTopics.GroupTicketResponse;
+import com.localTopics.PagedMovieListRequest;
+import com.localTopics.SeatAvailabilityRequest;
+import com.localTopics.SeatAvailabilityResponse;
 import com.topics.*;
 import com.topics.Movie.Genre;
-import jakarta.annotation.PostConstruct;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postgres.MoviePage;
+import com.postgres.MovieQuery;
 import com.postgres.PostgresService;
+import com.postgres.TicketsRespository;
 import com.postgres.models.MovieTicket;
 import com.postgres.models.Movies;
+import com.seating.SeatInventory;
+import com.ticketing.TicketIdPool;
+import com.ticketing.TicketingManagerUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /*
  * Handles the business logic for processing various topics and utilizes 
@@ -33,25 +49,31 @@ public class BusinessLogic {
     public final PostgresService postgresService;
 
     // REST Clients to communicate with other microservices
-    private final RestClient ticketingManagerClient;
-    private HashMap<RestClient, String> restEndpoints = new HashMap<>();
+    private final TicketIdPool ticketIdPool;
+    private final MovieListCache movieListCache;
+    private final SeatInventory seatInventory;
+    private final MeterRegistry meterRegistry;
 
-    @Value("${ticketing.manager}")
-    private String ticketManager;
-    @Value("${ticketing.manager.port}")
-    private String ticketManagerPort;
-    private String tm;
+    // thread-safe once configured
+    private static final ObjectMapper JSON = new ObjectMapper();
 
-    public BusinessLogic(RestClient ticketingManagerClient, PostgresService postgresService) {
-        this.ticketingManagerClient = ticketingManagerClient;
-        this.postgresService = postgresService;
-    }
+    // booking pipeline stages, timed under booking.stage{stage, outcome}
+    public static final String BOOKING_STAGE_TIMER = "booking.stage";
+    public static final String BOOKING_COMPENSATIONS = "booking.compensations";
+    // requests refused because a seat was already sold, by topic and source (inventory|database)
+    public static final String BOOKING_SEAT_CONFLICTS = "booking.seat.conflicts";
+    static final String STAGE_VALIDATE_SHOWTIME = "validate_showtime";
+    static final String STAGE_RESERVE_SEAT = "reserve_seat";
+    static final String STAGE_TICKET_ID = "ticket_id";
+    static final String STAGE_COMMIT = "commit";
 
-    @PostConstruct
-    public void init() {
-        tm = "http://" + ticketManager + ":" + ticketManagerPort + "/api/v1/ticket";
-        restEndpoints.put(ticketingManagerClient, tm);
-        LOG.info("BusinessLogic initialized with Ticketing Manager at: " + tm);
+    public BusinessLogic(TicketIdPool ticketIdPool, PostgresService postgresService,
+            MovieListCache movieListCache, SeatInventory seatInventory, MeterRegistry meterRegistry) {
+        this.ticketIdPool = ticketIdPool;
+        this.postgresService = postgresService;
+        this.movieListCache = movieListCache;
+        this.seatInventory = seatInventory;
+        this.meterRegistry = meterRegistry;
     }
 
     /*
@@ -68,163 +90,574 @@ public class BusinessLogic {
     /*
      * Request handlers for the various topics, which communicate through REST
      * clients
+     *
+     * Ticket requests run as a pipeline of stages, a failing stage undoes the earlier ones:
+     *      1. validate showtime    the movie must be playing at the requested showtime
+     *      2. reserve seat         take the seat in the SeatInventory, then hold it with a PENDING
+     *                              ticket (409 if already taken)
+     *      3. ticket id            ticket number from the TicketIdPool (Ticketing Manager)
+     *      4. commit               swap PENDING for the ticket number
+     * A duplicate seat is rejected at stage 2, before a ticket number is requested, a seat the
+     * SeatInventory knows is sold without a Postgres round-trip.
      */
     public ResponseEntity<Object> processTicketRequest(CreateTicketRequest ticketRequest) {
-        System.out.println("\n");
         LOG.info("Received a MovieTicketRequest. ");
+        Movies movie = toMovie(ticketRequest);
+
+        // STAGE 1: Check to see if the movie and showtime exist in the DB
+        ResponseEntity<Object> rejected = validateShowtime(movie);
+        if(rejected != null) {
+            return rejected;
+        }
+
+        // STAGE 2: hold the seat
+        MovieTicket movieTicket = pendingTicket(movie, ticketRequest.getSeatNumber());
+        rejected = reserveSeat(movie, movieTicket);
+        if(rejected != null) {
+            return rejected;
+        }
+
+        // STAGE 3: ticket number from the Ticketing Manager
+        LOG.info("Attempting to generate a new ticket number from the Ticketing Manager...");
+        Timer.Sample stage = Timer.start(meterRegistry);
+        String ticket = null;
+        try {
+            ticket = ticketIdPool.take();
+        } catch (TicketingManagerUnavailableException e) {
+            return ticketingManagerUnavailable(movie, movieTicket, stage, e);
+        } catch (RuntimeException e) {
+            LOG.error("Ticketing Manager request failed: {}", e.getMessage());
+        }
 
+        // STAGE 4: commit the ticket number
+        return completeTicket(movie, movieTicket, ticket, ticketRequest, stage);
+    }
+
+    /*
+     * The stages below are shared with the ReactiveBusinessLogic, which runs the same pipeline
+     * with a non-blocking Ticketing Manager call. A stage returns the response that ends the
+     * pipeline, or null to continue.
+     */
+    Movies toMovie(CreateTicketRequest ticketRequest) {
+        return toMovie(ticketRequest.getMovie());
+    }
+
+    Movies toMovie(Movie requested) {
         // MovieTicket(String movieName, LocalDateTime showtime, Genre genre, String seatNumber, Double price)
-        LocalDateTime timeConversion = ticketRequest.getMovie().getShowtime().toInstant()
+        LocalDateTime timeConversion = requested.getShowtime().toInstant()
                 .atZone(ZoneId.systemDefault())
                 .toLocalDateTime();
 
-        Movies movie = new Movies(
-                ticketRequest.getMovie().getMovieName(),
+        return new Movies(
+                requested.getMovieName(),
                 timeConversion,
-                com.topics.MovieListRequest.Genre.valueOf(ticketRequest.getMovie().getGenre().name())
+                com.topics.MovieListRequest.Genre.valueOf(requested.getGenre().name())
         );
+    }
 
-        // Check to see if the movie and showtime exist in the DB, then check if the seat is available
+    MovieTicket pendingTicket(Movies movie, String seat) {
+        MovieTicket movieTicket = new MovieTicket();
+        movieTicket.setMovieName(movie.getMovieName());
+        movieTicket.setShowtime(movie.getShowtime());
+        movieTicket.setGenre(com.topics.MovieListRequest.Genre.valueOf(movie.getGenre().name()));
+        movieTicket.setSeat(seat);
+        movieTicket.setTicketId(TicketsRespository.PENDING_TICKET_ID);
+        return movieTicket;
+    }
+
+    ResponseEntity<Object> validateShowtime(Movies movie) {
+        Timer.Sample stage = Timer.start(meterRegistry);
         List<Movies> movieCheck = postgresService.findByMovieName(movie.getMovieName());
+        Movies showing = findShowing(movieCheck, movie.getShowtime());
+        boolean showtimeFound = showing != null;
+        if(showtimeFound) {
+            // the showing's id keys its seats in the SeatInventory
+            movie.setId(showing.getId());
+            // title is matched ignoring case, tickets carry the showing's spelling
+            movie.setMovieName(showing.getMovieName());
+        }
+        stopStage(stage, STAGE_VALIDATE_SHOWTIME, showtimeFound);
+        if(!showtimeFound) {
+            String logMessage = noShowing(movieCheck, movie.getMovieName(), movie.getShowtime());
+            LOG.info("Ticket request was not successful: {}", logMessage);
+            // Response is sent striaght back to the service orchestrator
+            return ResponseEntity.status(500).body(logMessage);
+        }
+        LOG.info("The movie [{}] found at the requested showtime {}", movie.getMovieName(), movie.getShowtime());
+        return null;
+    }
+
+    private static Movies findShowing(List<Movies> movies, LocalDateTime showtime) {
+        for(Movies m : movies) {
+            if(m.getShowtime().isEqual(showtime)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private static String noShowing(List<Movies> movies, String movieName, LocalDateTime showtime) {
+        return movies.isEmpty()
+            ? "No movie by the title " + movieName + " was found..."
+            : "The movie " + movieName + " does not have a showtime at " + showtime;
+    }
+
+    /*
+     * The seat is taken in the SeatInventory first (a sold seat ends here), the insert is guarded
+     * by the unique (lower(movie_name), showtime, seat) index so concurrent requests for the same seat
+     * cannot both succeed, also across instances
+     */
+    ResponseEntity<Object> reserveSeat(Movies movie, MovieTicket movieTicket) {
+        Timer.Sample stage = Timer.start(meterRegistry);
+        SeatInventory.Hold hold = seatInventory.hold(movie.getId(), movieTicket.getSeat());
+        if(hold == SeatInventory.Hold.NO_SEAT) {
+            stopStage(stage, STAGE_RESERVE_SEAT, false);
+            String logMessage = "The movie " + movieTicket.getMovieName() + " at showtime "
+                + movieTicket.getShowtime() + " has no seat " + movieTicket.getSeat();
+            LOG.info("Ticket request was not successful: {}", logMessage);
+            return ResponseEntity.badRequest().body(logMessage);
+        }
+        boolean reserved = false;
+        if(hold != SeatInventory.Hold.TAKEN) {
+            try {
+                reserved = postgresService.reserveTicket(movieTicket);
+            } catch (RuntimeException e) {
+                if(hold == SeatInventory.Hold.HELD) {
+                    seatInventory.release(movie.getId(), movieTicket.getSeat());
+                }
+                throw e;
+            }
+        }
+        // a seat Postgres refused was sold by another instance, it stays taken in the inventory
+        stopStage(stage, STAGE_RESERVE_SEAT, reserved);
+        if(!reserved) {
+            seatConflict("CreateTicketRequest", hold == SeatInventory.Hold.TAKEN ? "inventory" : "database");
+            String logMessage = "A ticket already exists for movie " + movieTicket.getMovieName()
+                + " at showtime " + movieTicket.getShowtime() + " for seat " + movieTicket.getSeat();
+            LOG.info("Ticket request was not successful: {}", logMessage);
+            return ResponseEntity.status(409).body(logMessage);
+        }
+        return null;
+    }
+
+    /*
+     * Ends the ticket id stage started with the given sample (ticket is null when the Ticketing
+     * Manager failed) and commits the ticket number, the held seat is released on failure
+     */
+    ResponseEntity<Object> completeTicket(Movies movie, MovieTicket movieTicket, String ticket,
+            CreateTicketRequest ticketRequest, Timer.Sample ticketIdStage) {
+        CreateTicketResponse response = null;
+        try {
+            if(ticket != null) {
+                response = generateTicketResponse(ticket, ticketRequest);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Invalid ticket number {}: {}", ticket, e.getMessage());
+        }
+        stopStage(ticketIdStage, STAGE_TICKET_ID, response != null);
+        if(response == null) {
+            compensate(movie, movieTicket, STAGE_TICKET_ID);
+            return ResponseEntity.status(500).body("Failed to generate a ticket number from the Ticketing Manager.");
+        }
+        LOG.info("Successfully generated a ticket number from the Ticketing Manager");
+
+        Timer.Sample stage = Timer.start(meterRegistry);
+        boolean committed = false;
+        try {
+            committed = postgresService.confirmTicket(movieTicket, ticket);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to commit ticket {}: {}", ticket, e.getMessage());
+        }
+        stopStage(stage, STAGE_COMMIT, committed);
+        if(!committed) {
+            compensate(movie, movieTicket, STAGE_COMMIT);
+            LOG.error("Failed to save the Movie Ticket to the Postgres DB.");
+            return ResponseEntity.status(500).body("Failed to save the Movie Ticket to the Postgres DB.");
+        }
+
+        movieTicket.setTicketId(ticket);
+        LOG.info("Successfully saved the Movie Ticket to the Postgres DB with Ticket ID: {}", ticket);
+        return ResponseEntity.ok(toJson(response));
+    }
+
+    /*
+     * Undo for the reserve seat stage, frees the held seat
+     */
+    private void compensate(Movies movie, MovieTicket movieTicket, String failedStage) {
+        meterRegistry.counter(BOOKING_COMPENSATIONS, "stage", failedStage).increment();
+        try {
+            if(postgresService.releaseTicket(movieTicket)) {
+                seatInventory.release(movie.getId(), movieTicket.getSeat());
+                LOG.info("Released seat {} for {} at {} after {} failed", movieTicket.getSeat(),
+                    movieTicket.getMovieName(), movieTicket.getShowtime(), failedStage);
+            }
+        } catch (RuntimeException e) {
+            // left for the PendingTicketSweeper
+            LOG.error("Failed to release seat {} for {} at {}: {}", movieTicket.getSeat(),
+                movieTicket.getMovieName(), movieTicket.getShowtime(), e.getMessage());
+        }
+    }
+
+    /*
+     * Ends the ticket id stage of a Ticketing Manager call the guard refused (circuit open or
+     * bulkhead full) and gives the held seats back. The 503 carries a Retry-After, the booking can
+     * be sent again unchanged.
+     */
+    ResponseEntity<Object> ticketingManagerUnavailable(Movies movie, MovieTicket movieTicket,
+            Timer.Sample ticketIdStage, TicketingManagerUnavailableException e) {
+        stopStage(ticketIdStage, STAGE_TICKET_ID, false);
+        compensate(movie, movieTicket, STAGE_TICKET_ID);
+        return unavailable(e);
+    }
+
+    ResponseEntity<Object> ticketingManagerUnavailable(Movies movie, List<String> held,
+            Timer.Sample ticketIdStage, TicketingManagerUnavailableException e) {
+        stopStage(ticketIdStage, STAGE_TICKET_ID, false);
+        meterRegistry.counter(BOOKING_COMPENSATIONS, "stage", STAGE_TICKET_ID).increment();
+        releaseSeats(movie, held);
+        return unavailable(e);
+    }
+
+    private static ResponseEntity<Object> unavailable(TicketingManagerUnavailableException e) {
+        // whole seconds, rounded up
+        long retryAfter = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        LOG.warn("Ticket request was not successful: {}", e.getMessage());
+        return ResponseEntity.status(503)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+            .body("The Ticketing Manager is unavailable (" + e.getMessage() + "), retry in " + retryAfter + " s.");
+    }
+
+    /*
+     * Group booking: the ticket pipeline for several seats of one showing, all or none.
+     *      1. validate showtime    once for the whole group
+     *      2. reserve seats        every seat taken in the SeatInventory (400 for a seat the
+     *                              showing doesn't have, 409 for a sold one), nothing written yet
+     *      3. ticket ids           all ticket numbers in one take from the TicketIdPool
+     *      4. commit               the tickets inserted in one transaction as a single JDBC batch,
+     *                              a seat sold by another instance meanwhile rolls the group back (409)
+     * One movie lookup, one insert round-trip and no PENDING tickets, where booking the seats one
+     * CreateTicketRequest at a time costs a lookup, a reserve and a confirm per seat.
+     */
+    public ResponseEntity<Object> processGroupTicketRequest(GroupTicketRequest groupRequest) {
+        LOG.info("Received a GroupTicketRequest for {} seats. ", groupRequest.getSeatNumbers().size());
+        Movies movie = toMovie(groupRequest.getMovie());
+
+        // STAGE 1: Check to see if the movie and showtime exist in the DB
+        ResponseEntity<Object> rejected = validateShowtime(movie);
+        if(rejected != null) {
+            return rejected;
+        }
+
+        // STAGE 2: hold the seats
+        List<String> held = new ArrayList<>();
+        rejected = holdSeats(movie, groupRequest.getSeatNumbers(), held);
+        if(rejected != null) {
+            return rejected;
+        }
+
+        // STAGE 3: all ticket numbers at once
+        Timer.Sample stage = Timer.start(meterRegistry);
+        List<String> tickets = null;
+        try {
+            tickets = ticketIdPool.take(groupRequest.getSeatNumbers().size());
+        } catch (TicketingManagerUnavailableException e) {
+            return ticketingManagerUnavailable(movie, held, stage, e);
+        } catch (RuntimeException e) {
+            LOG.error("Ticketing Manager request failed: {}", e.getMessage());
+        }
+
+        // STAGE 4: insert the group
+        return completeGroup(movie, held, tickets, groupRequest, stage);
+    }
 
-        // Default log message
-        String logMessage = "No movie by the title " + movie.getMovieName() + " was found...";
-        for(Movies m : movieCheck) {
-            if(m.getShowtime().isEqual(movie.getShowtime())) {
-                LOG.info("The movie [" + movie.getMovieName() + "] found at the requested showtime " + movie.getShowtime());
-                LOG.info("Attempting to generate a new ticket number from the Ticketing Manager...");
-                ResponseEntity<String> ticketResponse = ticketingManagerClient
-                                    .post()
-                                    .uri(restEndpoints.get(ticketingManagerClient))
-                                    .contentType(MediaType.APPLICATION_JSON)
-                                    .retrieve()
-                                    .toEntity(String.class);
-                                    
-                if(ticketResponse.getStatusCode().is2xxSuccessful()) {
-                    LOG.info("Successfully generated a ticket number from the Ticketing Manager");
-
-                    String ticket = ticketResponse.getBody();
-                    CreateTicketResponse response = generateTicketResponse(ticket, ticketRequest);
-
-                    MovieTicket movieTicket = new MovieTicket();
-                    movieTicket.setMovieName(movie.getMovieName());
-                    movieTicket.setShowtime(movie.getShowtime());
-                    movieTicket.setGenre(com.topics.MovieListRequest.Genre.valueOf(movie.getGenre().name()));
-                    movieTicket.setSeat(ticketRequest.getSeatNumber());
-                    movieTicket.setTicketId(ticket);
-
-                    // Searches the DB for an existing ticket with the same movie name, showtime, and seat
-                    List<MovieTicket> exist = postgresService.findByNameTimeSeat(movieTicket.getMovieName(),
-                        movieTicket.getShowtime(), movieTicket.getSeat());
-
-                    for(MovieTicket t : exist) {
-                        if (!t.getMovieName().equals(movieTicket.getMovieName())) {
-                            LOG.info("Existing ticket [{}] movie name '{}' does not match requested movie '{}'",
-                                     t.getTicketId(), t.getMovieName(), movieTicket.getMovieName());
-                            continue;
-                        }
-                        if (!t.getShowtime().isEqual(movieTicket.getShowtime())) {
-                            LOG.info("Existing ticket [{}] showtime '{}' does not match requested showtime '{}'",
-                                     t.getTicketId(), t.getShowtime(), movieTicket.getShowtime());
-                            continue;
-                        }
-                        if (t.getSeat().equals(movieTicket.getSeat())) {
-                            logMessage = "Ticket with ID " + ticket + " already exists for movie "
-                                + movie.getMovieName() + " at showtime " + movie.getShowtime()
-                                + " for seat " + movieTicket.getSeat();
-                            LOG.info(logMessage);
-                            return ResponseEntity.status(409).body(logMessage);
-                        }
-                    }
-
-                    MovieTicket postgresTicket = postgresService.saveTicket(movieTicket);
-                    if(postgresTicket != null) {
-                        LOG.info("Successfully saved the Movie Ticket to the Postgres DB with Ticket ID: " + postgresTicket.getTicketId());
-                        return ResponseEntity.ok(toJson(response));
-                    } else {
-                        LOG.error("Failed to save the Movie Ticket to the Postgres DB.");
-                        logMessage = "Failed to save the Movie Ticket to the Postgres DB.";
-                    }
-                } else {
-                    LOG.error("Failed to generate a ticket number from the Ticketing Manager with status code: {}",
-                            ticketResponse.getStatusCode());
-                    logMessage = "Failed to generate a ticket number from the Ticketing Manager.";
-                    return ResponseEntity.status(500).body(logMessage);
+    /*
+     * Takes every seat of the group in the SeatInventory, seats it holds are added to held. On
+     * rejection the seats taken so far are given back.
+     */
+    ResponseEntity<Object> holdSeats(Movies movie, List<String> seats, List<String> held) {
+        Timer.Sample stage = Timer.start(meterRegistry);
+        for(String seat : seats) {
+            SeatInventory.Hold hold = seatInventory.hold(movie.getId(), seat);
+            if(hold == SeatInventory.Hold.HELD) {
+                held.add(seat);
+            } else if(hold == SeatInventory.Hold.NO_SEAT || hold == SeatInventory.Hold.TAKEN) {
+                releaseSeats(movie, held);
+                stopStage(stage, STAGE_RESERVE_SEAT, false);
+                if(hold == SeatInventory.Hold.TAKEN) {
+                    seatConflict("GroupTicketRequest", "inventory");
                 }
+                String logMessage = hold == SeatInventory.Hold.NO_SEAT
+                    ? "The movie " + movie.getMovieName() + " at showtime " + movie.getShowtime() + " has no seat " + seat
+                    : "A ticket already exists for movie " + movie.getMovieName() + " at showtime "
+                        + movie.getShowtime() + " for seat " + seat;
+                LOG.info("Ticket request was not successful: {}", logMessage);
+                return ResponseEntity.status(hold == SeatInventory.Hold.NO_SEAT ? 400 : 409).body(logMessage);
             }
-            else {
-                logMessage = "The movie " + movie.getMovieName() + " does not have a showtime at " 
-                    + movie.getShowtime();
-                LOG.info("Movie " + movie.getMovieName() + " does not have a showtime at " 
-                    + movie.getShowtime());
+        }
+        // seats the SeatInventory doesn't know are left to the insert
+        stopStage(stage, STAGE_RESERVE_SEAT, true);
+        return null;
+    }
+
+    /*
+     * Ends the ticket id stage (tickets is null when the Ticketing Manager failed) and inserts the
+     * group, the held seats are given back on failure
+     */
+    ResponseEntity<Object> completeGroup(Movies movie, List<String> held, List<String> tickets,
+            GroupTicketRequest groupRequest, Timer.Sample ticketIdStage) {
+        GroupTicketResponse response = null;
+        try {
+            if(tickets != null) {
+                response = generateGroupResponse(tickets, groupRequest);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Invalid ticket numbers {}: {}", tickets, e.getMessage());
+        }
+        stopStage(ticketIdStage, STAGE_TICKET_ID, response != null);
+        if(response == null) {
+            meterRegistry.counter(BOOKING_COMPENSATIONS, "stage", STAGE_TICKET_ID).increment();
+            releaseSeats(movie, held);
+            return ResponseEntity.status(500).body("Failed to generate ticket numbers from the Ticketing Manager.");
+        }
+
+        List<MovieTicket> movieTickets = new ArrayList<>();
+        for(int i = 0; i < tickets.size(); i++) {
+            MovieTicket movieTicket = pendingTicket(movie, groupRequest.getSeatNumbers().get(i));
+            movieTicket.setTicketId(tickets.get(i));
+            movieTickets.add(movieTicket);
+        }
+        Timer.Sample stage = Timer.start(meterRegistry);
+        Boolean booked = null;
+        try {
+            booked = postgresService.bookTickets(movieTickets);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to insert the group tickets {}: {}", tickets, e.getMessage());
+        }
+        stopStage(stage, STAGE_COMMIT, Boolean.TRUE.equals(booked));
+        if(!Boolean.TRUE.equals(booked)) {
+            meterRegistry.counter(BOOKING_COMPENSATIONS, "stage", STAGE_COMMIT).increment();
+            // a seat another instance sold, or one a failed commit may have stored, stays taken
+            seatInventory.releaseUnsold(movie.getId(), held);
+            if(booked == null) {
+                // the rows may have been stored before the failure, the numbers are not reused
+                return ResponseEntity.status(500).body("Failed to save the Movie Tickets to the Postgres DB.");
             }
+            // the conflict rolled the batch back, its numbers were never stored
+            ticketIdPool.offer(tickets);
+            seatConflict("GroupTicketRequest", "database");
+            String logMessage = "A ticket already exists for movie " + movie.getMovieName()
+                + " at showtime " + movie.getShowtime() + " for one of the seats " + groupRequest.getSeatNumbers();
+            LOG.info("Ticket request was not successful: {}", logMessage);
+            return ResponseEntity.status(409).body(logMessage);
+        }
+        LOG.info("Successfully saved {} Movie Tickets to the Postgres DB with Ticket IDs: {}", tickets.size(), tickets);
+        return ResponseEntity.ok(toJson(response));
+    }
+
+    private void releaseSeats(Movies movie, List<String> held) {
+        for(String seat : held) {
+            seatInventory.release(movie.getId(), seat);
         }
-        LOG.info("Ticket request was not successful: " + logMessage);
-        // Response is sent striaght back to the service orchestrator
-        return ResponseEntity.status(500).body(logMessage);
+    }
+
+    private void seatConflict(String topic, String source) {
+        meterRegistry.counter(BOOKING_SEAT_CONFLICTS, "topic", topic, "source", source).increment();
+    }
+
+    private void stopStage(Timer.Sample sample, String stage, boolean success) {
+        sample.stop(Timer.builder(BOOKING_STAGE_TIMER)
+            .tag("stage", stage)
+            .tag("outcome", success ? "success" : "failure")
+            .publishPercentileHistogram()
+            .register(meterRegistry));
     }
 
 
+    /*
+     * Free seats of one showing, or of several at once for seat-map screens, answered from the
+     * SeatInventory instead of probing with bookings. A single showing that doesn't exist or has no
+     * seat map is a 404, in the multi-showing form such a showing carries its own error.
+     */
+    public ResponseEntity<Object> processSeatAvailabilityRequest(SeatAvailabilityRequest availabilityRequest) {
+        LOG.info("Received a SeatAvailabilityRequest. ");
+        boolean single = availabilityRequest.getShowtimes() == null;
+        List<Movie> requested = single ? List.of(availabilityRequest.getMovie()) : availabilityRequest.getShowtimes();
+
+        SeatAvailabilityResponse response = new SeatAvailabilityResponse();
+        response.setTopicName("SeatAvailabilityResponse");
+        response.setCorrelatorId(availabilityRequest.getCorrelatorId());
+        for(Movie movie : requested) {
+            LocalDateTime showtime = movie.getShowtime().toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDateTime();
+            List<Movies> movies = postgresService.findByMovieName(movie.getMovieName());
+            Movies showing = findShowing(movies, showtime);
+            List<String> availableSeats = showing == null ? null : seatInventory.availableSeats(showing.getId());
+
+            SeatAvailabilityResponse.Showtime seats = new SeatAvailabilityResponse.Showtime();
+            seats.setMovie(movie);
+            if(showing == null) {
+                seats.setError(noShowing(movies, movie.getMovieName(), showtime));
+            } else if(availableSeats == null) {
+                seats.setError("The movie " + movie.getMovieName() + " at showtime " + showtime + " has no seat map");
+            } else {
+                movie.setGenre(Genre.valueOf(showing.getGenre().name()));
+                seats.setAvailableSeats(availableSeats);
+            }
+            if(single && seats.getError() != null) {
+                LOG.info("SeatAvailabilityRequest was not successful: {}", seats.getError());
+                return ResponseEntity.status(404).body(seats.getError());
+            }
+            response.getShowtimes().add(seats);
+        }
+        response.setTimestamp(new Date());
+        LOG.info("Answered seat availability of {} showings", response.getShowtimes().size());
+        return ResponseEntity.ok(toJson(response));
+    }
+
+    /*
+     * One page of the search, the response carries the nextPageToken of the following page
+     */
     public ResponseEntity<Object> processListRequest(MovieListRequest listRequest) {
-        System.out.println("\n");
         LOG.info("Received a MovieListRequest. ");
+        MovieQuery query;
+        try {
+            query = toQuery(listRequest);
+        } catch (IllegalArgumentException e) {
+            return invalidPage(e);
+        }
+        LOG.info("Searching movies matching: {}", query);
+        return listResponse(listRequest, movieListCache.get(query, this::searchMovies));
+    }
 
-        // Prepare a response and have the request handle the list
-        MovieListResponse response = new MovieListResponse();
-        response.setTopicName("MovieListResponse");
-        response.setCorrelatorId(listRequest.getCorrelatorId());
-        
-        // search by genre, showtime, or title
-        if(listRequest.getGenre() != null) {
-            LOG.info("Searching movies by genre: " + listRequest.getGenre());
-            List<Movies> genreResponse = postgresService.findByGenre(listRequest.getGenre());
-            LOG.info("Found " + genreResponse.size() + " movies that fall under that genre");
+    /*
+     * MovieListRequests of one /api/v1/processTopics batch, searched together in a single
+     * round-trip (identical searches run once). Responses are in request order. With the
+     * MovieListCache enabled the searches go through the cache one by one, the catalog answers
+     * them without a round-trip anyway.
+     */
+    public List<ResponseEntity<Object>> processListRequests(List<? extends MovieListRequest> listRequests) {
+        LOG.info("Received a batch of {} MovieListRequests. ", listRequests.size());
+        // requests with invalid paging are answered on their own, the rest are searched
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+        List<MovieQuery> queries = new ArrayList<>();
+        for(MovieListRequest listRequest : listRequests) {
+            try {
+                queries.add(toQuery(listRequest));
+                responses.add(null);
+            } catch (IllegalArgumentException e) {
+                queries.add(null);
+                responses.add(invalidPage(e));
+            }
+        }
+        List<MovieQuery> searches = queries.stream().filter(query -> query != null).toList();
+        Map<MovieQuery, SerializedMovies> movies = new HashMap<>();
+        if(movieListCache.isEnabled()) {
+            for(MovieQuery query : searches) {
+                movies.computeIfAbsent(query, q -> movieListCache.get(q, this::searchMovies));
+            }
+        } else if(!searches.isEmpty()) {
+            postgresService.findMovies(searches).forEach((query, found) -> movies.put(query, serialize(found)));
+        }
+        LOG.info("Searched {} distinct queries for the batch", movies.size());
 
-            response.setMovies(moviesToMovieList(genreResponse));
+        for(int i = 0; i < listRequests.size(); i++) {
+            if(responses.get(i) == null) {
+                responses.set(i, listResponse(listRequests.get(i), movies.get(queries.get(i))));
+            }
         }
+        return responses;
+    }
+
+    private ResponseEntity<Object> invalidPage(IllegalArgumentException e) {
+        LOG.info("MovieListRequest rejected: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /*
+     * search by genre, showtime and title together, every supplied criterion is applied. Paged
+     * requests pick the page size and continue after their pageToken, throws
+     * IllegalArgumentException for an invalid page size or token.
+     */
+    private MovieQuery toQuery(MovieListRequest listRequest) {
+        LocalDateTime startingTime = null;
+        LocalDateTime endingTime = null;
         if(listRequest.getStartingShowtime() != null && listRequest.getEndingShowtime() != null) {
-            LOG.info("Searching movies by showtime between: " + listRequest.getStartingShowtime()
-                + " and " + listRequest.getEndingShowtime());
-            LocalDateTime startingTime = listRequest.getStartingShowtime().toInstant()
+            startingTime = listRequest.getStartingShowtime().toInstant()
                 .atZone(ZoneId.systemDefault())
                 .toLocalDateTime();
-            LocalDateTime endingTime = listRequest.getEndingShowtime().toInstant()
+            endingTime = listRequest.getEndingShowtime().toInstant()
                 .atZone(ZoneId.systemDefault())
                 .toLocalDateTime();
-            List<Movies> showtimeResponse = postgresService.findByShowtimeBetween(startingTime, endingTime);
-            LOG.info("Found " + showtimeResponse.size() + " movies between those dates");
-
-            response.setMovies(moviesToMovieList(showtimeResponse));
         }
-        if(listRequest.getMovieName() != null) {
-            LOG.info("Searching movies by title: " + listRequest.getMovieName());
-            List<Movies> movieNameResponse = postgresService.findByMovieName(listRequest.getMovieName());
-            LOG.info("Found " + movieNameResponse.size() + " movies with that title");
-
-            response.setMovies(moviesToMovieList(movieNameResponse));
+        // the page size is capped server-side by PostgresService
+        Integer pageSize = null;
+        String pageToken = null;
+        if(listRequest instanceof PagedMovieListRequest paged) {
+            pageSize = paged.getPageSize();
+            pageToken = paged.getPageToken();
         }
+        MovieQuery query = new MovieQuery(listRequest.getGenre(), startingTime, endingTime,
+            listRequest.getMovieName(), pageSize == null ? Integer.MAX_VALUE : pageSize);
+        return pageToken == null ? query : query.withPageToken(pageToken);
+    }
 
-        response.setTimestamp(new Date());
-        if(response.getMovies().isEmpty()) {
+    /*
+     * MovieListRequest answered without the movie.query.max-results cap, for wide showtime ranges.
+     * Rows are read through a database cursor and each movie is written to the output as soon as
+     * it is read, memory use does not grow with the number of movies. The output is the same
+     * MovieListResponse processListRequest returns.
+     */
+    public void streamListRequest(MovieListRequest listRequest, OutputStream output) throws IOException {
+        LOG.info("Received a streamed MovieListRequest. ");
+        MovieQuery query = toQuery(listRequest);
+        LOG.info("Streaming movies matching: {}", query);
+
+        StreamedMovies movies = new StreamedMovies(
+            movie -> postgresService.streamMovies(query, m -> movie.accept(topicMovie(m))));
+        movies.write(JSON, output, listRequest.getCorrelatorId(), new Date());
+        LOG.info("MovieListRequest streamed with {} movies found.", movies.size());
+    }
+
+    private SerializedMovies searchMovies(MovieQuery query) {
+        return serialize(postgresService.findMovies(query));
+    }
+
+    private SerializedMovies serialize(MoviePage page) {
+        return SerializedMovies.of(JSON, moviesToMovieList(page.movies()),
+            page.hasNext() ? page.next().getPageToken() : null);
+    }
+
+    /*
+     * Only the envelope is serialized here, the movies array is spliced in as already encoded
+     */
+    private ResponseEntity<Object> listResponse(MovieListRequest listRequest, SerializedMovies movies) {
+        LOG.info("Found {} movies matching the criteria", movies.size());
+
+        if(movies.isEmpty()) {
             LOG.info("No movies found matching the criteria.");
         } else {
-            LOG.info("MovieListRequest processed successfully with " + response.getMovies().size() + " movies found.");
+            LOG.info("MovieListRequest processed successfully with {} movies found.", movies.size());
         }
-        return ResponseEntity.accepted().body(toJson(response));
+        return ResponseEntity.accepted().body(toJson(movies, listRequest.getCorrelatorId()));
     }
 
     private List<Movie> moviesToMovieList(List<Movies> movies) {
         List<Movie> movieList = new ArrayList<>();
         for(Movies m : movies) {
-            Movie movie = new Movie();
-            movie.setMovieName(m.getMovieName());
-            movie.setGenre(Genre.valueOf(m.getGenre().name()));
-            movie.setShowtime(Date.from(m.getShowtime().atZone(ZoneId.systemDefault()).toInstant()));
-            movieList.add(movie);
+            movieList.add(topicMovie(m));
         }
         return movieList;
     }
 
+    private Movie topicMovie(Movies m) {
+        Movie movie = new Movie();
+        movie.setMovieName(m.getMovieName());
+        movie.setGenre(Genre.valueOf(m.getGenre().name()));
+        movie.setShowtime(Date.from(m.getShowtime().atZone(ZoneId.systemDefault()).toInstant()));
+        return movie;
+    }
+
     private CreateTicketResponse generateTicketResponse(String ticket, CreateTicketRequest request) {
         CreateTicketResponse response = new CreateTicketResponse();
         response.setTopicName("CreateTicketResponse");
@@ -235,15 +668,42 @@ public class BusinessLogic {
         return response;
     }
 
+    private GroupTicketResponse generateGroupResponse(List<String> tickets, GroupTicketRequest request) {
+        GroupTicketResponse response = new GroupTicketResponse();
+        response.setTopicName("GroupTicketResponse");
+        response.setCorrelatorId(request.getCorrelatorId());
+        response.setMovie(request.getMovie());
+        for(int i = 0; i < tickets.size(); i++) {
+            response.getTickets().add(new GroupTicketResponse.Ticket(Integer.valueOf(tickets.get(i)),
+                request.getSeatNumbers().get(i)));
+        }
+        response.setTimestamp(new Date());
+        return response;
+    }
+
     // Helper method to serialize an object to JSON string
     private String toJson(Object obj) {
+        long start = System.nanoTime();
         try {
-            // Use Jackson ObjectMapper to convert the object to JSON
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.writeValueAsString(obj);  // Convert object to JSON string
+            return JSON.writeValueAsString(obj);  // Convert object to JSON string
         } catch (JsonProcessingException e) {
-            e.printStackTrace();
+            LOG.error("Failed to serialize {}: {}", obj.getClass().getSimpleName(), e.getMessage());
+            return "{\"error\":\"Error processing JSON\"}";
+        } finally {
+            TopicStages.record(TopicStages.SERIALIZE, start);
+        }
+    }
+
+    // MovieListResponse around an already encoded movies array
+    private String toJson(SerializedMovies movies, Integer correlatorId) {
+        long start = System.nanoTime();
+        try {
+            return movies.toResponse(JSON, correlatorId, new Date());
+        } catch (IOException e) {
+            LOG.error("Failed to serialize MovieListResponse: {}", e.getMessage());
             return "{\"error\":\"Error processing JSON\"}";
+        } finally {
+            TopicStages.record(TopicStages.SERIALIZE, start);
         }
     }
 }
@@ -0,0 +1,40 @@
+package com.businessLogic;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.postgres.PostgresService;
+import com.seating.SeatInventory;
+
+/*
+ * Frees seats left on hold by bookings that never reached the commit or compensation stage
+ * (e.g. the service stopped in the middle of a booking). The SeatInventory is rebuilt afterwards so
+ * the freed seats can be booked again.
+ */
+@Component
+public class PendingTicketSweeper {
+    private static final Logger LOG = LoggerFactory.getLogger(PendingTicketSweeper.class);
+    private final PostgresService postgresService;
+    private final SeatInventory seatInventory;
+
+    @Value("${booking.pending.max-age:PT5M}")
+    private Duration maxAge;
+
+    public PendingTicketSweeper(PostgresService postgresService, SeatInventory seatInventory) {
+        this.postgresService = postgresService;
+        this.seatInventory = seatInventory;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.pending.sweep-interval:PT1M}")
+    public void releaseStalePendingTickets() {
+        int released = postgresService.releaseStalePendingTickets(Instant.now().minus(maxAge));
+        if (released > 0) {
+            LOG.warn("Released {} seats held by unfinished bookings", released);
+            seatInventory.reload();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.businessLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import com.dispatch.TopicStages;
+import com.localTopics.GroupTicketRequest;
+import com.localTopics.SeatAvailabilityRequest;
+import com.postgres.models.MovieTicket;
+import com.postgres.models.Movies;
+import com.ticketing.ReactiveTicketingManagerClient;
+import com.ticketing.TicketIdPool;
+import com.ticketing.TicketingManagerUnavailableException;
+import com.topics.CreateTicketRequest;
+import com.topics.MovieListRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * Reactive form of the BusinessLogic pipelines for topic.pipeline.mode=reactive, the stages are
+ * the same. The Ticketing Manager is called through the non-blocking WebClient. JPA stays
+ * blocking, those stages run on a bounded elastic scheduler with as many threads as there are
+ * Hikari connections, extra work waits in the scheduler's queue instead of parking threads on
+ * the connection pool.
+ */
+@Service
+public class ReactiveBusinessLogic {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveBusinessLogic.class);
+    // Ticketing Manager requests in flight for one group booking
+    static final int TICKET_ID_CONCURRENCY = 4;
+
+    private final BusinessLogic businessLogic;
+    private final TicketIdPool ticketIdPool;
+    private final ReactiveTicketingManagerClient ticketingManagerClient;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler database;
+
+    public ReactiveBusinessLogic(BusinessLogic businessLogic, TicketIdPool ticketIdPool,
+            ReactiveTicketingManagerClient ticketingManagerClient, MeterRegistry meterRegistry,
+            @Value("${topic.pipeline.database-threads:${spring.datasource.hikari.maximum-pool-size:10}}") int databaseThreads,
+            @Value("${topic.pipeline.database-queue:10000}") int databaseQueue) {
+        this.businessLogic = businessLogic;
+        this.ticketIdPool = ticketIdPool;
+        this.ticketingManagerClient = ticketingManagerClient;
+        this.meterRegistry = meterRegistry;
+        this.database = Schedulers.newBoundedElastic(databaseThreads, databaseQueue, "topic-database");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        database.dispose();
+    }
+
+    public Mono<ResponseEntity<Object>> processTicketRequest(CreateTicketRequest ticketRequest) {
+        LOG.info("Received a MovieTicketRequest. ");
+        Movies movie = businessLogic.toMovie(ticketRequest);
+        MovieTicket movieTicket = businessLogic.pendingTicket(movie, ticketRequest.getSeatNumber());
+
+        // STAGES 1 + 2 complete empty when the seat is held
+        return onDatabase(() -> {
+                    ResponseEntity<Object> rejected = businessLogic.validateShowtime(movie);
+                    if (rejected != null) {
+                        return rejected;
+                    }
+                    // the showing's spelling of the title, set by validateShowtime
+                    movieTicket.setMovieName(movie.getMovieName());
+                    return businessLogic.reserveSeat(movie, movieTicket);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    // STAGE 3 + 4
+                    Timer.Sample stage = Timer.start(meterRegistry);
+                    return ticketId()
+                            .map(Optional::of)
+                            .defaultIfEmpty(Optional.empty())
+                            .flatMap(ticket -> onDatabase(() -> businessLogic.completeTicket(movie,
+                                    movieTicket, ticket.orElse(null), ticketRequest, stage)))
+                            .onErrorResume(TicketingManagerUnavailableException.class, e -> onDatabase(() ->
+                                    businessLogic.ticketingManagerUnavailable(movie, movieTicket, stage, e)));
+                }));
+    }
+
+    public Mono<ResponseEntity<Object>> processGroupTicketRequest(GroupTicketRequest groupRequest) {
+        LOG.info("Received a GroupTicketRequest for {} seats. ", groupRequest.getSeatNumbers().size());
+        Movies movie = businessLogic.toMovie(groupRequest.getMovie());
+        List<String> held = new ArrayList<>();
+
+        // STAGES 1 + 2 complete empty when the seats are held
+        return onDatabase(() -> {
+                    ResponseEntity<Object> rejected = businessLogic.validateShowtime(movie);
+                    return rejected != null ? rejected
+                            : businessLogic.holdSeats(movie, groupRequest.getSeatNumbers(), held);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    // STAGE 3 + 4
+                    Timer.Sample stage = Timer.start(meterRegistry);
+                    return ticketIds(groupRequest.getSeatNumbers().size())
+                            .map(Optional::of)
+                            .defaultIfEmpty(Optional.empty())
+                            .flatMap(tickets -> onDatabase(() -> businessLogic.completeGroup(movie, held,
+                                    tickets.orElse(null), groupRequest, stage)))
+                            .onErrorResume(TicketingManagerUnavailableException.class, e -> onDatabase(() ->
+                                    businessLogic.ticketingManagerUnavailable(movie, held, stage, e)));
+                }));
+    }
+
+    public Mono<ResponseEntity<Object>> processSeatAvailabilityRequest(SeatAvailabilityRequest availabilityRequest) {
+        return onDatabase(() -> businessLogic.processSeatAvailabilityRequest(availabilityRequest));
+    }
+
+    public Mono<ResponseEntity<Object>> processListRequest(MovieListRequest listRequest) {
+        return onDatabase(() -> businessLogic.processListRequest(listRequest));
+    }
+
+    public Mono<List<ResponseEntity<Object>>> processListRequests(List<? extends MovieListRequest> listRequests) {
+        return onDatabase(() -> businessLogic.processListRequests(listRequests));
+    }
+
+    /*
+     * Pooled ticket number, otherwise one requested through the WebClient. Empty on failure, a
+     * call refused by the TicketingManagerGuard is passed on as an error.
+     */
+    private Mono<String> ticketId() {
+        String pooled = ticketIdPool.poll();
+        if (pooled != null) {
+            return Mono.just(pooled);
+        }
+        ticketIdPool.recordFallback();
+        return ticketingManagerClient.requestTicketId()
+                .onErrorResume(e -> !(e instanceof TicketingManagerUnavailableException), e -> {
+                    LOG.error("Ticketing Manager request failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /*
+     * Pooled ticket numbers, the missing ones requested through the WebClient at most
+     * TICKET_ID_CONCURRENCY at a time so a group does not fill the Ticketing Manager bulkhead on its
+     * own. Empty on failure, refused calls are passed on like in ticketId(). A group that does not
+     * get all its numbers gives the ones it has back to the TicketIdPool.
+     */
+    private Mono<List<String>> ticketIds(int count) {
+        List<String> pooled = ticketIdPool.poll(count);
+        if (pooled.size() == count) {
+            return Mono.just(pooled);
+        }
+        ticketIdPool.recordFallback(count - pooled.size());
+        List<String> tickets = new ArrayList<>(pooled);
+        return Flux.range(0, count - pooled.size())
+                .flatMap(i -> ticketingManagerClient.requestTicketId(), TICKET_ID_CONCURRENCY)
+                .doOnNext(tickets::add)
+                .then(Mono.fromCallable(() -> tickets))
+                .filter(requested -> requested.size() == count)
+                .switchIfEmpty(Mono.fromRunnable(() -> ticketIdPool.offer(tickets)))
+                .onErrorResume(e -> {
+                    ticketIdPool.offer(tickets);
+                    if (e instanceof TicketingManagerUnavailableException) {
+                        return Mono.error(e);
+                    }
+                    LOG.error("Ticketing Manager request failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /*
+     * Runs blocking work on the database scheduler with the request's TopicStages bound to the
+     * worker thread, so its queries are timed as stages of the request
+     */
+    private <T> Mono<T> onDatabase(Callable<T> work) {
+        return Mono.deferContextual(context -> {
+                    TopicStages stages = TopicStages.of(context);
+                    return Mono.fromCallable(stages == null ? work : () -> stages.call(work));
+                })
+                .subscribeOn(database);
+    }
+}
@@ -0,0 +1,61 @@
+package com.businessLogic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.function.Consumer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topics.Movie;
+
+/*
+ * The movies array of a MovieListResponse produced while the response is written. write() writes
+ * the envelope (topicName, correlatorId, timestamp) and pulls the movies from the source, each one
+ * goes to the output as it arrives, none of them are collected. size() is the number written so far.
+ */
+public final class StreamedMovies {
+    private final Consumer<Consumer<Movie>> source;
+    private int written;
+
+    /*
+     * The source hands every movie to the given consumer, in order
+     */
+    public StreamedMovies(Consumer<Consumer<Movie>> source) {
+        this.source = source;
+    }
+
+    /*
+     * The MovieListResponse holding the streamed movies, the same JSON the ObjectMapper writes for
+     * the full response. The output is flushed but left open.
+     */
+    public void write(ObjectMapper objectMapper, OutputStream output, Integer correlatorId, Date timestamp)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("topicName", "MovieListResponse");
+            generator.writeObjectField("correlatorId", correlatorId);
+            generator.writeArrayFieldStart("movies");
+            try {
+                source.accept(movie -> {
+                    try {
+                        generator.writeObject(movie);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeObjectField("timestamp", timestamp);
+            generator.writeEndObject();
+        }
+    }
+
+    public int size() {
+        return written;
+    }
+}
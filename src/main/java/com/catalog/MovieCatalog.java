@@ -0,0 +1,351 @@
+package com.catalog;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.postgres.MovieQuery;
+import com.postgres.MoviesRepository;
+import com.postgres.models.Movies;
+import com.topics.MovieListRequest.Genre;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Read-through, in-memory copy of the movies table. The table changes rarely and is read on every
+ * MovieListRequest, so showtime range, genre and title lookups are answered from immutable
+ * indexes instead of Postgres:
+ *      byShowtime  sorted on showtime (range scans through subMap), movies of a showtime by id
+ *      byGenre     genre -> movies in (showtime, id) order
+ *      byTitle     normalized (trimmed, lower case) title -> movies in (showtime, id) order
+ *
+ * The catalog loads on first use and reloads when it is older than movie.catalog.max-age or has
+ * been invalidated. Writes made through PostgresService.save are applied incrementally with
+ * onSaved, readers always see a complete snapshot (copy-on-write). Every new snapshot gets a higher
+ * version, caches derived from the catalog (MovieListCache) compare it to detect changes.
+ */
+@Service
+public class MovieCatalog {
+    private static final Logger LOG = LoggerFactory.getLogger(MovieCatalog.class);
+    private static final Comparator<Movies> MOVIE_ORDER =
+            Comparator.comparing(Movies::getShowtime).thenComparing(Movies::getId);
+
+    private final MoviesRepository moviesRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    // upper bound on staleness for rows written by other instances
+    @Value("${movie.catalog.max-age:PT5M}")
+    private Duration maxAge = Duration.ofMinutes(5);
+
+    public MovieCatalog(MoviesRepository moviesRepository, MeterRegistry meterRegistry) {
+        this.moviesRepository = moviesRepository;
+        this.hits = Counter.builder("movie.catalog.lookups").tag("result", "hit")
+                .description("Lookups answered by the loaded catalog").register(meterRegistry);
+        this.misses = Counter.builder("movie.catalog.lookups").tag("result", "miss")
+                .description("Lookups that had to (re)load the catalog from Postgres")
+                .register(meterRegistry);
+        Gauge.builder("movie.catalog.staleness", this, MovieCatalog::getStalenessSeconds)
+                .description("Seconds since the catalog was last loaded from Postgres")
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("movie.catalog.size", this, c -> c.snapshot == null ? 0 : c.snapshot.byId.size())
+                .description("Movies held in the catalog").register(meterRegistry);
+    }
+
+    public List<Movies> findAll() {
+        return Collections.unmodifiableList(new ArrayList<>(current().byId.values()));
+    }
+
+    public List<Movies> findByGenre(Genre genre) {
+        return current().byGenre.getOrDefault(genre, List.of());
+    }
+
+    public List<Movies> findByMovieName(String movieName) {
+        return current().byTitle.getOrDefault(normalize(movieName), List.of());
+    }
+
+    /*
+     * Inclusive on both ends, same as the repository's findByShowtimeBetween
+     */
+    public List<Movies> findByShowtimeBetween(LocalDateTime start, LocalDateTime end) {
+        return findByShowtimeBetween(current(), start, end);
+    }
+
+    private static List<Movies> findByShowtimeBetween(Snapshot current, LocalDateTime start,
+            LocalDateTime end) {
+        if (start.isAfter(end)) {
+            return List.of();
+        }
+        List<Movies> movies = new ArrayList<>();
+        for (List<Movies> atShowtime : current.byShowtime.subMap(start, true, end, true).values()) {
+            movies.addAll(atShowtime);
+        }
+        return movies;
+    }
+
+    /*
+     * Combined search: walks the most selective index the query allows in (showtime, id) order,
+     * from the cursor (or the start of the showtime range) on, and stops once the page is full or
+     * the range is passed. A deep page costs the same as the first one.
+     */
+    public List<Movies> find(MovieQuery query) {
+        Snapshot current = current();
+        LocalDateTime from = from(query);
+        List<Movies> page = new ArrayList<>(Math.min(query.getPageSize(), 64));
+        if (query.getMovieName() != null || query.getGenre() != null) {
+            List<Movies> sorted = query.getMovieName() != null
+                    ? current.byTitle.getOrDefault(query.getMovieName(), List.of())
+                    : current.byGenre.getOrDefault(query.getGenre(), List.of());
+            collect(sorted, firstAtOrAfter(sorted, from), query, page);
+        } else {
+            NavigableMap<LocalDateTime, List<Movies>> showtimes = from == null
+                    ? current.byShowtime
+                    : current.byShowtime.tailMap(from, true);
+            for (List<Movies> atShowtime : showtimes.values()) {
+                if (!collect(atShowtime, 0, query, page)) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    /*
+     * First showtime a page can hold: the later of the cursor and the start of the showtime range,
+     * null for the first page of a search without a range
+     */
+    private static LocalDateTime from(MovieQuery query) {
+        LocalDateTime from = query.isFirstPage() ? null : query.getAfterShowtime();
+        if (query.hasShowtimeRange() && (from == null || query.getStartingShowtime().isAfter(from))) {
+            from = query.getStartingShowtime();
+        }
+        return from;
+    }
+
+    private static int firstAtOrAfter(List<Movies> sorted, LocalDateTime from) {
+        if (from == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid).getShowtime().isBefore(from)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Adds the matching movies from the given index on, false once the page is full or the
+     * showtime range is passed
+     */
+    private static boolean collect(List<Movies> sorted, int from, MovieQuery query, List<Movies> page) {
+        for (int i = from; i < sorted.size(); i++) {
+            if (page.size() >= query.getPageSize()) {
+                return false;
+            }
+            Movies movie = sorted.get(i);
+            if (query.hasShowtimeRange() && movie.getShowtime().isAfter(query.getEndingShowtime())) {
+                return false;
+            }
+            if (query.matches(movie)) {
+                page.add(movie);
+            }
+        }
+        return page.size() < query.getPageSize();
+    }
+
+    /*
+     * Applies a movie just written to Postgres without reloading the table. Nothing to do when the
+     * catalog is not loaded yet, the next read loads it.
+     */
+    public void onSaved(Movies movie) {
+        if (movie == null || movie.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (current != null) {
+                snapshot = current.with(movie, versions.incrementAndGet());
+            }
+        }
+    }
+
+    /*
+     * Drops the catalog, the next lookup reloads it from Postgres
+     */
+    public void invalidate() {
+        synchronized (this) {
+            snapshot = null;
+        }
+        LOG.info("Movie catalog invalidated");
+    }
+
+    /*
+     * Version of the current snapshot (loading it if needed), changes whenever a lookup could
+     * return different movies
+     */
+    public long getVersion() {
+        return current().version;
+    }
+
+    public double getStalenessSeconds() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : (System.nanoTime() - current.loadedAt) / 1e9;
+    }
+
+    public double getHitRate() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            hits.increment();
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || isExpired(current)) {
+                misses.increment();
+                current = Snapshot.of(moviesRepository.findAll(), versions.incrementAndGet());
+                snapshot = current;
+                LOG.info("Movie catalog loaded with {} movies", current.byId.size());
+            } else {
+                hits.increment();
+            }
+            return current;
+        }
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return System.nanoTime() - current.loadedAt > maxAge.toNanos();
+    }
+
+    static String normalize(String movieName) {
+        return movieName == null ? "" : movieName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * Immutable view of the table, replaced as a whole on every change
+     */
+    private static final class Snapshot {
+        private final Map<Long, Movies> byId;
+        private final NavigableMap<LocalDateTime, List<Movies>> byShowtime;
+        private final Map<Genre, List<Movies>> byGenre;
+        private final Map<String, List<Movies>> byTitle;
+        private final long loadedAt;
+        private final long version;
+
+        private Snapshot(Map<Long, Movies> byId, NavigableMap<LocalDateTime, List<Movies>> byShowtime,
+                Map<Genre, List<Movies>> byGenre, Map<String, List<Movies>> byTitle, long loadedAt,
+                long version) {
+            this.byId = byId;
+            this.byShowtime = byShowtime;
+            this.byGenre = byGenre;
+            this.byTitle = byTitle;
+            this.loadedAt = loadedAt;
+            this.version = version;
+        }
+
+        private static Snapshot of(Collection<Movies> movies, long version) {
+            Map<Long, Movies> byId = new HashMap<>();
+            NavigableMap<LocalDateTime, List<Movies>> byShowtime = new TreeMap<>();
+            Map<Genre, List<Movies>> byGenre = new EnumMap<>(Genre.class);
+            Map<String, List<Movies>> byTitle = new HashMap<>();
+            for (Movies movie : movies) {
+                byId.put(movie.getId(), movie);
+                add(byShowtime, movie.getShowtime(), movie);
+                add(byGenre, movie.getGenre(), movie);
+                add(byTitle, normalize(movie.getMovieName()), movie);
+            }
+            freeze(byShowtime);
+            freeze(byGenre);
+            freeze(byTitle);
+            return new Snapshot(Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableNavigableMap(byShowtime),
+                    Collections.unmodifiableMap(byGenre), Collections.unmodifiableMap(byTitle),
+                    System.nanoTime(), version);
+        }
+
+        /*
+         * Copy of this snapshot with the movie inserted or replaced, only the index entries the
+         * old and new versions of the row live under are rebuilt
+         */
+        private Snapshot with(Movies movie, long version) {
+            Movies previous = byId.get(movie.getId());
+            Map<Long, Movies> id = new HashMap<>(byId);
+            id.put(movie.getId(), movie);
+            NavigableMap<LocalDateTime, List<Movies>> showtime = new TreeMap<>(byShowtime);
+            Map<Genre, List<Movies>> genre = new EnumMap<>(Genre.class);
+            genre.putAll(byGenre);
+            Map<String, List<Movies>> title = new HashMap<>(byTitle);
+            if (previous != null) {
+                remove(showtime, previous.getShowtime(), previous);
+                remove(genre, previous.getGenre(), previous);
+                remove(title, normalize(previous.getMovieName()), previous);
+            }
+            append(showtime, movie.getShowtime(), movie);
+            append(genre, movie.getGenre(), movie);
+            append(title, normalize(movie.getMovieName()), movie);
+            return new Snapshot(Collections.unmodifiableMap(id),
+                    Collections.unmodifiableNavigableMap(showtime),
+                    Collections.unmodifiableMap(genre), Collections.unmodifiableMap(title), loadedAt,
+                    version);
+        }
+
+        private static <K> void add(Map<K, List<Movies>> index, K key, Movies movie) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(movie);
+        }
+
+        private static <K> void freeze(Map<K, List<Movies>> index) {
+            index.replaceAll((key, movies) -> {
+                movies.sort(MOVIE_ORDER);
+                return Collections.unmodifiableList(movies);
+            });
+        }
+
+        private static <K> void remove(Map<K, List<Movies>> index, K key, Movies movie) {
+            List<Movies> movies = index.get(key);
+            if (movies == null) {
+                return;
+            }
+            List<Movies> updated = new ArrayList<>(movies);
+            updated.removeIf(m -> m.getId().equals(movie.getId()));
+            if (updated.isEmpty()) {
+                index.remove(key);
+            } else {
+                index.put(key, Collections.unmodifiableList(updated));
+            }
+        }
+
+        private static <K> void append(Map<K, List<Movies>> index, K key, Movies movie) {
+            List<Movies> updated = new ArrayList<>(index.getOrDefault(key, List.of()));
+            int position = Collections.binarySearch(updated, movie, MOVIE_ORDER);
+            updated.add(position < 0 ? -position - 1 : position, movie);
+            index.put(key, Collections.unmodifiableList(updated));
+        }
+    }
+}
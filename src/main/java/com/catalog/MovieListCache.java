@@ -0,0 +1,91 @@
+package com.catalog;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.postgres.MovieQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Bounded LRU cache of encoded MovieListResponse movie arrays, keyed by the normalized search
+ * criteria. Popular searches skip the lookup, the DTO mapping and the serialization of the rows,
+ * only the per-request envelope is written around the cached array.
+ *
+ * Entries are tagged with the MovieCatalog version they were built from and are dropped as soon
+ * as the catalog changes (reload, invalidate, onSaved). Without the catalog there is no change
+ * signal for the movies table, so nothing is cached.
+ */
+@Service
+public class MovieListCache {
+    private final MovieCatalog movieCatalog;
+    private final boolean enabled;
+    private final Map<MovieQuery, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private long version;
+
+    public MovieListCache(MovieCatalog movieCatalog, MeterRegistry meterRegistry,
+            @Value("${movie.catalog.enabled:true}") boolean catalogEnabled,
+            @Value("${movie.list.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${movie.list.cache.max-entries:256}") int maxEntries) {
+        this.movieCatalog = movieCatalog;
+        this.enabled = catalogEnabled && cacheEnabled && maxEntries > 0;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MovieQuery, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("movie.list.cache.lookups").tag("result", "hit")
+                .description("Movie searches answered with a cached movies array").register(meterRegistry);
+        this.misses = Counter.builder("movie.list.cache.lookups").tag("result", "miss")
+                .description("Movie searches that had to be run and serialized").register(meterRegistry);
+        Gauge.builder("movie.list.cache.size", this, MovieListCache::size)
+                .description("Cached movies arrays").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Cached movies array of the query, the loader runs on a miss (or always when disabled)
+     */
+    public SerializedMovies get(MovieQuery query, Function<MovieQuery, SerializedMovies> loader) {
+        if (!enabled) {
+            return loader.apply(query);
+        }
+        // read before loading, a change during the load leaves the entry already outdated
+        long current = movieCatalog.getVersion();
+        synchronized (this) {
+            Entry entry = entries.get(query);
+            if (entry != null && entry.version == current) {
+                hits.increment();
+                return entry.movies;
+            }
+        }
+        misses.increment();
+        SerializedMovies movies = loader.apply(query);
+        synchronized (this) {
+            if (current > version) {
+                entries.clear();
+                version = current;
+            }
+            if (current == version) {
+                entries.put(query, new Entry(current, movies));
+            }
+        }
+        return movies;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(long version, SerializedMovies movies) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.catalog;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.List;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topics.Movie;
+
+/*
+ * The movies array of a MovieListResponse, already encoded as JSON. toResponse() writes the
+ * envelope (topicName, correlatorId, timestamp) per request and splices the shared array in
+ * verbatim. The elements themselves are not kept, only their number. Carries the token of the page
+ * that follows, null on the last page.
+ */
+public final class SerializedMovies {
+    private final String json;
+    private final int size;
+    private final String nextPageToken;
+
+    private SerializedMovies(String json, int size, String nextPageToken) {
+        this.json = json;
+        this.size = size;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public static SerializedMovies of(ObjectMapper objectMapper, List<Movie> movies) {
+        return of(objectMapper, movies, null);
+    }
+
+    public static SerializedMovies of(ObjectMapper objectMapper, List<Movie> movies, String nextPageToken) {
+        try {
+            return new SerializedMovies(objectMapper.writeValueAsString(movies), movies.size(),
+                    nextPageToken);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Movies could not be serialized", e);
+        }
+    }
+
+    /*
+     * The MovieListResponse (PagedMovieListResponse when there is a next page) holding these
+     * movies, the same JSON the ObjectMapper writes for the full response
+     */
+    public String toResponse(ObjectMapper objectMapper, Integer correlatorId, Date timestamp) throws IOException {
+        StringWriter response = new StringWriter(json.length() + 128);
+        try (JsonGenerator generator = objectMapper.createGenerator(response)) {
+            generator.writeStartObject();
+            generator.writeStringField("topicName", "MovieListResponse");
+            generator.writeObjectField("correlatorId", correlatorId);
+            generator.writeFieldName("movies");
+            generator.writeRawValue(json);
+            generator.writeObjectField("timestamp", timestamp);
+            if (nextPageToken != null) {
+                generator.writeStringField("nextPageToken", nextPageToken);
+            }
+            generator.writeEndObject();
+        }
+        return response.toString();
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.controller;
+
+import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import com.decoder.TopicDecoder;
+import com.dispatch.TopicBatchProcessor;
+import com.dispatch.TopicResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import reactor.core.publisher.Flux;
+
+/*
+ * Batch entry point, many topics in one call. A JSON array is answered with a JSON array, NDJSON
+ * with NDJSON streamed back in batch order. Available in both topic.pipeline.modes.
+ */
+@RestController
+public class BatchController {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchController.class);
+    private final TopicDecoder topicDecoder;
+    private final TopicBatchProcessor topicBatchProcessor;
+
+    @Value("${topic.batch.max-topics:1000}")
+    private int maxTopics = 1000;
+
+    public BatchController(TopicDecoder topicDecoder, TopicBatchProcessor topicBatchProcessor) {
+        this.topicDecoder = topicDecoder;
+        this.topicBatchProcessor = topicBatchProcessor;
+    }
+
+    @PostMapping(path = "/api/v1/processTopics", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<TopicResult> processTopicArray(@RequestBody byte[] body) {
+        return topicBatchProcessor.process(readTopics(body));
+    }
+
+    @PostMapping(path = "/api/v1/processTopics", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TopicResult> processTopicStream(@RequestBody byte[] body) {
+        return topicBatchProcessor.process(readTopics(body));
+    }
+
+    /*
+     * Rejected batches answer with the plain message, like /api/v1/processTopic does
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Object> rejectedBatch(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+    }
+
+    private List<JsonNode> readTopics(byte[] body) {
+        List<JsonNode> topics;
+        try {
+            topics = topicDecoder.readTopics(body);
+        } catch (IOException e) {
+            LOG.error("Malformed JSON batch: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed JSON topics");
+        }
+        if (topics.size() > maxTopics) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch of " + topics.size() + " topics exceeds the limit of " + maxTopics);
+        }
+        LOG.info("Received a batch of {} topics... Processing now!", topics.size());
+        return topics;
+    }
+}
@@ -0,0 +1,40 @@
+package com.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.catalog.MovieCatalog;
+
+/*
+ * Operational endpoints for the in-memory MovieCatalog, used after the movies table is changed
+ * outside of this service (migrations, manual SQL)
+ */
+@RestController
+public class CatalogController {
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogController.class);
+    private final MovieCatalog movieCatalog;
+
+    public CatalogController(MovieCatalog movieCatalog) {
+        this.movieCatalog = movieCatalog;
+    }
+
+    @PostMapping("/api/v1/catalog/invalidate")
+    public ResponseEntity<Object> invalidate() {
+        LOG.info("Received a request to invalidate the movie catalog");
+        movieCatalog.invalidate();
+        return ResponseEntity.accepted().body("Movie catalog invalidated");
+    }
+
+    @GetMapping("/api/v1/catalog/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stalenessSeconds", movieCatalog.getStalenessSeconds());
+        stats.put("hitRate", movieCatalog.getHitRate());
+        return stats;
+    }
+}
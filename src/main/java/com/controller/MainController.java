@@ -1,37 +1,42 @@
 package com.controller;
 
-import java.io.InputStream;
-import java.net.URL;
-import org.json.JSONObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
-import com.SchemaService;
-import com.businessLogic.BusinessLogic;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.decoder.TopicDecoder;
+import com.dispatch.TopicRegistry;
+import com.dispatch.TopicStages;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.schema.SchemaValidator;
-
-// topic list
-import com.topics.CreateTicketRequest;
-import com.topics.MovieListRequest;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /*
  * MainController.java reponsible for handling incoming requests and delegating other classes to
- * handle the topics
+ * handle the topics, topics are routed to their TopicHandler by the TopicRegistry. Replaced by the
+ * ReactiveMainController when topic.pipeline.mode=reactive.
  */
 @RestController
+@ConditionalOnProperty(name = "topic.pipeline.mode", havingValue = "blocking", matchIfMissing = true)
 public class MainController {
     private SchemaValidator schemaValidator;
-    private BusinessLogic businessLogic;
-    private static final Logger LOG = LoggerFactory.getLogger(BusinessLogic.class);
+    private TopicDecoder topicDecoder;
+    private TopicRegistry topicRegistry;
+    private MeterRegistry meterRegistry;
+    private static final Logger LOG = LoggerFactory.getLogger(MainController.class);
 
-    public MainController(SchemaValidator schemaValidator, BusinessLogic businessLogic) {
+    public MainController(SchemaValidator schemaValidator, TopicDecoder topicDecoder,
+            TopicRegistry topicRegistry, MeterRegistry meterRegistry) {
         this.schemaValidator = schemaValidator;
-        this.businessLogic = businessLogic;
+        this.topicDecoder = topicDecoder;
+        this.topicRegistry = topicRegistry;
+        this.meterRegistry = meterRegistry;
     }
 
     @GetMapping("/api/v1/name")
@@ -43,60 +48,56 @@ public class MainController {
      * Main entry point for processing incoming topics other microservices will use this enpoint
      */
     @PostMapping("/api/v1/processTopic")
-    public ResponseEntity<Object> processRestTopics(@RequestBody String jsonString) {
+    public ResponseEntity<Object> processRestTopics(@RequestBody byte[] body) {
         LOG.info("Received an incoming topic... Processing now!");
-        System.out.println("\n\nJSON: " + jsonString + "\n\n");
-        JSONObject jsonNode = new JSONObject(jsonString);
-        String topicName = jsonNode.getString("topicName");
-        URL schemaUrl =
-                getClass().getClassLoader().getResource(SchemaService.getPathFor(topicName));
-        LOG.info("Schema URL: " + schemaUrl);
-        InputStream schemaStream = null;
-        try {
-            schemaStream = schemaValidator.getSchemaStream(SchemaService.getPathFor(topicName));
-        } catch (Exception e) {
-            LOG.error(e.getMessage());
-        }
-
-        if (schemaStream == null) {
-            LOG.error("No schema found for topic: " + topicName);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("JSON: {}", new String(body, StandardCharsets.UTF_8));
         }
-
+        TopicStages stages = TopicStages.begin(meterRegistry);
+        String topicName = null;
         ResponseEntity<Object> response = null;
-
-        if (schemaValidator.validateJson(schemaStream, jsonNode)) {
-            ObjectMapper mapper = new ObjectMapper();
+        try {
+            // the body is parsed once, validation and binding both work off this tree
+            long start = System.nanoTime();
+            JsonNode jsonNode;
             try {
-                switch (jsonNode.getString("topicName")) {
-                    case "CreateTicketRequest": {
-                        CreateTicketRequest createTicketRequest =
-                                mapper.readValue(jsonNode.toString(), CreateTicketRequest.class);
-                        response = businessLogic.processTicketRequest(createTicketRequest);
-                    }
-                        break;
-                    case "MovieListRequest": {
-                        MovieListRequest movieListRequest =
-                                mapper.readValue(jsonNode.toString(), MovieListRequest.class);
-                        response = businessLogic.processListRequest(movieListRequest);
-                    }
-                        break;
-                    default: {
-                        LOG.warn("Non-supported Topic: " + topicName);
+                jsonNode = topicDecoder.readTree(body);
+            } catch (IOException e) {
+                LOG.error("Malformed JSON: {}", e.getMessage());
+                response = ResponseEntity.badRequest().body("Malformed JSON topic");
+                return response;
+            } finally {
+                TopicStages.record(TopicStages.PARSE, start);
+            }
+            topicName = topicDecoder.topicName(jsonNode);
+
+            // compiled schemas are cached per topic by the SchemaRegistry
+            start = System.nanoTime();
+            boolean valid = schemaValidator.validateJson(topicName, jsonNode);
+            TopicStages.record(TopicStages.SCHEMA_VALIDATION, start);
+            if (valid) {
+                try {
+                    response = topicRegistry.dispatch(topicName, jsonNode);
+                    if (response == null) {
+                        LOG.warn("Non-supported Topic: {}", topicName);
                         response = ResponseEntity.badRequest()
                                 .body("Non-supported Topic: " + topicName);
                     }
+                } catch (Exception e) {
+                    LOG.error("Failed to process {}: {}", topicName, e.getMessage());
+                    response = ResponseEntity.status(500)
+                            .body("Inernal Error Failed to process " + topicName);
                 }
-            } catch (Exception e) {
-                LOG.error(e.getMessage());
-                response = ResponseEntity.status(500)
-                        .body("Inernal Error Failed to process " + topicName);
+            } else {
+                LOG.error("Failed schema validation...");
+                response = ResponseEntity.badRequest()
+                        .body("Schema Validation Failed for topic: " + topicName);
             }
-        } else {
-            LOG.error("Failed schema validation...");
-            response = ResponseEntity.badRequest()
-                    .body("Schema Validation Failed for topic: " + topicName);
-        }
 
-        return response;
+            return response;
+        } finally {
+            stages.end(topicRegistry.supports(topicName) ? topicName : TopicStages.UNKNOWN_TOPIC,
+                    response == null ? 500 : response.getStatusCode().value());
+        }
     }
 }
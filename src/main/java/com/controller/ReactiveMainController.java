@@ -0,0 +1,109 @@
+package com.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import com.decoder.TopicDecoder;
+import com.dispatch.TopicRegistry;
+import com.dispatch.TopicStages;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.schema.SchemaValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/*
+ * Reactive /api/v1/processTopic for topic.pipeline.mode=reactive, same responses as the
+ * MainController. Decoding and schema validation are CPU only and run inline, the topic is
+ * handed to TopicHandler.handleReactive. Runs on Netty with spring.main.web-application-type=reactive,
+ * on the servlet stack the Mono is served through async request processing.
+ */
+@RestController
+@ConditionalOnProperty(name = "topic.pipeline.mode", havingValue = "reactive")
+public class ReactiveMainController {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveMainController.class);
+    private final SchemaValidator schemaValidator;
+    private final TopicDecoder topicDecoder;
+    private final TopicRegistry topicRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveMainController(SchemaValidator schemaValidator, TopicDecoder topicDecoder,
+            TopicRegistry topicRegistry, MeterRegistry meterRegistry) {
+        this.schemaValidator = schemaValidator;
+        this.topicDecoder = topicDecoder;
+        this.topicRegistry = topicRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @GetMapping("/api/v1/name")
+    public String microserviceName() {
+        return "This microservice is the [SEATING-SERVICE]!";
+    }
+
+    @PostMapping("/api/v1/processTopic")
+    public Mono<ResponseEntity<Object>> processRestTopics(@RequestBody byte[] body) {
+        LOG.info("Received an incoming topic... Processing now!");
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("JSON: {}", new String(body, StandardCharsets.UTF_8));
+        }
+        TopicStages stages = TopicStages.begin(meterRegistry);
+        String[] topicName = new String[1];
+        Mono<ResponseEntity<Object>> response;
+        try {
+            response = process(body, topicName);
+        } catch (RuntimeException e) {
+            stages.end(TopicStages.UNKNOWN_TOPIC, 500);
+            throw e;
+        } finally {
+            // parse and validation ran on this thread, later stages find the request's stages in the Reactor context
+            stages.detach();
+        }
+        return response
+                .doOnEach(signal -> {
+                    if (signal.isOnNext()) {
+                        stages.end(topicRegistry.supports(topicName[0]) ? topicName[0] : TopicStages.UNKNOWN_TOPIC,
+                                signal.get().getStatusCode().value());
+                    }
+                })
+                .contextWrite(context -> context.put(TopicStages.class, stages));
+    }
+
+    private Mono<ResponseEntity<Object>> process(byte[] body, String[] topicNameOut) {
+        long start = System.nanoTime();
+        JsonNode jsonNode;
+        try {
+            jsonNode = topicDecoder.readTree(body);
+        } catch (IOException e) {
+            LOG.error("Malformed JSON: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().body("Malformed JSON topic"));
+        } finally {
+            TopicStages.record(TopicStages.PARSE, start);
+        }
+        String topicName = topicDecoder.topicName(jsonNode);
+        topicNameOut[0] = topicName;
+
+        start = System.nanoTime();
+        boolean valid = schemaValidator.validateJson(topicName, jsonNode);
+        TopicStages.record(TopicStages.SCHEMA_VALIDATION, start);
+        if (!valid) {
+            LOG.error("Failed schema validation...");
+            return Mono.just(ResponseEntity.badRequest()
+                    .body("Schema Validation Failed for topic: " + topicName));
+        }
+        Mono<ResponseEntity<Object>> response = topicRegistry.dispatchReactive(topicName, jsonNode);
+        if (response == null) {
+            LOG.warn("Non-supported Topic: {}", topicName);
+            return Mono.just(ResponseEntity.badRequest().body("Non-supported Topic: " + topicName));
+        }
+        return response.onErrorResume(e -> {
+            LOG.error("Failed to process {}: {}", topicName, e.getMessage());
+            return Mono.just(ResponseEntity.status(500).body("Inernal Error Failed to process " + topicName));
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.controller;
+
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.businessLogic.BusinessLogic;
+import com.decoder.TopicDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.schema.SchemaValidator;
+import com.topics.MovieListRequest;
+
+/*
+ * Streamed MovieListRequests for large listings: the MovieListResponse is written to the
+ * connection while the movies are read from Postgres, with no cap on the number of movies. The
+ * status is sent before the first row, a failure part way through ends the response early.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StreamController {
+    private static final Logger LOG = LoggerFactory.getLogger(StreamController.class);
+    private static final String TOPIC_NAME = "MovieListRequest";
+    private final SchemaValidator schemaValidator;
+    private final TopicDecoder topicDecoder;
+    private final BusinessLogic businessLogic;
+
+    public StreamController(SchemaValidator schemaValidator, TopicDecoder topicDecoder,
+            BusinessLogic businessLogic) {
+        this.schemaValidator = schemaValidator;
+        this.topicDecoder = topicDecoder;
+        this.businessLogic = businessLogic;
+    }
+
+    @PostMapping("/api/v1/processTopic/stream")
+    public ResponseEntity<StreamingResponseBody> streamTopic(@RequestBody byte[] body) {
+        JsonNode jsonNode;
+        try {
+            jsonNode = topicDecoder.readTree(body);
+        } catch (IOException e) {
+            LOG.error("Malformed JSON: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed JSON topic");
+        }
+        String topicName = topicDecoder.topicName(jsonNode);
+        if (!TOPIC_NAME.equals(topicName)) {
+            LOG.warn("Non-supported Topic for streaming: {}", topicName);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Non-supported Topic: " + topicName);
+        }
+        if (!schemaValidator.validateJson(topicName, jsonNode)) {
+            LOG.error("Failed schema validation...");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Schema Validation Failed for topic: " + topicName);
+        }
+
+        MovieListRequest request;
+        try {
+            request = topicDecoder.bind(jsonNode, MovieListRequest.class);
+        } catch (IOException e) {
+            LOG.error("Failed to process {}: {}", topicName, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Inernal Error Failed to process " + topicName);
+        }
+        StreamingResponseBody response = output -> businessLogic.streamListRequest(request, output);
+        return ResponseEntity.accepted().contentType(MediaType.APPLICATION_JSON).body(response);
+    }
+
+    /*
+     * Rejected topics answer with the plain message, like /api/v1/processTopic does
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Object> rejectedTopic(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+    }
+}
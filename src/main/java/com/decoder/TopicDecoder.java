@@ -0,0 +1,59 @@
+package com.decoder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/*
+ * Decodes incoming topics in a single pass: the request bytes are parsed once into a Jackson tree,
+ * schema validation and typed binding both run against that tree. The ObjectMapper and the
+ * per-topic ObjectReaders are built once and shared, both are thread-safe. Binding for dispatch
+ * is done with the reader each TopicHandler holds.
+ */
+@Component
+public class TopicDecoder {
+    // same defaults as the per-request "new ObjectMapper()" this replaces
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public JsonNode readTree(byte[] body) throws IOException {
+        return MAPPER.readTree(body);
+    }
+
+    /*
+     * Topics of a batch, either a JSON array or NDJSON (one topic per line). A root-level array is
+     * unwrapped by the MappingIterator, whitespace separated values are read one after another.
+     */
+    public List<JsonNode> readTopics(byte[] body) throws IOException {
+        try (MappingIterator<JsonNode> topics = readerFor(JsonNode.class).readValues(body)) {
+            return topics.readAll();
+        }
+    }
+
+    /*
+     * Returns the topicName field of the tree, or null if it is missing or not a string
+     */
+    public String topicName(JsonNode tree) {
+        JsonNode topicName = tree.get("topicName");
+        return topicName != null && topicName.isTextual() ? topicName.textValue() : null;
+    }
+
+    public <T> T bind(JsonNode tree, Class<T> topicClass) throws IOException {
+        return readerFor(topicClass).readValue(tree);
+    }
+
+    public ObjectReader readerFor(Class<?> topicClass) {
+        return readers.computeIfAbsent(topicClass, MAPPER::readerFor);
+    }
+}
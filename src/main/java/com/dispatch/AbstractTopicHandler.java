@@ -0,0 +1,34 @@
+package com.dispatch;
+
+import com.decoder.TopicDecoder;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/*
+ * Base class for handlers, builds the topic's ObjectReader once from the shared mapper
+ */
+public abstract class AbstractTopicHandler<T> implements TopicHandler<T> {
+    private final String topicName;
+    private final Class<T> topicClass;
+    private final ObjectReader reader;
+
+    protected AbstractTopicHandler(String topicName, Class<T> topicClass) {
+        this.topicName = topicName;
+        this.topicClass = topicClass;
+        this.reader = TopicDecoder.mapper().readerFor(topicClass);
+    }
+
+    @Override
+    public String getTopicName() {
+        return topicName;
+    }
+
+    @Override
+    public Class<T> getTopicClass() {
+        return topicClass;
+    }
+
+    @Override
+    public ObjectReader getReader() {
+        return reader;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dispatch;
+
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+/*
+ * Optional extension for handlers that can share work between the topics of one
+ * /api/v1/processTopics batch (e.g. a single database query). Topics of other handlers are
+ * dispatched one by one with bounded concurrency.
+ */
+public interface BatchTopicHandler<T> extends TopicHandler<T> {
+    /*
+     * One response per topic, in the order given
+     */
+    Mono<List<ResponseEntity<Object>>> handleBatch(List<T> topics);
+}
@@ -0,0 +1,30 @@
+package com.dispatch;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.ReactiveBusinessLogic;
+import com.topics.CreateTicketRequest;
+import reactor.core.publisher.Mono;
+
+@Component
+public class CreateTicketRequestHandler extends AbstractTopicHandler<CreateTicketRequest> {
+    private final BusinessLogic businessLogic;
+    private final ReactiveBusinessLogic reactiveBusinessLogic;
+
+    public CreateTicketRequestHandler(BusinessLogic businessLogic, ReactiveBusinessLogic reactiveBusinessLogic) {
+        super("CreateTicketRequest", CreateTicketRequest.class);
+        this.businessLogic = businessLogic;
+        this.reactiveBusinessLogic = reactiveBusinessLogic;
+    }
+
+    @Override
+    public ResponseEntity<Object> handle(CreateTicketRequest topic) {
+        return businessLogic.processTicketRequest(topic);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> handleReactive(CreateTicketRequest topic) {
+        return reactiveBusinessLogic.processTicketRequest(topic);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dispatch;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.ReactiveBusinessLogic;
+import com.localTopics.GroupTicketRequest;
+import reactor.core.publisher.Mono;
+
+@Component
+public class GroupTicketRequestHandler extends AbstractTopicHandler<GroupTicketRequest> {
+    private final BusinessLogic businessLogic;
+    private final ReactiveBusinessLogic reactiveBusinessLogic;
+
+    public GroupTicketRequestHandler(BusinessLogic businessLogic, ReactiveBusinessLogic reactiveBusinessLogic) {
+        super("GroupTicketRequest", GroupTicketRequest.class);
+        this.businessLogic = businessLogic;
+        this.reactiveBusinessLogic = reactiveBusinessLogic;
+    }
+
+    @Override
+    public ResponseEntity<Object> handle(GroupTicketRequest topic) {
+        return businessLogic.processGroupTicketRequest(topic);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> handleReactive(GroupTicketRequest topic) {
+        return reactiveBusinessLogic.processGroupTicketRequest(topic);
+    }
+}
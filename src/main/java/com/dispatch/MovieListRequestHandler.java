@@ -0,0 +1,38 @@
+package com.dispatch;
+
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.ReactiveBusinessLogic;
+import com.localTopics.PagedMovieListRequest;
+import reactor.core.publisher.Mono;
+
+@Component
+public class MovieListRequestHandler extends AbstractTopicHandler<PagedMovieListRequest>
+        implements BatchTopicHandler<PagedMovieListRequest> {
+    private final BusinessLogic businessLogic;
+    private final ReactiveBusinessLogic reactiveBusinessLogic;
+
+    public MovieListRequestHandler(BusinessLogic businessLogic, ReactiveBusinessLogic reactiveBusinessLogic) {
+        // bound with this service's optional paging fields
+        super("MovieListRequest", PagedMovieListRequest.class);
+        this.businessLogic = businessLogic;
+        this.reactiveBusinessLogic = reactiveBusinessLogic;
+    }
+
+    @Override
+    public ResponseEntity<Object> handle(PagedMovieListRequest topic) {
+        return businessLogic.processListRequest(topic);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> handleReactive(PagedMovieListRequest topic) {
+        return reactiveBusinessLogic.processListRequest(topic);
+    }
+
+    @Override
+    public Mono<List<ResponseEntity<Object>>> handleBatch(List<PagedMovieListRequest> topics) {
+        return reactiveBusinessLogic.processListRequests(topics);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dispatch;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.ReactiveBusinessLogic;
+import com.localTopics.SeatAvailabilityRequest;
+import reactor.core.publisher.Mono;
+
+@Component
+public class SeatAvailabilityRequestHandler extends AbstractTopicHandler<SeatAvailabilityRequest> {
+    private final BusinessLogic businessLogic;
+    private final ReactiveBusinessLogic reactiveBusinessLogic;
+
+    public SeatAvailabilityRequestHandler(BusinessLogic businessLogic, ReactiveBusinessLogic reactiveBusinessLogic) {
+        super("SeatAvailabilityRequest", SeatAvailabilityRequest.class);
+        this.businessLogic = businessLogic;
+        this.reactiveBusinessLogic = reactiveBusinessLogic;
+    }
+
+    @Override
+    public ResponseEntity<Object> handle(SeatAvailabilityRequest topic) {
+        return businessLogic.processSeatAvailabilityRequest(topic);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> handleReactive(SeatAvailabilityRequest topic) {
+        return reactiveBusinessLogic.processSeatAvailabilityRequest(topic);
+    }
+}
@@ -0,0 +1,89 @@
+package com.dispatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.decoder.TopicDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.schema.SchemaValidator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Processes the topics of a /api/v1/processTopics batch. Each topic is validated against its
+ * cached schema, the valid ones are grouped by topicName and handed to the TopicRegistry per group
+ * (topic.batch.concurrency topics in flight per group, BatchTopicHandlers get the whole group).
+ * Results are emitted in batch order as soon as each one and all before it are done. A failing
+ * topic only fails its own result.
+ */
+@Component
+public class TopicBatchProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(TopicBatchProcessor.class);
+
+    private final SchemaValidator schemaValidator;
+    private final TopicDecoder topicDecoder;
+    private final TopicRegistry topicRegistry;
+
+    @Value("${topic.batch.concurrency:16}")
+    private int concurrency = 16;
+
+    public TopicBatchProcessor(SchemaValidator schemaValidator, TopicDecoder topicDecoder,
+            TopicRegistry topicRegistry) {
+        this.schemaValidator = schemaValidator;
+        this.topicDecoder = topicDecoder;
+        this.topicRegistry = topicRegistry;
+    }
+
+    public Flux<TopicResult> process(List<JsonNode> topics) {
+        return Flux.defer(() -> {
+            int size = topics.size();
+            List<Mono<TopicResult>> results = new ArrayList<>(size);
+            Map<String, List<Integer>> groups = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                JsonNode topic = topics.get(i);
+                String topicName = topicDecoder.topicName(topic);
+                results.add(null);
+                if (!schemaValidator.validateJson(topicName, topic)) {
+                    results.set(i, Mono.just(result(i, topic, ResponseEntity.badRequest()
+                            .body("Schema Validation Failed for topic: " + topicName))));
+                } else if (!topicRegistry.supports(topicName)) {
+                    results.set(i, Mono.just(result(i, topic, ResponseEntity.badRequest()
+                            .body("Non-supported Topic: " + topicName))));
+                } else {
+                    groups.computeIfAbsent(topicName, name -> new ArrayList<>()).add(i);
+                }
+            }
+
+            for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+                List<Integer> indexes = group.getValue();
+                List<JsonNode> jsonNodes = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    jsonNodes.add(topics.get(index));
+                }
+                Mono<List<ResponseEntity<Object>>> responses = topicRegistry
+                        .dispatchBatch(group.getKey(), jsonNodes, concurrency)
+                        .cache();
+                for (int position = 0; position < indexes.size(); position++) {
+                    int index = indexes.get(position);
+                    int slot = position;
+                    results.set(index, responses.map(list -> result(index, topics.get(index), list.get(slot))));
+                }
+            }
+            LOG.info("Processing a batch of {} topics in {} groups", size, groups.size());
+            // every group starts right away, concatenation keeps the batch order
+            return Flux.fromIterable(results).flatMapSequential(result -> result, Math.max(size, 1));
+        });
+    }
+
+    private TopicResult result(int index, JsonNode topic, ResponseEntity<Object> response) {
+        JsonNode correlatorId = topic.get("correlatorId");
+        return TopicResult.of(index, correlatorId != null && correlatorId.canConvertToInt()
+                ? correlatorId.intValue() : null, response);
+    }
+}
@@ -0,0 +1,36 @@
+package com.dispatch;
+
+import org.springframework.http.ResponseEntity;
+import com.fasterxml.jackson.databind.ObjectReader;
+import reactor.core.publisher.Mono;
+
+/*
+ * SPI for topics accepted on /api/v1/processTopic. Implementations are Spring beans, the
+ * TopicRegistry discovers every handler at startup and routes topics to it by topicName.
+ */
+public interface TopicHandler<T> {
+    /*
+     * topicName field value this handler accepts, must be unique across handlers
+     */
+    String getTopicName();
+
+    /*
+     * Target class from com.topics the validated tree is bound to
+     */
+    Class<T> getTopicClass();
+
+    /*
+     * Pre-built, thread-safe reader bound to getTopicClass()
+     */
+    ObjectReader getReader();
+
+    ResponseEntity<Object> handle(T topic) throws Exception;
+
+    /*
+     * Used by the reactive topic pipeline (topic.pipeline.mode=reactive). The default runs handle
+     * on the subscribing thread, handlers doing blocking work must override it.
+     */
+    default Mono<ResponseEntity<Object>> handleReactive(T topic) {
+        return Mono.fromCallable(() -> handle(topic));
+    }
+}
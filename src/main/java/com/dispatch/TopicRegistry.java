@@ -0,0 +1,201 @@
+package com.dispatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Routes validated topics to their TopicHandler through a single hash lookup on topicName. The
+ * map is built once at startup from every TopicHandler bean and never modified afterwards.
+ *
+ * Each topic gets a "topic.dispatch" timer (invocation count + latency histogram) covering
+ * binding and handling. Binding is also a stage of the request's TopicStages.
+ */
+@Component
+public class TopicRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(TopicRegistry.class);
+    public static final String DISPATCH_TIMER = "topic.dispatch";
+
+    private final Map<String, RegisteredHandler<?>> handlers;
+
+    public TopicRegistry(List<TopicHandler<?>> topicHandlers, MeterRegistry meterRegistry) {
+        Map<String, RegisteredHandler<?>> byTopic = new HashMap<>();
+        for (TopicHandler<?> handler : topicHandlers) {
+            Timer timer = Timer.builder(DISPATCH_TIMER)
+                    .description("Time to bind and handle a topic")
+                    .tag("topic", handler.getTopicName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            if (byTopic.put(handler.getTopicName(), new RegisteredHandler<>(handler, timer)) != null) {
+                throw new IllegalStateException(
+                        "Duplicate TopicHandler for topic: " + handler.getTopicName());
+            }
+            LOG.info("Registered handler {} for topic: {}", handler.getClass().getSimpleName(),
+                    handler.getTopicName());
+        }
+        this.handlers = Collections.unmodifiableMap(byTopic);
+    }
+
+    public boolean supports(String topicName) {
+        return topicName != null && handlers.containsKey(topicName);
+    }
+
+    public Set<String> getTopicNames() {
+        return handlers.keySet();
+    }
+
+    /*
+     * Binds the tree with the handler's reader and hands the topic to it. Returns null when no
+     * handler is registered for the topic.
+     */
+    public ResponseEntity<Object> dispatch(String topicName, JsonNode jsonNode) throws Exception {
+        RegisteredHandler<?> registered = topicName == null ? null : handlers.get(topicName);
+        if (registered == null) {
+            return null;
+        }
+        return registered.invoke(jsonNode);
+    }
+
+    /*
+     * Reactive form of dispatch, the timer covers binding up to the termination of the handler's
+     * Mono. Returns null when no handler is registered for the topic.
+     */
+    public Mono<ResponseEntity<Object>> dispatchReactive(String topicName, JsonNode jsonNode) {
+        RegisteredHandler<?> registered = topicName == null ? null : handlers.get(topicName);
+        if (registered == null) {
+            return null;
+        }
+        return registered.invokeReactive(jsonNode);
+    }
+
+    /*
+     * Topics of one batch that share a topicName, one response per topic in the given order. A
+     * BatchTopicHandler gets all of them at once, otherwise they are handled with at most
+     * concurrency in flight. A topic that fails to bind or handle gets a 500 without failing the
+     * others. Returns null when no handler is registered for the topic.
+     */
+    public Mono<List<ResponseEntity<Object>>> dispatchBatch(String topicName, List<JsonNode> jsonNodes,
+            int concurrency) {
+        RegisteredHandler<?> registered = topicName == null ? null : handlers.get(topicName);
+        if (registered == null) {
+            return null;
+        }
+        return registered.invokeBatch(jsonNodes, concurrency);
+    }
+
+    static ResponseEntity<Object> failed(String topicName) {
+        return ResponseEntity.status(500).body("Inernal Error Failed to process " + topicName);
+    }
+
+    public long getInvocationCount(String topicName) {
+        RegisteredHandler<?> registered = handlers.get(topicName);
+        return registered == null ? 0 : registered.timer.count();
+    }
+
+    private static final class RegisteredHandler<T> {
+        private final TopicHandler<T> handler;
+        private final Timer timer;
+
+        private RegisteredHandler(TopicHandler<T> handler, Timer timer) {
+            this.handler = handler;
+            this.timer = timer;
+        }
+
+        private ResponseEntity<Object> invoke(JsonNode jsonNode) throws Exception {
+            long start = System.nanoTime();
+            try {
+                T topic;
+                try {
+                    topic = handler.getReader().readValue(jsonNode);
+                } finally {
+                    TopicStages.record(TopicStages.BIND, start);
+                }
+                return handler.handle(topic);
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Mono<ResponseEntity<Object>> invokeReactive(JsonNode jsonNode) {
+            return Mono.deferContextual(context -> {
+                long start = System.nanoTime();
+                TopicStages stages = TopicStages.of(context);
+                T topic;
+                try {
+                    topic = handler.getReader().readValue(jsonNode);
+                } catch (Exception e) {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return Mono.error(e);
+                } finally {
+                    if (stages != null) {
+                        stages.add(TopicStages.BIND, System.nanoTime() - start);
+                    }
+                }
+                return handler.handleReactive(topic)
+                        .doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            });
+        }
+
+        private Mono<List<ResponseEntity<Object>>> invokeBatch(List<JsonNode> jsonNodes, int concurrency) {
+            String topicName = handler.getTopicName();
+            if (!(handler instanceof BatchTopicHandler<T> batchHandler)) {
+                return Flux.fromIterable(jsonNodes)
+                        .flatMapSequential(jsonNode -> invokeReactive(jsonNode)
+                                .onErrorResume(e -> {
+                                    LOG.error("Failed to process {}: {}", topicName, e.getMessage());
+                                    return Mono.just(failed(topicName));
+                                }), concurrency)
+                        .collectList();
+            }
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                // topics that fail to bind keep their slot with a 500
+                List<ResponseEntity<Object>> responses = new ArrayList<>(jsonNodes.size());
+                List<T> topics = new ArrayList<>(jsonNodes.size());
+                for (JsonNode jsonNode : jsonNodes) {
+                    try {
+                        topics.add(handler.getReader().readValue(jsonNode));
+                        responses.add(null);
+                    } catch (Exception e) {
+                        LOG.error("Failed to bind {}: {}", topicName, e.getMessage());
+                        responses.add(failed(topicName));
+                    }
+                }
+                Mono<List<ResponseEntity<Object>>> handled = topics.isEmpty() ? Mono.just(List.of())
+                        : batchHandler.handleBatch(topics);
+                return handled
+                        .onErrorResume(e -> {
+                            LOG.error("Failed to process a batch of {}: {}", topicName, e.getMessage());
+                            return Mono.just(Collections.nCopies(topics.size(), failed(topicName)));
+                        })
+                        .map(results -> {
+                            int next = 0;
+                            for (int i = 0; i < responses.size(); i++) {
+                                if (responses.get(i) == null) {
+                                    responses.set(i, results.get(next++));
+                                }
+                            }
+                            // every topic of the batch waited for the whole batch
+                            long elapsed = System.nanoTime() - start;
+                            for (int i = 0; i < responses.size(); i++) {
+                                timer.record(elapsed, TimeUnit.NANOSECONDS);
+                            }
+                            return responses;
+                        });
+            });
+        }
+    }
+}
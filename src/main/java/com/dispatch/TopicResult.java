@@ -0,0 +1,23 @@
+package com.dispatch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.springframework.http.ResponseEntity;
+
+/*
+ * Outcome of one topic of a /api/v1/processTopics batch. index is the topic's position in the
+ * batch, correlatorId is copied from the topic when present. JSON response topics are embedded
+ * as is in response, any other body (error messages) goes to error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TopicResult(int index, Integer correlatorId, int status,
+        @JsonRawValue String response, String error) {
+
+    static TopicResult of(int index, Integer correlatorId, ResponseEntity<Object> entity) {
+        Object body = entity.getBody();
+        String text = body == null ? null : body.toString();
+        boolean json = text != null && !text.isEmpty() && (text.charAt(0) == '{' || text.charAt(0) == '[');
+        return new TopicResult(index, correlatorId, entity.getStatusCode().value(),
+                json ? text : null, json ? null : text);
+    }
+}
@@ -0,0 +1,127 @@
+package com.dispatch;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.util.context.ContextView;
+
+/*
+ * Time spent per stage of one /api/v1/processTopic request: JSON parse, schema validation, binding,
+ * each PostgresService query, the Ticketing Manager call and response serialization. Stages are
+ * collected while the request runs and recorded under topic.stage{topic, stage, outcome} once the
+ * response is known, outcome is its HTTP status (200, 400, 409, 500 ...), so a slow query can be
+ * told apart by how its request ended.
+ *
+ * The blocking pipeline finds the request's stages through a thread local. The reactive one
+ * carries them in the Reactor context and binds them on the thread that runs a stage (call). Work
+ * outside a request (scheduled tasks, the ticket pool refill) records no stages.
+ */
+public final class TopicStages {
+    public static final String STAGE_TIMER = "topic.stage";
+    public static final String PARSE = "parse";
+    public static final String SCHEMA_VALIDATION = "schema_validation";
+    public static final String BIND = "bind";
+    public static final String TICKETING_MANAGER = "ticketing_manager";
+    public static final String SERIALIZE = "serialize";
+    // topic tag of requests without a supported topicName, keeps the tag values bounded
+    public static final String UNKNOWN_TOPIC = "unknown";
+
+    private static final ThreadLocal<TopicStages> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private String[] stages = new String[8];
+    private long[] nanos = new long[8];
+    private int size;
+
+    private TopicStages(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /*
+     * Starts collecting the stages of a request on the calling thread
+     */
+    public static TopicStages begin(MeterRegistry meterRegistry) {
+        TopicStages topicStages = new TopicStages(meterRegistry);
+        CURRENT.set(topicStages);
+        return topicStages;
+    }
+
+    /*
+     * Adds the stage started at startNanos (System.nanoTime) to the request running on this
+     * thread, if any
+     */
+    public static void record(String stage, long startNanos) {
+        TopicStages topicStages = CURRENT.get();
+        if (topicStages != null) {
+            topicStages.add(stage, System.nanoTime() - startNanos);
+        }
+    }
+
+    /*
+     * Stages of the reactive request the context belongs to, null outside of one
+     */
+    public static TopicStages of(ContextView context) {
+        return context.getOrDefault(TopicStages.class, null);
+    }
+
+    public synchronized void add(String stage, long elapsedNanos) {
+        if (size == stages.length) {
+            stages = Arrays.copyOf(stages, size * 2);
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        stages[size] = stage;
+        nanos[size] = elapsedNanos;
+        size++;
+    }
+
+    /*
+     * Runs work with this request's stages bound to the current thread (a reactive stage on a
+     * scheduler thread)
+     */
+    public <T> T call(Callable<T> work) throws Exception {
+        TopicStages previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /*
+     * Unbinds the stages from the calling thread, they keep collecting through the Reactor context
+     */
+    public void detach() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /*
+     * Records the collected stages with the request's topic and response status and unbinds them
+     * from the calling thread
+     */
+    public void end(String topic, int status) {
+        detach();
+        String outcome = String.valueOf(status);
+        synchronized (this) {
+            for (int i = 0; i < size; i++) {
+                Timer.builder(STAGE_TIMER)
+                        .description("Time spent in one stage of a topic request")
+                        .tag("topic", topic)
+                        .tag("stage", stages[i])
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(nanos[i], TimeUnit.NANOSECONDS);
+            }
+            size = 0;
+        }
+    }
+}
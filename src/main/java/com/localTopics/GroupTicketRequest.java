@@ -0,0 +1,54 @@
+package com.localTopics;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.topics.Movie;
+
+/*
+ * Several seats of one showing booked together, all or none (a party buying their tickets at
+ * once). Schema: json-schema/local/GroupTicketRequest.json
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GroupTicketRequest {
+    @JsonProperty("topicName")
+    private String topicName;
+    @JsonProperty("correlatorId")
+    private Integer correlatorId;
+    @JsonProperty("movie")
+    private Movie movie;
+    @JsonProperty("seatNumbers")
+    private List<String> seatNumbers;
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public void setTopicName(String topicName) {
+        this.topicName = topicName;
+    }
+
+    public Integer getCorrelatorId() {
+        return correlatorId;
+    }
+
+    public void setCorrelatorId(Integer correlatorId) {
+        this.correlatorId = correlatorId;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+}
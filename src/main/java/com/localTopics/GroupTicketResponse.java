@@ -0,0 +1,99 @@
+package com.localTopics;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.topics.Movie;
+
+/*
+ * The tickets of a group booking, one per requested seat in request order
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GroupTicketResponse {
+    @JsonProperty("topicName")
+    private String topicName;
+    @JsonProperty("correlatorId")
+    private Integer correlatorId;
+    @JsonProperty("movie")
+    private Movie movie;
+    @JsonProperty("tickets")
+    private List<Ticket> tickets = new ArrayList<>();
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
+    @JsonProperty("timestamp")
+    private Date timestamp;
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public void setTopicName(String topicName) {
+        this.topicName = topicName;
+    }
+
+    public Integer getCorrelatorId() {
+        return correlatorId;
+    }
+
+    public void setCorrelatorId(Integer correlatorId) {
+        this.correlatorId = correlatorId;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+
+    public void setTickets(List<Ticket> tickets) {
+        this.tickets = tickets;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Date timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Ticket {
+        @JsonProperty("ticketId")
+        private Integer ticketId;
+        @JsonProperty("seatNumber")
+        private String seatNumber;
+
+        public Ticket() {
+        }
+
+        public Ticket(Integer ticketId, String seatNumber) {
+            this.ticketId = ticketId;
+            this.seatNumber = seatNumber;
+        }
+
+        public Integer getTicketId() {
+            return ticketId;
+        }
+
+        public void setTicketId(Integer ticketId) {
+            this.ticketId = ticketId;
+        }
+
+        public String getSeatNumber() {
+            return seatNumber;
+        }
+
+        public void setSeatNumber(String seatNumber) {
+            this.seatNumber = seatNumber;
+        }
+    }
+}
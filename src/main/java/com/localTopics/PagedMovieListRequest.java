@@ -0,0 +1,34 @@
+package com.localTopics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.topics.MovieListRequest;
+
+/*
+ * MovieListRequest with this service's optional paging fields, the icd topic is unchanged.
+ * Without pageSize a page holds up to movie.query.max-results movies, without pageToken the first
+ * page is returned. pageToken is the nextPageToken of the previous PagedMovieListResponse.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PagedMovieListRequest extends MovieListRequest {
+    @JsonProperty("pageSize")
+    private Integer pageSize;
+    @JsonProperty("pageToken")
+    private String pageToken;
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public void setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+    }
+}
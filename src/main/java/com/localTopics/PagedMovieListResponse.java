@@ -0,0 +1,23 @@
+package com.localTopics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.topics.MovieListResponse;
+
+/*
+ * MovieListResponse with the token of the next page, absent on the last page so a complete
+ * result looks exactly like the icd topic
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PagedMovieListResponse extends MovieListResponse {
+    @JsonProperty("nextPageToken")
+    private String nextPageToken;
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+}
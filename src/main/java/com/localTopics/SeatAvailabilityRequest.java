@@ -0,0 +1,54 @@
+package com.localTopics;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.topics.Movie;
+
+/*
+ * Which seats are free for a showing (movie), or for several showings at once (showtimes) for
+ * seat-map screens. Schema: json-schema/local/SeatAvailabilityRequest.json
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatAvailabilityRequest {
+    @JsonProperty("topicName")
+    private String topicName;
+    @JsonProperty("correlatorId")
+    private Integer correlatorId;
+    @JsonProperty("movie")
+    private Movie movie;
+    @JsonProperty("showtimes")
+    private List<Movie> showtimes;
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public void setTopicName(String topicName) {
+        this.topicName = topicName;
+    }
+
+    public Integer getCorrelatorId() {
+        return correlatorId;
+    }
+
+    public void setCorrelatorId(Integer correlatorId) {
+        this.correlatorId = correlatorId;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public List<Movie> getShowtimes() {
+        return showtimes;
+    }
+
+    public void setShowtimes(List<Movie> showtimes) {
+        this.showtimes = showtimes;
+    }
+}
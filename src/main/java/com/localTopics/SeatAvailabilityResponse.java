@@ -0,0 +1,92 @@
+package com.localTopics;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.topics.Movie;
+
+/*
+ * Free seats per requested showing, in request order. A showing that could not be answered
+ * carries an error instead of availableSeats.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatAvailabilityResponse {
+    @JsonProperty("topicName")
+    private String topicName;
+    @JsonProperty("correlatorId")
+    private Integer correlatorId;
+    @JsonProperty("showtimes")
+    private List<Showtime> showtimes = new ArrayList<>();
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
+    @JsonProperty("timestamp")
+    private Date timestamp;
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public void setTopicName(String topicName) {
+        this.topicName = topicName;
+    }
+
+    public Integer getCorrelatorId() {
+        return correlatorId;
+    }
+
+    public void setCorrelatorId(Integer correlatorId) {
+        this.correlatorId = correlatorId;
+    }
+
+    public List<Showtime> getShowtimes() {
+        return showtimes;
+    }
+
+    public void setShowtimes(List<Showtime> showtimes) {
+        this.showtimes = showtimes;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Date timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Showtime {
+        @JsonProperty("movie")
+        private Movie movie;
+        @JsonProperty("availableSeats")
+        private List<String> availableSeats;
+        @JsonProperty("error")
+        private String error;
+
+        public Movie getMovie() {
+            return movie;
+        }
+
+        public void setMovie(Movie movie) {
+            this.movie = movie;
+        }
+
+        public List<String> getAvailableSeats() {
+            return availableSeats;
+        }
+
+        public void setAvailableSeats(List<String> availableSeats) {
+            this.availableSeats = availableSeats;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.postgres;
+
+import java.util.List;
+import com.postgres.models.Movies;
+
+/*
+ * One page of a movie search. next is the query for the page that follows, null on the last page.
+ */
+public record MoviePage(List<Movies> movies, MovieQuery next) {
+
+    /*
+     * Page of the query from rows in (showtime, id) order, one row more than the page size means
+     * there is a next page
+     */
+    public static MoviePage of(MovieQuery query, List<Movies> rows) {
+        if (rows.size() <= query.getPageSize()) {
+            return new MoviePage(rows, null);
+        }
+        List<Movies> movies = rows.subList(0, query.getPageSize());
+        return new MoviePage(movies, query.after(movies.get(movies.size() - 1)));
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.postgres;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Objects;
+import com.postgres.models.Movies;
+import com.topics.MovieListRequest.Genre;
+
+/*
+ * Criteria of a movie search, every non-null field is applied together (AND). Titles are compared
+ * normalized (trimmed, case-insensitive). Results are ordered by (showtime, id) and returned one
+ * page at a time. Pages are keyset based: a later page starts after the (showtime, id) of the last
+ * movie of the previous one, so it costs the same as the first (no OFFSET). Immutable, so it can be
+ * used as a key for caching and coalescing.
+ */
+public final class MovieQuery {
+    private static final String TOKEN_SEPARATOR = "|";
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Genre genre;
+    private final LocalDateTime startingShowtime;
+    private final LocalDateTime endingShowtime;
+    private final String movieName;
+    private final int pageSize;
+    // keyset cursor, the page starts after this movie (both null on the first page)
+    private final LocalDateTime afterShowtime;
+    private final Long afterId;
+
+    /*
+     * First page of the search
+     */
+    public MovieQuery(Genre genre, LocalDateTime startingShowtime, LocalDateTime endingShowtime,
+            String movieName, int pageSize) {
+        this(genre, startingShowtime, endingShowtime,
+                movieName == null ? null : movieName.trim().toLowerCase(Locale.ROOT), pageSize, null, null);
+    }
+
+    private MovieQuery(Genre genre, LocalDateTime startingShowtime, LocalDateTime endingShowtime,
+            String movieName, int pageSize, LocalDateTime afterShowtime, Long afterId) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page size " + pageSize);
+        }
+        this.genre = genre;
+        this.startingShowtime = startingShowtime;
+        this.endingShowtime = endingShowtime;
+        this.movieName = movieName;
+        this.pageSize = pageSize;
+        this.afterShowtime = afterShowtime;
+        this.afterId = afterId;
+    }
+
+    public Genre getGenre() {
+        return genre;
+    }
+
+    public LocalDateTime getStartingShowtime() {
+        return startingShowtime;
+    }
+
+    public LocalDateTime getEndingShowtime() {
+        return endingShowtime;
+    }
+
+    public boolean hasShowtimeRange() {
+        return startingShowtime != null && endingShowtime != null;
+    }
+
+    /*
+     * Normalized title, null when the title is not part of the search
+     */
+    public String getMovieName() {
+        return movieName;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isFirstPage() {
+        return afterShowtime == null;
+    }
+
+    public LocalDateTime getAfterShowtime() {
+        return afterShowtime;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    /*
+     * In-memory form of the criteria and the cursor, same result as MovieSpecifications.matching
+     */
+    public boolean matches(Movies movie) {
+        if (genre != null && genre != movie.getGenre()) {
+            return false;
+        }
+        if (hasShowtimeRange() && (movie.getShowtime().isBefore(startingShowtime)
+                || movie.getShowtime().isAfter(endingShowtime))) {
+            return false;
+        }
+        if (afterShowtime != null && (movie.getShowtime().isBefore(afterShowtime)
+                || (movie.getShowtime().isEqual(afterShowtime) && movie.getId() <= afterId))) {
+            return false;
+        }
+        return movieName == null || movieName.equals(movie.getMovieName().trim().toLowerCase(Locale.ROOT));
+    }
+
+    public MovieQuery withPageSize(int pageSize) {
+        return new MovieQuery(genre, startingShowtime, endingShowtime, movieName, pageSize,
+                afterShowtime, afterId);
+    }
+
+    /*
+     * The page of this search that follows the given movie
+     */
+    public MovieQuery after(Movies movie) {
+        return new MovieQuery(genre, startingShowtime, endingShowtime, movieName, pageSize,
+                movie.getShowtime(), movie.getId());
+    }
+
+    /*
+     * Opaque continuation token of this page, null on the first page. Only the cursor is encoded,
+     * the criteria come with every request.
+     */
+    public String getPageToken() {
+        if (afterShowtime == null) {
+            return null;
+        }
+        String cursor = afterShowtime + TOKEN_SEPARATOR + afterId;
+        return TOKEN_ENCODER.encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * The page of this search a token from getPageToken points at. Throws IllegalArgumentException
+     * for anything that is not such a token.
+     */
+    public MovieQuery withPageToken(String pageToken) {
+        try {
+            String cursor = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            int separator = cursor.indexOf(TOKEN_SEPARATOR);
+            return new MovieQuery(genre, startingShowtime, endingShowtime, movieName, pageSize,
+                    LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.valueOf(cursor.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MovieQuery)) {
+            return false;
+        }
+        MovieQuery other = (MovieQuery) o;
+        return pageSize == other.pageSize && genre == other.genre
+                && Objects.equals(startingShowtime, other.startingShowtime)
+                && Objects.equals(endingShowtime, other.endingShowtime)
+                && Objects.equals(movieName, other.movieName)
+                && Objects.equals(afterShowtime, other.afterShowtime)
+                && Objects.equals(afterId, other.afterId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(genre, startingShowtime, endingShowtime, movieName, pageSize, afterShowtime,
+                afterId);
+    }
+
+    @Override
+    public String toString() {
+        return "MovieQuery[genre=" + genre + ", showtime=" + startingShowtime + ".." + endingShowtime
+                + ", movieName=" + movieName + ", pageSize=" + pageSize
+                + (afterShowtime == null ? "" : ", after=" + afterShowtime + "/" + afterId) + "]";
+    }
+}
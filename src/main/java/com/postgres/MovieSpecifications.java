@@ -0,0 +1,37 @@
+package com.postgres;
+
+import org.springframework.data.jpa.domain.Specification;
+import com.postgres.models.Movies;
+
+/*
+ * JPA predicates for a MovieQuery, combined into a single WHERE clause so every supplied
+ * criterion is applied in one round-trip
+ */
+public final class MovieSpecifications {
+    private MovieSpecifications() {
+    }
+
+    public static Specification<Movies> matching(MovieQuery query) {
+        Specification<Movies> spec = (root, cq, cb) -> cb.conjunction();
+        if (query.getGenre() != null) {
+            spec = spec.and((root, cq, cb) -> cb.equal(root.get("genre"), query.getGenre()));
+        }
+        if (query.hasShowtimeRange()) {
+            spec = spec.and((root, cq, cb) -> cb.between(root.get("showtime"),
+                    query.getStartingShowtime(), query.getEndingShowtime()));
+        }
+        if (query.getMovieName() != null) {
+            // lower(movie_name) so the lookup can use a functional index
+            spec = spec.and((root, cq, cb) -> cb.equal(cb.lower(root.get("movieName")),
+                    query.getMovieName()));
+        }
+        if (!query.isFirstPage()) {
+            // (showtime, id) > cursor, the showtime >= bound lets the index range scan start at it
+            spec = spec.and((root, cq, cb) -> cb.and(
+                    cb.greaterThanOrEqualTo(root.get("showtime"), query.getAfterShowtime()),
+                    cb.or(cb.greaterThan(root.get("showtime"), query.getAfterShowtime()),
+                            cb.greaterThan(root.get("id"), query.getAfterId()))));
+        }
+        return spec;
+    }
+}
@@ -1,6 +1,11 @@
 package com.postgres;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import com.postgres.models.Movies;
 import com.topics.MovieListRequest.Genre;
 import java.time.LocalDateTime;
@@ -24,9 +29,38 @@ import java.util.List;
 
 
 // Spring Data JPA creates CRUD implementation at runtime automatically.
-public interface MoviesRepository extends JpaRepository<Movies, Long> {
+// Combined searches (MovieQuery) go through MovieSpecifications.
+public interface MoviesRepository extends JpaRepository<Movies, Long>, JpaSpecificationExecutor<Movies> {
 	List<Movies> findByMovieName(String movieName);
+
+    // lower() on both sides so the lookup is served by movies_lower_movie_name_idx
+    @Query("SELECT m FROM Movies m WHERE lower(m.movieName) = lower(:movieName)")
+    List<Movies> findByMovieNameIgnoreCase(@Param("movieName") String movieName);
+
     List<Movies> findByShowtimeBetween(LocalDateTime start, LocalDateTime end);
     List<Movies> findByGenre(Genre genre);
     List<Movies> findByPriceBetween(Double min, Double max);
+
+    /*
+     * The seats JSONB of a showing ({"A1": "AVAILABLE", ...}) as text, read by the SeatInventory.
+     * The column is not mapped on Movies, the catalog and the list responses never need it.
+     */
+    interface ShowtimeSeats {
+        Long getId();
+        String getSeats();
+    }
+
+    @Query(value = "SELECT id, CAST(seats AS text) AS seats FROM movie_service.movies", nativeQuery = true)
+    List<ShowtimeSeats> findAllSeats();
+
+    @Query(value = "SELECT id, CAST(seats AS text) AS seats FROM movie_service.movies WHERE id = :id",
+        nativeQuery = true)
+    ShowtimeSeats findSeatsById(@Param("id") Long id);
+
+    // Merges the given seats ({"C5": "BOOKED"}) into the seats JSONB of one showing
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE movie_service.movies SET seats = seats || CAST(:seats AS jsonb) WHERE id = :id",
+        nativeQuery = true)
+    int mergeSeats(@Param("id") Long id, @Param("seats") String seats);
 }
\ No newline at end of file
@@ -1,13 +1,41 @@
 package com.postgres;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import com.catalog.MovieCatalog;
+import com.dispatch.TopicStages;
 import com.postgres.models.MovieTicket;
 import com.postgres.models.Movies;
 import com.topics.MovieListRequest.Genre;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import jakarta.transaction.Transactional;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
 
 @Service
 public class PostgresService {
@@ -15,28 +43,179 @@ public class PostgresService {
     private MoviesRepository movieRepository;
     @Autowired
     private TicketsRespository ticketsRespository;
+    @Autowired
+    private MovieCatalog movieCatalog;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // movie lookups are answered by the in-memory MovieCatalog unless disabled
+    @Value("${movie.catalog.enabled:true}")
+    private boolean catalogEnabled;
+
+    // server-side maximum page size of a movie search
+    @Value("${movie.query.max-results:500}")
+    private int maxResults = 500;
+
+    // identical searches running at the same time share one query
+    @Value("${movie.query.coalescing.enabled:true}")
+    private boolean coalescingEnabled = true;
+    private SingleFlight<MovieQuery, MoviePage> movieQueries;
+
+    // rows per round-trip of a streamed search, only this many are held at once
+    @Value("${movie.list.stream.fetch-size:500}")
+    private int streamFetchSize = 500;
+
+    private static final Sort MOVIE_ORDER = Sort.by("showtime", "id");
+
+    @PostConstruct
+    public void init() {
+        movieQueries = new SingleFlight<>("movie.query", meterRegistry);
+    }
+
     /*
      * 
      * METHODS RELATED TO MOVIE LIST REQUESTS
      */
     public List<Movies> findAll() {
-        return movieRepository.findAll();
+        return catalogEnabled ? movieCatalog.findAll() : timed("postgres.find_all", movieRepository::findAll);
     }
 
     public List<Movies> findByMovieName(String movieName) {
-        return movieRepository.findByMovieName(movieName);
+        return catalogEnabled ? movieCatalog.findByMovieName(movieName)
+                : timed("postgres.find_by_movie_name", () -> movieRepository.findByMovieNameIgnoreCase(movieName));
     }
 
     public List<Movies> findByGenre(Genre genre) {
-        return movieRepository.findByGenre(genre);
+        return catalogEnabled ? movieCatalog.findByGenre(genre)
+                : timed("postgres.find_by_genre", () -> movieRepository.findByGenre(genre));
     }
 
     public List<Movies> findByShowtimeBetween(LocalDateTime starting, LocalDateTime ending) {
-        return movieRepository.findByShowtimeBetween(starting, ending);
+        return catalogEnabled ? movieCatalog.findByShowtimeBetween(starting, ending)
+                : timed("postgres.find_by_showtime", () -> movieRepository.findByShowtimeBetween(starting, ending));
+    }
+
+    /*
+     * Applies every criterion of the query at once and returns the requested page, ordered by
+     * (showtime, id). The page size is capped at movie.query.max-results. Later pages seek past
+     * the cursor instead of skipping rows, every page costs the same.
+     */
+    public MoviePage findMovies(MovieQuery query) {
+        query = capped(query);
+        if (catalogEnabled) {
+            return MoviePage.of(query, movieCatalog.find(query.withPageSize(query.getPageSize() + 1)));
+        }
+        return coalescingEnabled ? movieQueries.execute(query, this::queryMovies) : queryMovies(query);
+    }
+
+    private MoviePage queryMovies(MovieQuery query) {
+        // one row more than the page tells whether there is a next page
+        PageRequest page = PageRequest.of(0, query.getPageSize() + 1, MOVIE_ORDER);
+        return MoviePage.of(query, timed("postgres.find_movies",
+                () -> movieRepository.findBy(MovieSpecifications.matching(query), q -> q.slice(page)).getContent()));
+    }
+
+    /*
+     * Several searches in one round-trip: the first pages are fetched with their criteria OR-ed
+     * into a single query and split back per search in memory. The combined rows are a prefix of
+     * the (showtime, id) order, so a search that found a full page in them is complete, one that
+     * did not while the combined query hit its row limit is run on its own. Later pages and the
+     * catalog are searched one by one.
+     */
+    public Map<MovieQuery, MoviePage> findMovies(Collection<MovieQuery> queries) {
+        Map<MovieQuery, MoviePage> results = new LinkedHashMap<>();
+        Set<MovieQuery> firstPages = new LinkedHashSet<>();
+        for (MovieQuery query : queries) {
+            if (catalogEnabled || !query.isFirstPage()) {
+                results.computeIfAbsent(query, this::findMovies);
+            } else {
+                firstPages.add(query);
+            }
+        }
+        if (firstPages.size() == 1) {
+            MovieQuery query = firstPages.iterator().next();
+            results.put(query, findMovies(query));
+        } else if (!firstPages.isEmpty()) {
+            List<Specification<Movies>> criteria = new ArrayList<>();
+            int limit = 0;
+            for (MovieQuery query : firstPages) {
+                criteria.add(MovieSpecifications.matching(query));
+                limit += capped(query).getPageSize() + 1;
+            }
+            PageRequest page = PageRequest.of(0, limit, MOVIE_ORDER);
+            List<Movies> combined = timed("postgres.find_movies",
+                    () -> movieRepository.findBy(Specification.anyOf(criteria), q -> q.slice(page)).getContent());
+            boolean truncated = combined.size() == limit;
+            for (MovieQuery query : firstPages) {
+                // page plus the row that tells whether there is a next page
+                MovieQuery first = capped(query);
+                int rows = first.getPageSize() + 1;
+                List<Movies> matches = new ArrayList<>();
+                for (Movies movie : combined) {
+                    if (matches.size() < rows && query.matches(movie)) {
+                        matches.add(movie);
+                    }
+                }
+                results.put(query, truncated && matches.size() < rows ? findMovies(query)
+                        : MoviePage.of(first, matches));
+            }
+        }
+        return results;
+    }
+
+    /*
+     * Every movie matching the query's criteria after its cursor (the page size is ignored), in
+     * (showtime, id) order, handed to the action one at a time as they are read through a database
+     * cursor. Rows are read-only and detached once handled, memory use does not grow with the
+     * result. Returns the number of movies.
+     */
+    @Transactional
+    public int streamMovies(MovieQuery query, Consumer<Movies> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Movies> cq = cb.createQuery(Movies.class);
+        Root<Movies> root = cq.from(Movies.class);
+        cq.where(MovieSpecifications.matching(query).toPredicate(root, cq, cb));
+        cq.orderBy(cb.asc(root.get("showtime")), cb.asc(root.get("id")));
+
+        int count = 0;
+        try (Stream<Movies> rows = entityManager.createQuery(cq)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Movies> movies = rows.iterator();
+            while (movies.hasNext()) {
+                Movies movie = movies.next();
+                action.accept(movie);
+                entityManager.detach(movie);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private MovieQuery capped(MovieQuery query) {
+        return query.getPageSize() > maxResults ? query.withPageSize(maxResults) : query;
     }
 
     public Movies save(Movies movie) {
-        return movieRepository.save(movie);
+        Movies saved = timed("postgres.save_movie", () -> movieRepository.save(movie));
+        movieCatalog.onSaved(saved);
+        return saved;
+    }
+
+    /*
+     * Bulk load of showings in one transaction, inserted in JDBC batches of
+     * hibernate.jdbc.batch_size. The catalog is reloaded on its next read instead of being
+     * updated row by row.
+     */
+    public List<Movies> saveAll(List<Movies> movies) {
+        List<Movies> saved = timed("postgres.save_movies", () -> movieRepository.saveAll(movies));
+        movieCatalog.invalidate();
+        return saved;
     }
 
 
@@ -45,14 +224,87 @@ public class PostgresService {
      */
     @Transactional
     public MovieTicket saveTicket(MovieTicket ticket) {
-        return ticketsRespository.save(ticket);
+        return timed("postgres.save_ticket", () -> ticketsRespository.save(ticket));
+    }
+
+    // one transaction, inserted in JDBC batches of hibernate.jdbc.batch_size
+    public List<MovieTicket> saveTickets(List<MovieTicket> tickets) {
+        return timed("postgres.save_tickets", () -> ticketsRespository.saveAll(tickets));
+    }
+
+    /*
+     * Inserts the ticket unless its seat is already sold for that showtime, one round-trip and
+     * race free. Returns false on a duplicate seat.
+     */
+    public boolean reserveTicket(MovieTicket ticket) {
+        return timed("postgres.reserve_ticket", () -> ticketsRespository.reserveSeat(ticket.getMovieName(),
+                ticket.getShowtime(), ticket.getGenre().name(), ticket.getSeat(), ticket.getTicketId())) == 1;
+    }
+
+    /*
+     * Inserts the tickets of a group booking in one transaction, sent as a single JDBC batch.
+     * All or none: returns false, with nothing inserted, when any of the seats is already sold.
+     */
+    @Transactional
+    public boolean bookTickets(List<MovieTicket> tickets) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(TicketsRespository.BOOK_SEAT_SQL, tickets, tickets.size(), (ps, ticket) -> {
+                ps.setString(1, ticket.getMovieName());
+                ps.setObject(2, ticket.getShowtime());
+                ps.setString(3, ticket.getGenre().name());
+                ps.setString(4, ticket.getSeat());
+                ps.setString(5, ticket.getTicketId());
+            });
+            return true;
+        } catch (DuplicateKeyException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return false;
+        } finally {
+            TopicStages.record("postgres.book_tickets", start);
+        }
+    }
+
+    /*
+     * Replaces the placeholder ticket_id of a seat held by reserveTicket with the real ticket
+     * number. Returns false when the seat is no longer held.
+     */
+    public boolean confirmTicket(MovieTicket ticket, String ticketId) {
+        return timed("postgres.confirm_ticket", () -> ticketsRespository.confirmSeat(ticket.getMovieName(),
+                ticket.getShowtime(), ticket.getSeat(), ticketId)) == 1;
+    }
+
+    /*
+     * Frees a seat held by reserveTicket, confirmed tickets are never touched
+     */
+    public boolean releaseTicket(MovieTicket ticket) {
+        return timed("postgres.release_ticket", () -> ticketsRespository.releaseSeat(ticket.getMovieName(),
+                ticket.getShowtime(), ticket.getSeat())) == 1;
+    }
+
+    public int releaseStalePendingTickets(Instant cutoff) {
+        return ticketsRespository.deleteStalePending(cutoff);
     }
 
     public List<MovieTicket> findByTicketId(String ticketId) {
-        return ticketsRespository.findByTicketId(ticketId);
+        return timed("postgres.find_by_ticket_id", () -> ticketsRespository.findByTicketId(ticketId));
     }
 
     public List<MovieTicket> findByNameTimeSeat(String movieName, LocalDateTime showtime, String seat) {
-        return ticketsRespository.findByNameTimeSeat(movieName, showtime, seat);
+        return timed("postgres.find_by_name_time_seat",
+                () -> ticketsRespository.findByNameTimeSeat(movieName, showtime, seat));
+    }
+
+    /*
+     * Runs a database round-trip, timed as the stage of that name of the topic request running on
+     * this thread (see TopicStages)
+     */
+    private static <T> T timed(String stage, Supplier<T> query) {
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            TopicStages.record(stage, start);
+        }
     }
 }
@@ -0,0 +1,69 @@
+package com.postgres;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Single-flight: concurrent calls with an equal key share one execution of the loader. The first
+ * caller (leader) runs it, callers arriving while it runs (followers) wait for and receive the
+ * same result or exception. Nothing is cached, the next call after completion runs again.
+ * Results are shared between callers and must not be modified.
+ *
+ * Meters, tagged with the name: <name>.coalescing{role=leader|follower} and
+ * <name>.coalescing.ratio (followers / calls).
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder(name + ".coalescing").tag("role", "leader")
+                .description("Calls that executed the query").register(meterRegistry);
+        this.followers = Counter.builder(name + ".coalescing").tag("role", "follower")
+                .description("Calls that shared an identical in-flight query").register(meterRegistry);
+        Gauge.builder(name + ".coalescing.ratio", this, SingleFlight::getCoalescingRatio)
+                .description("Share of calls answered by another call's query").register(meterRegistry);
+        Gauge.builder(name + ".coalescing.in-flight", inFlight, ConcurrentMap::size)
+                .description("Distinct queries currently executing").register(meterRegistry);
+    }
+
+    public V execute(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            followers.increment();
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        leaders.increment();
+        try {
+            V result = loader.apply(key);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public double getCoalescingRatio() {
+        double calls = leaders.count() + followers.count();
+        return calls == 0 ? 0 : followers.count() / calls;
+    }
+}
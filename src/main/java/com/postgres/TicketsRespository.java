@@ -1,11 +1,14 @@
 package com.postgres;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import com.postgres.models.MovieTicket;
 import com.postgres.models.Movies;
 import com.topics.MovieListRequest.Genre;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -36,9 +39,100 @@ public interface TicketsRespository extends JpaRepository<MovieTicket, Long> {
     @Query("""
     SELECT a
     FROM MovieTicket a
-    WHERE a.movieName = :movieName
+    WHERE lower(a.movieName) = lower(:movieName)
       AND a.showtime = :showtime
       AND a.seat = :seat
     """)
     List<MovieTicket> findByNameTimeSeat(@Param("movieName") String movieName, @Param("showtime") LocalDateTime showtime, @Param("seat") String seat);
+
+    /*
+     * Books the seat in a single statement, the unique index on (lower(movie_name), showtime, seat)
+     * decides between concurrent bookings, whatever the case of the title. Returns 1 when the
+     * ticket was inserted, 0 when the seat was already taken.
+     */
+    String RESERVE_SEAT_SQL = """
+    INSERT INTO movie_service.tickets (movie_name, showtime, genre, seat, ticket_id)
+    VALUES (:movieName, :showtime, :genre, :seat, :ticketId)
+    ON CONFLICT ((lower(movie_name)), showtime, seat) DO NOTHING
+    """;
+
+    @Modifying
+    @Transactional
+    @Query(value = RESERVE_SEAT_SQL, nativeQuery = true)
+    int reserveSeat(@Param("movieName") String movieName, @Param("showtime") LocalDateTime showtime,
+        @Param("genre") String genre, @Param("seat") String seat, @Param("ticketId") String ticketId);
+
+    /*
+     * A ticket of a group booking, run as a JDBC batch by PostgresService.bookTickets. No ON
+     * CONFLICT here: a seat sold in the meantime fails the batch so the whole group rolls back.
+     */
+    String BOOK_SEAT_SQL = """
+    INSERT INTO movie_service.tickets (movie_name, showtime, genre, seat, ticket_id)
+    VALUES (?, ?, ?, ?, ?)
+    """;
+
+    /*
+     * Placeholder ticket_id of a seat held while the Ticketing Manager issues the real number
+     */
+    String PENDING_TICKET_ID = "PENDING";
+
+    // Swaps the ticket_id of a held seat for the real ticket number
+    @Modifying
+    @Transactional
+    @Query("""
+    UPDATE MovieTicket a
+    SET a.ticketId = :ticketId
+    WHERE lower(a.movieName) = lower(:movieName)
+      AND a.showtime = :showtime
+      AND a.seat = :seat
+      AND a.ticketId = '""" + PENDING_TICKET_ID + "'")
+    int confirmSeat(@Param("movieName") String movieName, @Param("showtime") LocalDateTime showtime,
+        @Param("seat") String seat, @Param("ticketId") String ticketId);
+
+    // Gives a held seat back
+    @Modifying
+    @Transactional
+    @Query("""
+    DELETE FROM MovieTicket a
+    WHERE lower(a.movieName) = lower(:movieName)
+      AND a.showtime = :showtime
+      AND a.seat = :seat
+      AND a.ticketId = '""" + PENDING_TICKET_ID + "'")
+    int releaseSeat(@Param("movieName") String movieName, @Param("showtime") LocalDateTime showtime,
+        @Param("seat") String seat);
+
+    /*
+     * Every sold or held seat with the id of its showing, read by the SeatInventory. The showing is
+     * matched case-insensitively like the booking pipeline does.
+     */
+    interface BookedSeat {
+        Long getMovieId();
+        String getSeat();
+    }
+
+    @Query(value = """
+    SELECT m.id AS "movieId", t.seat AS "seat"
+    FROM movie_service.tickets t
+    JOIN movie_service.movies m
+      ON lower(m.movie_name) = lower(t.movie_name)
+     AND m.showtime = t.showtime
+    """, nativeQuery = true)
+    List<BookedSeat> findBookedSeats();
+
+    @Query(value = """
+    SELECT m.id AS "movieId", t.seat AS "seat"
+    FROM movie_service.tickets t
+    JOIN movie_service.movies m
+      ON lower(m.movie_name) = lower(t.movie_name)
+     AND m.showtime = t.showtime
+    WHERE m.id = :movieId
+    """, nativeQuery = true)
+    List<BookedSeat> findBookedSeatsOf(@Param("movieId") Long movieId);
+
+    // Seats held by bookings that never finished (e.g. the service stopped mid booking)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM movie_service.tickets WHERE ticket_id = '" + PENDING_TICKET_ID
+        + "' AND time_created < :cutoff", nativeQuery = true)
+    int deleteStalePending(@Param("cutoff") Instant cutoff);
 }
\ No newline at end of file
@@ -8,14 +8,17 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import com.topics.MovieListRequest.Genre;
 
 @Entity
 @Table(name = "tickets", schema = "movie_service")
 public class MovieTicket {
+    // pooled ids (V11), IDENTITY would rule out batched inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", schema = "movie_service", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "movie_name", nullable = false)
@@ -9,14 +9,17 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import com.topics.MovieListRequest.Genre;
 
 @Entity
 @Table(name = "movies", schema = "movie_service")
 public class Movies {
+    // pooled ids (V11), IDENTITY would rule out batched inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_seq")
+    @SequenceGenerator(name = "movies_seq", schema = "movie_service", sequenceName = "movies_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "movie_name", nullable = false)
@@ -0,0 +1,49 @@
+package com.schema;
+
+import java.util.Iterator;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/*
+ * Adapts an already parsed Jackson tree to the org.json model the everit validator works on.
+ * Walks the nodes directly, the document is never written back out to text and re-tokenized.
+ */
+public final class JsonTrees {
+    private JsonTrees() {
+    }
+
+    public static Object toJson(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                return toJSONObject(node);
+            case ARRAY: {
+                JSONArray array = new JSONArray();
+                for (JsonNode element : node) {
+                    array.put(toJson(element));
+                }
+                return array;
+            }
+            case STRING:
+                return node.textValue();
+            case BOOLEAN:
+                return node.booleanValue();
+            case NUMBER:
+                // keeps Integer/Long/BigInteger/Double/BigDecimal as parsed
+                return node.numberValue();
+            default:
+                return JSONObject.NULL;
+        }
+    }
+
+    public static JSONObject toJSONObject(JsonNode node) {
+        JSONObject object = new JSONObject();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            object.put(field.getKey(), toJson(field.getValue()));
+        }
+        return object;
+    }
+}
@@ -0,0 +1,159 @@
+package com.schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import com.SchemaService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Registry of compiled JSON schemas keyed by topicName. Each schema from the icd is parsed and
+ * built by the everit SchemaLoader once, the resulting Schema is immutable and safe to share
+ * between request threads. Topics of this service only (com.localTopics) have their schema under
+ * json-schema/local/, used when the icd has none for the topic.
+ *
+ * Topics without a schema are remembered as well (up to MAX_UNKNOWN_TOPICS names, then the list
+ * starts over), a stream of bogus topicNames doesn't look up and load a schema on every request.
+ * Lookups are counted in schema.registry.lookups{result=hit|miss|unknown}.
+ */
+@Service
+public class SchemaRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaRegistry.class);
+    static final String SCHEMA_BASE_PATH = "json-schema/";
+    static final String LOCAL_SCHEMA_PATH = SCHEMA_BASE_PATH + "local/";
+    public static final String LOOKUPS = "schema.registry.lookups";
+    static final int MAX_UNKNOWN_TOPICS = 1024;
+
+    private final ResourceLoader resourceLoader;
+    private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+    private final Set<String> unknownTopics = ConcurrentHashMap.newKeySet();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter unknown;
+
+    // topics compiled eagerly at startup, anything else is compiled on first use
+    @Value("${schema.registry.preload:CreateTicketRequest,MovieListRequest}")
+    private String[] preloadTopics = new String[0];
+
+    public SchemaRegistry(ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.resourceLoader = resourceLoader;
+        this.hits = Counter.builder(LOOKUPS).tag("result", "hit")
+                .description("Schema lookups by topicName").register(meterRegistry);
+        this.misses = Counter.builder(LOOKUPS).tag("result", "miss")
+                .description("Schema lookups by topicName").register(meterRegistry);
+        this.unknown = Counter.builder(LOOKUPS).tag("result", "unknown")
+                .description("Schema lookups by topicName").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        for (String topicName : preloadTopics) {
+            if (getSchema(topicName.trim()) == null) {
+                LOG.warn("Unable to preload schema for topic: {}", topicName);
+            }
+        }
+        LOG.info("SchemaRegistry initialized with {} compiled schemas", schemas.size());
+    }
+
+    /*
+     * Returns the compiled schema for the topic, compiling it on the first request. Returns null
+     * when the icd has no schema for the topic.
+     */
+    public Schema getSchema(String topicName) {
+        if (topicName == null) {
+            return null;
+        }
+        Schema schema = schemas.get(topicName);
+        if (schema != null) {
+            hits.increment();
+            return schema;
+        }
+        if (unknownTopics.contains(topicName)) {
+            unknown.increment();
+            return null;
+        }
+        misses.increment();
+        schema = schemas.computeIfAbsent(topicName, this::compile);
+        if (schema == null) {
+            if (unknownTopics.size() >= MAX_UNKNOWN_TOPICS) {
+                unknownTopics.clear();
+            }
+            unknownTopics.add(topicName);
+        }
+        return schema;
+    }
+
+    public long getHitCount() {
+        return (long) hits.count();
+    }
+
+    public long getMissCount() {
+        return (long) misses.count();
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+
+    /*
+     * Drops every compiled schema and the topics known to have none, the next lookup for each
+     * topic loads it again
+     */
+    public void clear() {
+        schemas.clear();
+        unknownTopics.clear();
+    }
+
+    private Schema compile(String topicName) {
+        String path = null;
+        try {
+            path = SchemaService.getPathFor(topicName);
+        } catch (RuntimeException e) {
+            LOG.debug("No icd schema path registered for topic {}: {}", topicName, e.getMessage());
+        }
+        if (path == null) {
+            path = LOCAL_SCHEMA_PATH + topicName + ".json";
+            if (!resourceLoader.getResource("classpath:" + path).exists()) {
+                LOG.error("No schema registered for topic: {}", topicName);
+                return null;
+            }
+        }
+        Resource resource = resourceLoader.getResource("classpath:" + path);
+        if (!resource.exists()) {
+            LOG.error("No schema found for topic: {} at {}", topicName, path);
+            return null;
+        }
+        try (InputStream schemaStream = resource.getInputStream()) {
+            Schema schema = load(schemaStream);
+            LOG.info("Compiled schema for topic: {}", topicName);
+            return schema;
+        } catch (IOException e) {
+            LOG.error("Failed to read schema for topic {}: {}", topicName, e.getMessage());
+            return null;
+        }
+    }
+
+    static Schema load(InputStream schemaStream) {
+        JSONObject rawSchema = new JSONObject(new JSONTokener(schemaStream));
+        return SchemaLoader.builder()
+                .schemaJson(rawSchema)
+                .resolutionScope("classpath:/" + SCHEMA_BASE_PATH)
+                .build()
+                .load()
+                .build();
+    }
+}
@@ -7,56 +7,101 @@ import java.util.List;
 
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
-import org.everit.json.schema.loader.SchemaLoader;
 import org.json.JSONObject;
-import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 
 /*
- * Valiation Service for JSON schemas from the internal icd
+ * Valiation Service for JSON schemas from the internal icd. Rejected topics are counted under
+ * topic.validation.failures{topic}, topics without a schema as "unknown".
  */
 @Service
 public class SchemaValidator {
-    private static final String SCHEMA_BASE_PATH = "json-schema/";
-
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaValidator.class);
+    public static final String VALIDATION_FAILURES = "topic.validation.failures";
+    private static final String UNKNOWN_TOPIC = "unknown";
     private final ResourceLoader resourceLoader;
+    private final SchemaRegistry schemaRegistry;
+    private final MeterRegistry meterRegistry;
 
-    public SchemaValidator(ResourceLoader resourceLoader) {
+    public SchemaValidator(ResourceLoader resourceLoader, SchemaRegistry schemaRegistry,
+            MeterRegistry meterRegistry) {
         this.resourceLoader = resourceLoader;
+        this.schemaRegistry = schemaRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /*
+     * Validates against the compiled schema cached in the SchemaRegistry for the topic
+     */
+    public boolean validateJson(String topicName, JSONObject jsonNode) {
+        Schema schema = schemaRegistry.getSchema(topicName);
+        if (schema == null) {
+            LOG.warn("No schema found for topic: {}", topicName);
+            failed(UNKNOWN_TOPIC);
+            return false;
+        }
+        if (!validate(schema, jsonNode)) {
+            failed(topicName);
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * Validates a tree already parsed by the TopicDecoder, the tree is adapted node by node
+     * rather than serialized and parsed again
+     */
+    public boolean validateJson(String topicName, JsonNode jsonNode) {
+        if (!jsonNode.isObject()) {
+            LOG.info("Topic must be a JSON object: {}", topicName);
+            failed(schemaRegistry.getSchema(topicName) == null ? UNKNOWN_TOPIC : topicName);
+            return false;
+        }
+        return validateJson(topicName, JsonTrees.toJSONObject(jsonNode));
     }
 
+    /*
+     * Compiles the schema from the stream on every call, prefer validateJson(topicName, jsonNode)
+     */
     public boolean validateJson(InputStream schemaStream, JSONObject jsonNode) {
+        return validate(SchemaRegistry.load(schemaStream), jsonNode);
+    }
+
+    private boolean validate(Schema schema, JSONObject jsonNode) {
         boolean valid = false;
         try {
-            JSONObject rawSchema = new JSONObject(new JSONTokener(schemaStream));
-            Schema schema = SchemaLoader.builder()
-                    .schemaJson(rawSchema)
-                    .resolutionScope("classpath:/" + SCHEMA_BASE_PATH)
-                    .build()
-                    .load()
-                    .build();
-
             schema.validate(jsonNode);
             valid = true;
         } catch (ValidationException e) {
-            System.out.println("Validation failed");
-            List<String> errors = collectErrors(e);
-            errors.forEach(err -> System.out.println(" - " + err));
+            // the individual errors are only collected when they are logged
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Validation failed: {}", collectErrors(e));
+            }
             valid = false;
         }
         return valid;
     }
 
+    // only topics with a schema are tag values, the topicName of a request is not trusted
+    private void failed(String topic) {
+        meterRegistry.counter(VALIDATION_FAILURES, "topic", topic).increment();
+    }
+
     public InputStream getSchemaStream(String jsonPath) {
         String location = "classpath:" + jsonPath;
         Resource resource = resourceLoader.getResource(location);
-        System.out.println("Loading schema at: " + location + " | Exists? " + resource.exists());
+        boolean exists = resource.exists();
+        LOG.debug("Loading schema at: {} | Exists? {}", location, exists);
         try {
-            return resource.exists() ? resource.getInputStream() : null;
+            return exists ? resource.getInputStream() : null;
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Failed to read schema {}: {}", location, e.getMessage());
             return null;
         }
     }
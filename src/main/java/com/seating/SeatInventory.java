@@ -0,0 +1,555 @@
+package com.seating;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postgres.MoviesRepository;
+import com.postgres.MoviesRepository.ShowtimeSeats;
+import com.postgres.TicketsRespository;
+import com.postgres.TicketsRespository.BookedSeat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * In-memory seat availability, one bitset per showing (movies.id) with a bit per seat of its
+ * seats map, set when the seat is sold, held or blocked. Built from movies.seats (which seats
+ * exist, a status other than AVAILABLE/BOOKED blocks the seat) and tickets (sold and held seats),
+ * so a booking checks and takes its seat with a compare-and-set instead of a Postgres round-trip:
+ *      HELD      the seat was free and is now taken by the caller
+ *      TAKEN     already sold or held
+ *      NO_SEAT   the showing has no such seat
+ *      UNKNOWN   the showing has no seats map, Postgres decides
+ * Postgres stays the authority, the unique seat index still decides between instances. Showings
+ * added since the last load are loaded on first use.
+ *
+ * Changes are written behind to movies.seats (BOOKED / AVAILABLE) every
+ * seat.inventory.flush-interval, only the changed seats are merged into the JSONB. The bitsets
+ * are rebuilt every seat.inventory.reload-interval to pick up seats freed by other instances or
+ * the PendingTicketSweeper, seats whose JSONB status disagrees with tickets are rewritten. Holds
+ * and releases keep running while tickets are read, what they changed on the old bitsets is carried
+ * over to the new ones before the swap.
+ */
+@Service
+public class SeatInventory {
+    private static final Logger LOG = LoggerFactory.getLogger(SeatInventory.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, String>> SEATS = new TypeReference<>() {};
+
+    // row letters, then seat number: A1, A2 .. A10, B1
+    private static final Comparator<String> SEAT_ORDER = Comparator
+            .comparing((String seat) -> seat.replaceFirst("\\d+$", ""))
+            .thenComparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
+
+    public static final String AVAILABLE = "AVAILABLE";
+    public static final String BOOKED = "BOOKED";
+
+    public enum Hold { HELD, TAKEN, NO_SEAT, UNKNOWN }
+
+    private final MoviesRepository moviesRepository;
+    private final TicketsRespository ticketsRespository;
+    private final boolean enabled;
+    private final Counter held;
+    private final Counter taken;
+    private final Counter unknown;
+    private final Counter written;
+
+    private volatile Map<Long, SeatMap> showtimes = Map.of();
+    private Map<List<String>, Layout> layouts = new HashMap<>();
+    private final Set<SeatMap> changed = ConcurrentHashMap.newKeySet();
+    // holds and releases share it, reload takes it exclusively to carry their changes over and swap
+    private final StampedLock swap = new StampedLock();
+
+    public SeatInventory(MoviesRepository moviesRepository, TicketsRespository ticketsRespository,
+            MeterRegistry meterRegistry, @Value("${seat.inventory.enabled:true}") boolean enabled) {
+        this.moviesRepository = moviesRepository;
+        this.ticketsRespository = ticketsRespository;
+        this.enabled = enabled;
+        this.held = Counter.builder("seat.inventory.holds").tag("result", "held").register(meterRegistry);
+        this.taken = Counter.builder("seat.inventory.holds").tag("result", "taken").register(meterRegistry);
+        this.unknown = Counter.builder("seat.inventory.holds").tag("result", "unknown")
+                .description("Holds left to Postgres, the showing is not loaded").register(meterRegistry);
+        this.written = Counter.builder("seat.inventory.writes")
+                .description("Seat statuses written behind to movies.seats").register(meterRegistry);
+        Gauge.builder("seat.inventory.showtimes", this, s -> s.showtimes.size())
+                .description("Showings held in the seat inventory").register(meterRegistry);
+        Gauge.builder("seat.inventory.pending-writes", changed, Set::size)
+                .description("Showings with seat changes not yet written to movies.seats")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    /*
+     * Takes the seat when it is free, O(1) and allocation free apart from queueing the first
+     * change of a showing for the write-behind
+     */
+    public Hold hold(Long showtimeId, String seat) {
+        SeatMap loaded = showing(showtimeId);
+        if (loaded == null || loaded.size() == 0) {
+            unknown.increment();
+            return Hold.UNKNOWN;
+        }
+        long stamp = swap.readLock();
+        try {
+            SeatMap seats = current(showtimeId, loaded);
+            int index = seats.index(seat);
+            if (index < 0) {
+                return Hold.NO_SEAT;
+            }
+            if (!seats.take(index)) {
+                taken.increment();
+                return Hold.TAKEN;
+            }
+            held.increment();
+            queue(seats);
+            return Hold.HELD;
+        } finally {
+            swap.unlockRead(stamp);
+        }
+    }
+
+    /*
+     * Gives back a seat whose booking failed or was released, blocked seats stay taken
+     */
+    public void release(Long showtimeId, String seat) {
+        SeatMap loaded = showing(showtimeId);
+        if (loaded == null) {
+            return;
+        }
+        long stamp = swap.readLock();
+        try {
+            SeatMap seats = current(showtimeId, loaded);
+            int index = seats.index(seat);
+            if (index >= 0 && seats.free(index)) {
+                queue(seats);
+            }
+        } finally {
+            swap.unlockRead(stamp);
+        }
+    }
+
+    /*
+     * The published seats of the showing, a reload may have swapped them since showing() (which can
+     * load from Postgres and so runs outside the lock)
+     */
+    private SeatMap current(Long showtimeId, SeatMap loaded) {
+        SeatMap seats = showtimes.get(showtimeId);
+        return seats == null ? loaded : seats;
+    }
+
+    /*
+     * Gives back the seats of a booking Postgres refused or failed to store, except the ones
+     * tickets show as sold: a seat another instance sold stays taken. When tickets cannot be read
+     * every seat stays taken until the next reload.
+     */
+    public void releaseUnsold(Long showtimeId, List<String> seats) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        Set<String> sold = new HashSet<>();
+        try {
+            for (BookedSeat booked : ticketsRespository.findBookedSeatsOf(showtimeId)) {
+                sold.add(booked.getSeat());
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Keeping seats {} of showing {} taken until the next reload: {}", seats, showtimeId,
+                    e.getMessage());
+            return;
+        }
+        for (String seat : seats) {
+            if (!sold.contains(seat)) {
+                release(showtimeId, seat);
+            }
+        }
+    }
+
+    /*
+     * Free seats of the showing in seat order (A1, A2 .. A10, B1), null when the showing is unknown
+     * or has no seats map
+     */
+    public List<String> availableSeats(Long showtimeId) {
+        SeatMap seats = showing(showtimeId);
+        if (seats == null || seats.size() == 0) {
+            return null;
+        }
+        List<String> available = new ArrayList<>();
+        for (int i = 0; i < seats.size(); i++) {
+            if (!seats.isTaken(i)) {
+                available.add(seats.label(i));
+            }
+        }
+        return available;
+    }
+
+    private void queue(SeatMap seats) {
+        if (!changed.contains(seats)) {
+            changed.add(seats);
+        }
+    }
+
+    /*
+     * Write-behind: merges the seats changed since the last flush into movies.seats, one UPDATE per
+     * showing. Failed writes are retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${seat.inventory.flush-interval:PT5S}")
+    public void flush() {
+        // a snapshot, failed showings are queued again for the next flush
+        for (SeatMap seats : List.copyOf(changed)) {
+            if (!changed.remove(seats)) {
+                continue;
+            }
+            long[] words = seats.drainChanges();
+            Map<String, String> patch = seats.statuses(words);
+            if (patch.isEmpty()) {
+                continue;
+            }
+            try {
+                moviesRepository.mergeSeats(seats.showtimeId, JSON.writeValueAsString(patch));
+                written.increment(patch.size());
+            } catch (JsonProcessingException | RuntimeException e) {
+                LOG.warn("Failed to write {} seats of showing {}, retrying: {}", patch.size(),
+                        seats.showtimeId, e.getMessage());
+                seats.requeue(words);
+                changed.add(seats);
+            }
+        }
+    }
+
+    /*
+     * Rebuilds every bitset from Postgres, pending changes are written first
+     */
+    @Scheduled(initialDelayString = "${seat.inventory.reload-interval:PT5M}",
+            fixedDelayString = "${seat.inventory.reload-interval:PT5M}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        // taken bits before tickets are read, holds and releases after this are carried over
+        Map<Long, SeatMap> previous = showtimes;
+        Map<Long, long[]> before = new HashMap<>();
+        previous.forEach((showtimeId, seats) -> before.put(showtimeId, seats.snapshot()));
+        Map<List<String>, Layout> layouts = new HashMap<>();
+        Map<Long, SeatMap> loaded = new HashMap<>();
+        for (ShowtimeSeats row : moviesRepository.findAllSeats()) {
+            loaded.put(row.getId(), build(row, layouts));
+        }
+        for (BookedSeat booked : ticketsRespository.findBookedSeats()) {
+            SeatMap seats = loaded.get(booked.getMovieId());
+            if (seats != null) {
+                seats.load(seats.index(booked.getSeat()));
+            }
+        }
+        int mismatched = 0;
+        for (SeatMap seats : loaded.values()) {
+            mismatched += reconcile(seats);
+        }
+        this.layouts = layouts;
+        long stamp = swap.writeLock();
+        try {
+            for (Map.Entry<Long, long[]> snapshot : before.entrySet()) {
+                SeatMap seats = loaded.get(snapshot.getKey());
+                if (seats != null && seats.carryOver(previous.get(snapshot.getKey()), snapshot.getValue())) {
+                    changed.add(seats);
+                }
+            }
+            showtimes = Map.copyOf(loaded);
+        } finally {
+            swap.unlockWrite(stamp);
+        }
+        LOG.info("Seat inventory loaded {} showings ({} seat layouts), {} seat statuses to rewrite",
+                loaded.size(), layouts.size(), mismatched);
+    }
+
+    /*
+     * Loaded seats of the showing, a showing added since the last reload is loaded on first use.
+     * Null when there is no such showing.
+     */
+    private SeatMap showing(Long showtimeId) {
+        SeatMap seats = showtimeId == null ? null : showtimes.get(showtimeId);
+        return seats != null || !enabled ? seats : load(showtimeId);
+    }
+
+    private synchronized SeatMap load(Long showtimeId) {
+        SeatMap seats = showtimes.get(showtimeId);
+        if (seats != null) {
+            return seats;
+        }
+        ShowtimeSeats row = moviesRepository.findSeatsById(showtimeId);
+        if (row == null) {
+            return null;
+        }
+        seats = build(row, layouts);
+        for (BookedSeat booked : ticketsRespository.findBookedSeatsOf(showtimeId)) {
+            seats.load(seats.index(booked.getSeat()));
+        }
+        reconcile(seats);
+        Map<Long, SeatMap> loaded = new HashMap<>(showtimes);
+        loaded.put(showtimeId, seats);
+        showtimes = Map.copyOf(loaded);
+        LOG.info("Seat inventory loaded showing {} with {} seats", showtimeId, seats.size());
+        return seats;
+    }
+
+    /*
+     * Seats of one showing from its seats JSONB: unknown statuses block the seat, BOOKED is kept
+     * aside to be compared with tickets. A showing without seats gets an empty map, left to Postgres.
+     */
+    private static SeatMap build(ShowtimeSeats row, Map<List<String>, Layout> layouts) {
+        Map<String, String> statuses = parse(row);
+        List<String> labels = new ArrayList<>(statuses.keySet());
+        labels.sort(SEAT_ORDER);
+        SeatMap seats = new SeatMap(row.getId(), layouts.computeIfAbsent(labels, Layout::new));
+        statuses.forEach((seat, status) -> {
+            if (BOOKED.equals(status)) {
+                seats.bookedInJson.add(seat);
+            } else if (!AVAILABLE.equals(status)) {
+                seats.block(seats.index(seat));
+            }
+        });
+        return seats;
+    }
+
+    /*
+     * Tickets win, the JSONB status of seats sold or freed behind our back is queued for rewriting.
+     * Returns the number of such seats.
+     */
+    private int reconcile(SeatMap seats) {
+        int mismatched = 0;
+        for (int i = 0; i < seats.size(); i++) {
+            if (!seats.isBlocked(i) && seats.isTaken(i) != seats.bookedInJson.contains(seats.label(i))) {
+                seats.markChanged(i);
+                mismatched++;
+            }
+        }
+        seats.bookedInJson.clear();
+        if (mismatched > 0) {
+            changed.add(seats);
+        }
+        return mismatched;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static Map<String, String> parse(ShowtimeSeats row) {
+        try {
+            return row.getSeats() == null ? Map.of() : JSON.readValue(row.getSeats(), SEATS);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Ignoring the unreadable seats of showing {}: {}", row.getId(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /*
+     * Seat labels of a seats map in a fixed order, shared by every showing with the same seats
+     */
+    private static final class Layout {
+        private final String[] labels;
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private Layout(List<String> labels) {
+            this.labels = labels.toArray(String[]::new);
+            for (int i = 0; i < this.labels.length; i++) {
+                indexes.put(this.labels[i], i);
+            }
+        }
+    }
+
+    /*
+     * Seats of one showing: taken and blocked bits, plus the bits changed since the last flush
+     */
+    private static final class SeatMap {
+        private final Long showtimeId;
+        private final Layout layout;
+        private final AtomicLongArray taken;
+        private final AtomicLongArray changes;
+        private final long[] blocked;
+        // BOOKED in the JSONB while loading, compared with tickets by reconcile
+        private final Set<String> bookedInJson = new HashSet<>();
+
+        private SeatMap(Long showtimeId, Layout layout) {
+            this.showtimeId = showtimeId;
+            this.layout = layout;
+            int words = (layout.labels.length + 63) >>> 6;
+            this.taken = new AtomicLongArray(words);
+            this.changes = new AtomicLongArray(words);
+            this.blocked = new long[words];
+        }
+
+        private int index(String seat) {
+            Integer index = seat == null ? null : layout.indexes.get(seat);
+            return index == null ? -1 : index;
+        }
+
+        private int size() {
+            return layout.labels.length;
+        }
+
+        private String label(int index) {
+            return layout.labels[index];
+        }
+
+        private boolean isTaken(int index) {
+            return (taken.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        private boolean isBlocked(int index) {
+            return (blocked[index >>> 6] & (1L << index)) != 0;
+        }
+
+        // only while loading, before the map is published
+        private void load(int index) {
+            if (index < 0) {
+                return;
+            }
+            taken.set(index >>> 6, taken.get(index >>> 6) | (1L << index));
+        }
+
+        private long[] snapshot() {
+            long[] words = new long[taken.length()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = taken.get(i);
+            }
+            return words;
+        }
+
+        /*
+         * Seats held or released on the old map since its snapshot, by label as the layout may have
+         * changed. Only while loading, before the map is published. True when a seat changed.
+         */
+        private boolean carryOver(SeatMap old, long[] before) {
+            if (old == null) {
+                return false;
+            }
+            boolean carried = false;
+            for (int word = 0; word < before.length; word++) {
+                long now = old.taken.get(word);
+                long diff = before[word] ^ now;
+                while (diff != 0) {
+                    int oldIndex = (word << 6) + Long.numberOfTrailingZeros(diff);
+                    diff &= diff - 1;
+                    int index = index(old.label(oldIndex));
+                    if (index < 0 || isBlocked(index)) {
+                        continue;
+                    }
+                    long bit = 1L << index;
+                    if ((now & (1L << oldIndex)) != 0) {
+                        taken.set(index >>> 6, taken.get(index >>> 6) | bit);
+                    } else {
+                        taken.set(index >>> 6, taken.get(index >>> 6) & ~bit);
+                    }
+                    markChanged(index);
+                    carried = true;
+                }
+            }
+            return carried;
+        }
+
+        private void block(int index) {
+            blocked[index >>> 6] |= 1L << index;
+            load(index);
+        }
+
+        private boolean take(int index) {
+            int word = index >>> 6;
+            long bit = 1L << index;
+            while (true) {
+                long current = taken.get(word);
+                if ((current & bit) != 0) {
+                    return false;
+                }
+                if (taken.compareAndSet(word, current, current | bit)) {
+                    markChanged(index);
+                    return true;
+                }
+            }
+        }
+
+        private boolean free(int index) {
+            if (isBlocked(index)) {
+                return false;
+            }
+            int word = index >>> 6;
+            long bit = 1L << index;
+            while (true) {
+                long current = taken.get(word);
+                if ((current & bit) == 0) {
+                    return false;
+                }
+                if (taken.compareAndSet(word, current, current & ~bit)) {
+                    markChanged(index);
+                    return true;
+                }
+            }
+        }
+
+        private void markChanged(int index) {
+            changes.getAndAccumulate(index >>> 6, 1L << index, (a, b) -> a | b);
+        }
+
+        private boolean hasChanges() {
+            for (int i = 0; i < changes.length(); i++) {
+                if (changes.get(i) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long[] drainChanges() {
+            long[] words = new long[changes.length()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = changes.getAndSet(i, 0);
+            }
+            return words;
+        }
+
+        private void requeue(long[] words) {
+            for (int i = 0; i < words.length; i++) {
+                changes.getAndAccumulate(i, words[i], (a, b) -> a | b);
+            }
+        }
+
+        // current status of the changed, unblocked seats
+        private Map<String, String> statuses(long[] words) {
+            Map<String, String> statuses = new LinkedHashMap<>();
+            for (int i = 0; i < size(); i++) {
+                if ((words[i >>> 6] & (1L << i)) != 0 && !isBlocked(i)) {
+                    statuses.put(label(i), isTaken(i) ? BOOKED : AVAILABLE);
+                }
+            }
+            return statuses;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ticketing;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import com.dispatch.TopicStages;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/*
+ * Non-blocking WebClient for the Ticketing Manager, used by the reactive topic pipeline. Same
+ * endpoint, timeouts, TicketingManagerGuard and contract as TicketingManagerClient: a non-2xx
+ * answer completes empty, I/O failures, timeouts and refused calls are signalled as errors.
+ *
+ * Connections come from a dedicated keep-alive pool as large as the guard's bulkhead, idle ones
+ * are closed after max-idle-time.
+ */
+@Service
+public class ReactiveTicketingManagerClient {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveTicketingManagerClient.class);
+
+    private final WebClient webClient;
+    private final TicketingManagerClient ticketingManagerClient;
+    private final TicketingManagerGuard guard;
+    private final ConnectionProvider connections;
+
+    public ReactiveTicketingManagerClient(WebClient.Builder webClientBuilder,
+            TicketingManagerClient ticketingManagerClient, TicketingManagerGuard guard,
+            @Value("${ticketing.manager.bulkhead.max-concurrent:50}") int maxConnections,
+            @Value("${ticketing.manager.max-idle-time:PT30S}") Duration maxIdleTime,
+            @Value("${ticketing.manager.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${ticketing.manager.read-timeout:PT2S}") Duration readTimeout) {
+        this.connections = ConnectionProvider.builder("ticketing-manager")
+                .maxConnections(maxConnections)
+                .maxIdleTime(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        this.webClient = webClientBuilder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+        this.ticketingManagerClient = ticketingManagerClient;
+        this.guard = guard;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.dispose();
+    }
+
+    public Mono<String> requestTicketId() {
+        return Mono.deferContextual(context -> {
+            TopicStages stages = TopicStages.of(context);
+            Mono<String> ticketId = guard.callReactive(this::exchange);
+            if (stages == null) {
+                return ticketId;
+            }
+            long start = System.nanoTime();
+            return ticketId.doFinally(signal -> stages.add(TopicStages.TICKETING_MANAGER, System.nanoTime() - start));
+        });
+    }
+
+    private Mono<String> exchange() {
+        return webClient
+                .post()
+                .uri(ticketingManagerClient.getEndpoint())
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> {
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        LOG.error("Failed to generate a ticket number from the Ticketing Manager with status code: {}",
+                                response.statusCode());
+                        return response.releaseBody().then(Mono.empty());
+                    }
+                    return response.bodyToMono(String.class);
+                });
+    }
+}
@@ -0,0 +1,230 @@
+package com.ticketing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Keeps ticket numbers issued ahead of time by the Ticketing Manager so a booking doesn't wait on
+ * the remote call. The pool is a bounded lock-free queue, a background refill tops it back up to
+ * capacity (at most batch-size calls per run) whenever a take leaves it below the low-water mark.
+ * When the pool is empty the number is requested synchronously, as before.
+ *
+ * Numbers sitting in the pool when the service stops are never used.
+ */
+@Service
+public class TicketIdPool {
+    private static final Logger LOG = LoggerFactory.getLogger(TicketIdPool.class);
+
+    private final TicketingManagerClient ticketingManagerClient;
+    private final boolean enabled;
+    private final int capacity;
+    private final int lowWaterMark;
+    private final int batchSize;
+
+    private final Queue<String> ticketIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ExecutorService refiller;
+
+    private final Timer refillTimer;
+    private final Counter pooledTakes;
+    private final Counter fallbackTakes;
+
+    public TicketIdPool(TicketingManagerClient ticketingManagerClient, MeterRegistry meterRegistry,
+            @Value("${ticketing.pool.enabled:true}") boolean enabled,
+            @Value("${ticketing.pool.capacity:64}") int capacity,
+            @Value("${ticketing.pool.low-water-mark:16}") int lowWaterMark,
+            @Value("${ticketing.pool.batch-size:32}") int batchSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.ticketingManagerClient = ticketingManagerClient;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.lowWaterMark = Math.min(lowWaterMark, capacity);
+        this.batchSize = batchSize;
+        this.refiller = Executors.newSingleThreadExecutor(virtualThreads
+                ? Thread.ofVirtual().name("ticket-id-refill").factory()
+                : Thread.ofPlatform().name("ticket-id-refill").daemon().factory());
+
+        Gauge.builder("ticketing.pool.depth", depth, AtomicInteger::get)
+                .description("Pre-issued ticket numbers waiting in the pool").register(meterRegistry);
+        this.refillTimer = Timer.builder("ticketing.pool.refill")
+                .description("Time to run one refill batch against the Ticketing Manager")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.pooledTakes = Counter.builder("ticketing.pool.takes").tag("source", "pool")
+                .register(meterRegistry);
+        this.fallbackTakes = Counter.builder("ticketing.pool.takes").tag("source", "fallback")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        LOG.info("TicketIdPool {} (capacity {}, low-water mark {}, batch size {})",
+                enabled ? "enabled" : "disabled", capacity, lowWaterMark, batchSize);
+        if (enabled) {
+            triggerRefill();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+
+    /*
+     * Returns a ticket number, from the pool when one is available, otherwise straight from the
+     * Ticketing Manager. Same contract as TicketingManagerClient.requestTicketId.
+     */
+    public String take() {
+        String ticketId = poll();
+        if (ticketId != null) {
+            return ticketId;
+        }
+        fallbackTakes.increment();
+        return ticketingManagerClient.requestTicketId();
+    }
+
+    /*
+     * Returns a pooled ticket number without blocking, null when the pool is empty. The caller
+     * then requests the number itself (see ReactiveTicketingManagerClient).
+     */
+    public String poll() {
+        String ticketId = ticketIds.poll();
+        if (ticketId == null) {
+            triggerRefill();
+            return null;
+        }
+        if (depth.decrementAndGet() < lowWaterMark) {
+            triggerRefill();
+        }
+        pooledTakes.increment();
+        return ticketId;
+    }
+
+    /*
+     * Ticket numbers for a group booking in one take: as many as the pool holds, the rest
+     * straight from the Ticketing Manager. Null when the Ticketing Manager answers one of the
+     * requests with a non-2xx status, failures surface like take(). Either way the numbers
+     * already taken go back to the pool.
+     */
+    public List<String> take(int count) {
+        List<String> taken = poll(count);
+        fallbackTakes.increment(count - taken.size());
+        try {
+            while (taken.size() < count) {
+                String ticketId = ticketingManagerClient.requestTicketId();
+                if (ticketId == null) {
+                    offer(taken);
+                    return null;
+                }
+                taken.add(ticketId);
+            }
+        } catch (RuntimeException e) {
+            offer(taken);
+            throw e;
+        }
+        return taken;
+    }
+
+    /*
+     * Up to count pooled ticket numbers without blocking, the caller requests the missing ones
+     * itself (recordFallback).
+     */
+    public List<String> poll(int count) {
+        List<String> taken = new ArrayList<>(count);
+        while (taken.size() < count) {
+            String ticketId = ticketIds.poll();
+            if (ticketId == null) {
+                break;
+            }
+            taken.add(ticketId);
+        }
+        if (taken.isEmpty() || depth.addAndGet(-taken.size()) < lowWaterMark) {
+            triggerRefill();
+        }
+        pooledTakes.increment(taken.size());
+        return taken;
+    }
+
+    /*
+     * Gives back ticket numbers taken for a booking that could not use them (another number of
+     * the group failed), so they are sold later instead of lost. Numbers past capacity are dropped.
+     */
+    public void offer(List<String> unused) {
+        for (int i = 0; i < unused.size(); i++) {
+            if (depth.get() >= capacity) {
+                LOG.warn("Ticket number pool full, {} returned numbers dropped", unused.size() - i);
+                return;
+            }
+            ticketIds.offer(unused.get(i));
+            depth.incrementAndGet();
+        }
+    }
+
+    /*
+     * For callers that fetched the number themselves after poll() came back empty
+     */
+    public void recordFallback() {
+        fallbackTakes.increment();
+    }
+
+    public void recordFallback(int count) {
+        fallbackTakes.increment(count);
+    }
+
+    public int getDepth() {
+        return depth.get();
+    }
+
+    private void triggerRefill() {
+        if (enabled && refilling.compareAndSet(false, true)) {
+            try {
+                refiller.execute(this::refill);
+            } catch (RuntimeException e) {
+                // rejected after shutdown
+                refilling.set(false);
+            }
+        }
+    }
+
+    private void refill() {
+        long start = System.nanoTime();
+        int issued = 0;
+        try {
+            while (issued < batchSize && depth.get() < capacity) {
+                String ticketId = ticketingManagerClient.requestTicketId();
+                if (ticketId == null) {
+                    break;
+                }
+                ticketIds.offer(ticketId);
+                depth.incrementAndGet();
+                issued++;
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Ticket number refill stopped after {} numbers: {}", issued, e.getMessage());
+        } finally {
+            refillTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            refilling.set(false);
+        }
+        // takes that happened during the batch may have drained the pool again
+        if (issued > 0 && depth.get() < lowWaterMark) {
+            triggerRefill();
+        }
+    }
+}
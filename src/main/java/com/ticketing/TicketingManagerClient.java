@@ -0,0 +1,129 @@
+package com.ticketing;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import com.dispatch.TopicStages;
+import jakarta.annotation.PostConstruct;
+
+/*
+ * REST client for the Ticketing Manager, which issues the ticket numbers. Calls go through the
+ * TicketingManagerGuard (bulkhead, circuit breaker, hedging) and give up after the connect and
+ * read timeouts.
+ */
+@Service
+public class TicketingManagerClient {
+    private static final Logger LOG = LoggerFactory.getLogger(TicketingManagerClient.class);
+
+    private final RestClient ticketingManagerClient;
+    private final TicketingManagerGuard guard;
+
+    @Value("${ticketing.manager}")
+    private String ticketManager;
+    @Value("${ticketing.manager.port}")
+    private String ticketManagerPort;
+    private String tm;
+
+    public TicketingManagerClient(RestClient ticketingManagerClient) {
+        this(ticketingManagerClient, null);
+    }
+
+    // without a guard every call is sent
+    public TicketingManagerClient(RestClient ticketingManagerClient, TicketingManagerGuard guard) {
+        this.ticketingManagerClient = ticketingManagerClient;
+        this.guard = guard;
+    }
+
+    /*
+     * Spring Boot only provides the RestClient.Builder in a servlet application, the reactive
+     * topic pipeline on Netty falls back to a plain builder
+     */
+    @Autowired
+    public TicketingManagerClient(ObjectProvider<RestClient.Builder> restClientBuilder, TicketingManagerGuard guard,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${ticketing.manager.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${ticketing.manager.read-timeout:PT2S}") Duration readTimeout) {
+        this(restClientBuilder.getIfAvailable(RestClient::builder)
+                .requestFactory(requestFactory(virtualThreads, connectTimeout, readTimeout)).build(), guard);
+    }
+
+    /*
+     * Calls go through the JDK HttpClient, a blocking exchange only parks the calling thread, which
+     * is cheap when requests run on virtual threads. In that mode the client's own async work runs
+     * on virtual threads as well instead of its default platform thread pool.
+     *
+     * The client keeps its HTTP/1.1 connections alive and reuses them across calls (idle ones are
+     * closed after jdk.httpclient.keepalive.timeout), the bulkhead caps how many are open at once.
+     */
+    static ClientHttpRequestFactory requestFactory(boolean virtualThreads, Duration connectTimeout,
+            Duration readTimeout) {
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout);
+        if (virtualThreads) {
+            httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        tm = "http://" + ticketManager + ":" + ticketManagerPort + "/api/v1/ticket";
+        LOG.info("TicketingManagerClient initialized with Ticketing Manager at: {}", tm);
+    }
+
+    public String getEndpoint() {
+        return tm;
+    }
+
+    /*
+     * Asks the Ticketing Manager for a new ticket number. Returns null when the Ticketing Manager
+     * answers with a non-2xx status, I/O failures and timeouts surface as RestClientExceptions and
+     * calls the guard refuses as TicketingManagerUnavailableExceptions.
+     */
+    public String requestTicketId() {
+        long start = System.nanoTime();
+        try {
+            return guard == null ? exchange() : guard.call(this::exchange);
+        } finally {
+            TopicStages.record(TopicStages.TICKETING_MANAGER, start);
+        }
+    }
+
+    private String exchange() {
+        ResponseEntity<String> ticketResponse;
+        try {
+            ticketResponse = ticketingManagerClient
+                    .post()
+                    .uri(tm)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .toEntity(String.class);
+        } catch (CancellationException e) {
+            // the request factory cancels the exchange when the read timeout passes first
+            throw new ResourceAccessException("No answer from the Ticketing Manager at " + tm + " within the read timeout");
+        }
+
+        if (!ticketResponse.getStatusCode().is2xxSuccessful()) {
+            LOG.error("Failed to generate a ticket number from the Ticketing Manager with status code: {}",
+                    ticketResponse.getStatusCode());
+            return null;
+        }
+        return ticketResponse.getBody();
+    }
+}
@@ -0,0 +1,365 @@
+package com.ticketing;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+
+/*
+ * Failure isolation for the Ticketing Manager calls of TicketingManagerClient and
+ * ReactiveTicketingManagerClient:
+ *      bulkhead         at most max-concurrent calls in flight. A blocking call waits up to
+ *                       max-wait for a slot, a reactive one doesn't wait, so a slow Ticketing
+ *                       Manager ties up a bounded number of request threads.
+ *      circuit breaker  opens when failure-rate of the last window calls failed (once there are
+ *                       minimum-calls), calls are refused for open-duration, then half-open-calls
+ *                       trial calls decide whether it closes or opens again
+ *      hedging          optional, a second request goes out when the first hasn't been answered
+ *                       after hedge.delay and the first answer wins. Only while the circuit is
+ *                       closed and a slot is free. The losing ticket number is never used, like
+ *                       the numbers left in the TicketIdPool.
+ * Failures are I/O errors, timeouts and non-2xx answers. Refused calls throw
+ * TicketingManagerUnavailableException, the BusinessLogic answers those with a 503.
+ */
+@Component
+public class TicketingManagerGuard {
+    private static final Logger LOG = LoggerFactory.getLogger(TicketingManagerGuard.class);
+
+    public static final String REQUESTS = "ticketing.manager.requests";
+    public static final String REJECTED = "ticketing.manager.rejected";
+    public static final String HEDGES = "ticketing.manager.hedges";
+    public static final String CIRCUIT_STATE = "ticketing.manager.circuit.state";
+    public static final String BULKHEAD_ACTIVE = "ticketing.manager.bulkhead.active";
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+    private final Duration maxWait;
+    private final double failureRate;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final boolean hedging;
+    private final Duration hedgeDelay;
+    private final ExecutorService hedgeExecutor;
+
+    // outcomes of the last calls while closed, true = failed
+    private final boolean[] window;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowNext;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialCalls;
+    private int trialSuccesses;
+
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Counter circuitOpen;
+    private final Counter bulkheadFull;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+
+    public TicketingManagerGuard(MeterRegistry meterRegistry,
+            @Value("${ticketing.manager.bulkhead.max-concurrent:50}") int maxConcurrent,
+            @Value("${ticketing.manager.bulkhead.max-wait:PT0.1S}") Duration maxWait,
+            @Value("${ticketing.manager.circuit.failure-rate:0.5}") double failureRate,
+            @Value("${ticketing.manager.circuit.window:20}") int window,
+            @Value("${ticketing.manager.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${ticketing.manager.circuit.open-duration:PT10S}") Duration openDuration,
+            @Value("${ticketing.manager.circuit.half-open-calls:3}") int halfOpenCalls,
+            @Value("${ticketing.manager.hedge.enabled:false}") boolean hedging,
+            @Value("${ticketing.manager.hedge.delay:PT0.2S}") Duration hedgeDelay,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWait = maxWait;
+        this.failureRate = failureRate;
+        this.window = new boolean[window];
+        this.minimumCalls = Math.min(minimumCalls, window);
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.hedging = hedging;
+        this.hedgeDelay = hedgeDelay;
+        // blocking calls are hedged from a second thread, the bulkhead bounds how many there are
+        this.hedgeExecutor = !hedging ? null : virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ticketing-hedge-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("ticketing-hedge-", 0).daemon().factory());
+
+        this.succeeded = Timer.builder(REQUESTS).tag("outcome", "success")
+                .description("Ticketing Manager calls sent, by outcome")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.failed = Timer.builder(REQUESTS).tag("outcome", "failure")
+                .description("Ticketing Manager calls sent, by outcome")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.circuitOpen = Counter.builder(REJECTED).tag("reason", "circuit_open")
+                .description("Ticketing Manager calls refused without being sent").register(meterRegistry);
+        this.bulkheadFull = Counter.builder(REJECTED).tag("reason", "bulkhead_full")
+                .description("Ticketing Manager calls refused without being sent").register(meterRegistry);
+        this.hedgesSent = Counter.builder(HEDGES).tag("result", "sent").register(meterRegistry);
+        this.hedgesWon = Counter.builder(HEDGES).tag("result", "won").register(meterRegistry);
+        Gauge.builder(CIRCUIT_STATE, this, guard -> guard.getState().ordinal())
+                .description("0 closed, 1 half-open, 2 open").register(meterRegistry);
+        Gauge.builder(BULKHEAD_ACTIVE, bulkhead, slots -> maxConcurrent - slots.availablePermits())
+                .description("Ticketing Manager calls in flight").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /*
+     * Runs a blocking call, a null result counts as a failed (non-2xx) call
+     */
+    public <T> T call(Supplier<T> request) {
+        if (!hedging) {
+            return attempt(request, maxWait);
+        }
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> attempt(request, maxWait), hedgeExecutor);
+        try {
+            return primary.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // not answered yet, hedge below
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the Ticketing Manager", e);
+        }
+        if (getState() != State.CLOSED) {
+            return join(primary);
+        }
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(() -> {
+            hedgesSent.increment();
+            return attempt(request, Duration.ZERO);
+        }, hedgeExecutor);
+        // the first answer, or the last failure when neither answers
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        primary.whenComplete((result, failure) -> answer(first, pending, result, failure, false));
+        hedge.whenComplete((result, failure) -> answer(first, pending, result, failure, true));
+        return join(first);
+    }
+
+    /*
+     * Reactive form of call, an empty Mono counts as a failed (non-2xx) call
+     */
+    public <T> Mono<T> callReactive(Supplier<Mono<T>> request) {
+        if (!hedging) {
+            return attempt(request);
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean done = new AtomicBoolean();
+            Mono<T> primary = attempt(request).doFinally(signal -> done.set(true));
+            Mono<T> hedge = Mono.delay(hedgeDelay)
+                    .filter(tick -> !done.get() && getState() == State.CLOSED)
+                    .flatMap(tick -> {
+                        hedgesSent.increment();
+                        return attempt(request).doOnNext(ticketId -> hedgesWon.increment());
+                    });
+            return Mono.firstWithValue(primary, hedge)
+                    // neither answered: the failure of the call, or empty for non-2xx answers
+                    .onErrorResume(NoSuchElementException.class, e -> e.getSuppressed().length > 0
+                            ? Mono.error(e.getSuppressed()[e.getSuppressed().length - 1])
+                            : Mono.empty());
+        });
+    }
+
+    private <T> T attempt(Supplier<T> request, Duration wait) {
+        acquire(wait);
+        long start = System.nanoTime();
+        boolean answered = false;
+        try {
+            T result = request.get();
+            answered = result != null;
+            return result;
+        } finally {
+            bulkhead.release();
+            record(answered, System.nanoTime() - start);
+        }
+    }
+
+    private <T> Mono<T> attempt(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            acquire(Duration.ZERO);
+            long start = System.nanoTime();
+            // recorded before the outcome is passed on, the slot is given back exactly once
+            AtomicBoolean finished = new AtomicBoolean();
+            return request.get()
+                    .doOnSuccess(result -> {
+                        if (finished.compareAndSet(false, true)) {
+                            bulkhead.release();
+                            record(result != null, System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(failure -> {
+                        if (finished.compareAndSet(false, true)) {
+                            bulkhead.release();
+                            record(false, System.nanoTime() - start);
+                        }
+                    })
+                    // a cancelled call (lost hedge, client gone) says nothing about the Ticketing Manager
+                    .doOnCancel(() -> {
+                        if (finished.compareAndSet(false, true)) {
+                            bulkhead.release();
+                            cancelled();
+                        }
+                    });
+        });
+    }
+
+    private void acquire(Duration wait) {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            bulkheadFull.increment();
+            throw new TicketingManagerUnavailableException(
+                    "Too many Ticketing Manager requests in flight (" + maxConcurrent + ")", Duration.ofSeconds(1));
+        }
+        Duration retryAfter = permit();
+        if (retryAfter != null) {
+            bulkhead.release();
+            circuitOpen.increment();
+            throw new TicketingManagerUnavailableException("The Ticketing Manager circuit is open", retryAfter);
+        }
+    }
+
+    /*
+     * Null when the circuit lets the call through, otherwise how long it stays open
+     */
+    private synchronized Duration permit() {
+        if (state == State.OPEN) {
+            long remaining = openNanos - (System.nanoTime() - openedAt);
+            if (remaining > 0) {
+                return Duration.ofNanos(remaining);
+            }
+            state = State.HALF_OPEN;
+            trialCalls = 0;
+            trialSuccesses = 0;
+            LOG.info("Ticketing Manager circuit half-open, sending {} trial calls", halfOpenCalls);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialCalls >= halfOpenCalls) {
+                return Duration.ofSeconds(1);
+            }
+            trialCalls++;
+        }
+        return null;
+    }
+
+    /*
+     * A cancelled trial call gives its slot back, otherwise the circuit would wait forever for its
+     * outcome and stay half-open
+     */
+    private synchronized void cancelled() {
+        if (state == State.HALF_OPEN && trialCalls > 0) {
+            trialCalls--;
+        }
+    }
+
+    private void record(boolean success, long nanos) {
+        (success ? succeeded : failed).record(nanos, TimeUnit.NANOSECONDS);
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (!success) {
+                    open("a trial call failed");
+                } else if (++trialSuccesses >= halfOpenCalls) {
+                    state = State.CLOSED;
+                    windowCalls = 0;
+                    windowFailures = 0;
+                    LOG.info("Ticketing Manager circuit closed");
+                }
+            } else if (state == State.CLOSED) {
+                if (windowCalls == window.length) {
+                    windowFailures -= window[windowNext] ? 1 : 0;
+                } else {
+                    windowCalls++;
+                }
+                window[windowNext] = !success;
+                windowFailures += success ? 0 : 1;
+                windowNext = (windowNext + 1) % window.length;
+                if (windowCalls >= minimumCalls && windowFailures >= failureRate * windowCalls) {
+                    open(windowFailures + " of the last " + windowCalls + " calls failed");
+                }
+            }
+            // calls that were sent before the circuit opened don't change it
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        LOG.warn("Ticketing Manager circuit open ({}), calls are refused for {} ms", reason,
+                TimeUnit.NANOSECONDS.toMillis(openNanos));
+    }
+
+    private <T> void answer(CompletableFuture<T> first, AtomicInteger pending, T result, Throwable failure,
+            boolean hedge) {
+        if (failure == null && result != null) {
+            if (first.complete(result) && hedge) {
+                hedgesWon.increment();
+            }
+        } else if (pending.decrementAndGet() == 0) {
+            if (failure != null) {
+                first.completeExceptionally(failure);
+            } else {
+                first.complete(null);
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(failure);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ticketing;
+
+import java.time.Duration;
+
+/*
+ * A Ticketing Manager call refused by the TicketingManagerGuard without being sent, because the
+ * circuit is open or too many calls are in flight. retryAfter is the earliest time a retry can
+ * get through.
+ */
+public class TicketingManagerUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public TicketingManagerUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,10 @@
+-- Movie searches are ordered and paged on (showtime, id). With id in the index a page, first or
+-- deep, is an index range scan from the cursor that stops after the page, no sort or OFFSET
+
+CREATE INDEX IF NOT EXISTS movies_showtime_id_idx
+    ON movie_service.movies (showtime, id);
+DROP INDEX IF EXISTS movie_service.movies_showtime_idx;
+
+CREATE INDEX IF NOT EXISTS movies_genre_showtime_id_idx
+    ON movie_service.movies (genre, showtime, id);
+DROP INDEX IF EXISTS movie_service.movies_genre_showtime_idx;
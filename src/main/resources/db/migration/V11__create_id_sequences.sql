@@ -0,0 +1,18 @@
+-- Ids handed out in blocks of 50 (Hibernate pooled optimizer, allocationSize = 50): one sequence
+-- call per 50 inserted rows and no INSERT ... RETURNING id, so Hibernate can batch the inserts.
+-- Inserts that leave id to the column default (native SQL, seeds) draw from the same sequences.
+-- The BIGSERIAL sequences counted by 1 and are replaced.
+
+CREATE SEQUENCE IF NOT EXISTS movie_service.movies_seq INCREMENT BY 50 OWNED BY movie_service.movies.id;
+-- first block starts right after the existing rows
+SELECT setval('movie_service.movies_seq', COALESCE(MAX(id), 0) + 50, false) FROM movie_service.movies;
+ALTER TABLE movie_service.movies ALTER COLUMN id SET DEFAULT nextval('movie_service.movies_seq');
+DROP SEQUENCE IF EXISTS movie_service.movies_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS movie_service.tickets_seq INCREMENT BY 50 OWNED BY movie_service.tickets.id;
+SELECT setval('movie_service.tickets_seq', COALESCE(MAX(id), 0) + 50, false) FROM movie_service.tickets;
+ALTER TABLE movie_service.tickets ALTER COLUMN id SET DEFAULT nextval('movie_service.tickets_seq');
+DROP SEQUENCE IF EXISTS movie_service.tickets_id_seq;
+
+-- Movies does not map the seat map, showings saved through JPA start with an empty one
+ALTER TABLE movie_service.movies ALTER COLUMN seats SET DEFAULT '{}'::jsonb;
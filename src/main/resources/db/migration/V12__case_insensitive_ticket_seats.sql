@@ -0,0 +1,26 @@
+-- The V9 unique index compared the title as it was requested, so 'Inception' and 'inception'
+-- could each sell the same seat of a showing. Seats are now unique per lower(movie_name) and
+-- tickets carry the showing's spelling of the title.
+
+-- dropped first, renaming 'inception' to 'Inception' below would collide with it
+DROP INDEX IF EXISTS movie_service.tickets_movie_showtime_seat_uq;
+
+-- a seat sold more than once keeps its first ticket, the new index cannot be built over duplicates
+DELETE FROM movie_service.tickets t
+USING movie_service.tickets first
+WHERE lower(first.movie_name) = lower(t.movie_name)
+  AND first.showtime = t.showtime
+  AND first.seat = t.seat
+  AND first.id < t.id;
+
+-- tickets of a known showing take its spelling
+UPDATE movie_service.tickets t
+SET movie_name = m.movie_name
+FROM movie_service.movies m
+WHERE lower(m.movie_name) = lower(t.movie_name)
+  AND m.showtime = t.showtime
+  AND m.movie_name <> t.movie_name;
+
+-- TicketsRespository.reserveSeat (ON CONFLICT target), findByNameTimeSeat, confirmSeat, releaseSeat
+CREATE UNIQUE INDEX IF NOT EXISTS tickets_lower_movie_showtime_seat_uq
+    ON movie_service.tickets (lower(movie_name), showtime, seat);
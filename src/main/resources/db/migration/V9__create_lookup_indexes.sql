@@ -0,0 +1,26 @@
+-- Indexes for the columns the repositories filter on, both tables only had their primary key
+
+-- the old check-then-insert booking could sell a seat twice, such a seat keeps its first ticket
+-- so the unique index below can be built
+DELETE FROM movie_service.tickets t
+USING movie_service.tickets first
+WHERE first.movie_name = t.movie_name
+  AND first.showtime = t.showtime
+  AND first.seat = t.seat
+  AND first.id < t.id;
+
+-- TicketsRespository.findByNameTimeSeat, unique so a seat can only be sold once per showing
+CREATE UNIQUE INDEX IF NOT EXISTS tickets_movie_showtime_seat_uq
+    ON movie_service.tickets (movie_name, showtime, seat);
+
+-- MoviesRepository.findByShowtimeBetween
+CREATE INDEX IF NOT EXISTS movies_showtime_idx
+    ON movie_service.movies (showtime);
+
+-- MoviesRepository.findByGenre and genre + showtime range searches (ordered by showtime)
+CREATE INDEX IF NOT EXISTS movies_genre_showtime_idx
+    ON movie_service.movies (genre, showtime);
+
+-- case-insensitive title lookups, WHERE lower(movie_name) = lower(?)
+CREATE INDEX IF NOT EXISTS movies_lower_movie_name_idx
+    ON movie_service.movies (lower(movie_name));
@@ -0,0 +1,92 @@
+package com.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Compares two JMH JSON results (-rf json, written by the benchmark profile to
+ * target/jmh-result.json) benchmark by benchmark: score and gc.alloc.rate.norm (bytes/op) of the
+ * baseline and the current run. Changes larger than the two error margins together are marked
+ * with *, the others are noise.
+ *
+ *   cp target/jmh-result.json baseline.json        (before the change)
+ *   mvn -Pbenchmark test                           (after the change)
+ *   mvn -Pbenchmark test -Dbenchmark.main=com.benchmark.BenchmarkDiff
+ *       -Dbenchmark.jvmArgs="-Dbaseline=baseline.json [-Dcurrent=target/jmh-result.json]"
+ */
+public class BenchmarkDiff {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        String baselineFile = System.getProperty("baseline");
+        if (baselineFile == null) {
+            throw new IllegalArgumentException("-Dbaseline=<JMH JSON result> is required");
+        }
+        Map<String, JsonNode> baseline = results(baselineFile);
+        Map<String, JsonNode> current = results(System.getProperty("current", "target/jmh-result.json"));
+
+        System.out.printf("%n%-70s %14s %14s %9s %12s %12s%n", "benchmark", "baseline", "current", "change",
+                "B/op before", "B/op after");
+        for (Map.Entry<String, JsonNode> result : current.entrySet()) {
+            JsonNode before = baseline.get(result.getKey());
+            JsonNode after = result.getValue();
+            JsonNode score = after.path("primaryMetric");
+            if (before == null) {
+                System.out.printf("%-70s %14s %14s %9s %12s %12s%n", result.getKey(), "-",
+                        format(score), "new", "-", allocation(after));
+                continue;
+            }
+            JsonNode baseScore = before.path("primaryMetric");
+            double change = (score.path("score").asDouble() - baseScore.path("score").asDouble())
+                    / baseScore.path("score").asDouble() * 100;
+            boolean significant = Math.abs(score.path("score").asDouble() - baseScore.path("score").asDouble())
+                    > error(score) + error(baseScore);
+            System.out.printf("%-70s %14s %14s %+8.1f%%%s %12s %12s%n", result.getKey(), format(baseScore),
+                    format(score), change, significant ? "*" : " ", allocation(before), allocation(after));
+        }
+        for (String removed : baseline.keySet()) {
+            if (!current.containsKey(removed)) {
+                System.out.printf("%-70s %14s %14s %9s%n", removed, format(baseline.get(removed).path("primaryMetric")),
+                        "-", "removed");
+            }
+        }
+    }
+
+    /*
+     * Results of one run keyed by benchmark and parameters, e.g. MovieListBenchmark.search [movies=100]
+     */
+    private static Map<String, JsonNode> results(String file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : JSON.readTree(new File(file))) {
+            String name = result.path("benchmark").asText().replace("com.benchmark.", "");
+            JsonNode params = result.path("params");
+            if (!params.isMissingNode() && params.size() > 0) {
+                StringBuilder key = new StringBuilder(name).append(" [");
+                params.fields().forEachRemaining(param -> key.append(key.charAt(key.length() - 1) == '[' ? "" : ", ")
+                        .append(param.getKey()).append('=').append(param.getValue().asText()));
+                name = key.append(']').toString();
+            }
+            results.put(name, result);
+        }
+        return results;
+    }
+
+    private static String format(JsonNode metric) {
+        return String.format("%.3f %s", metric.path("score").asDouble(), metric.path("scoreUnit").asText());
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    // bytes allocated per operation, only reported with -prof gc
+    private static String allocation(JsonNode result) {
+        JsonNode allocation = result.path("secondaryMetrics").path("gc.alloc.rate.norm");
+        return allocation.isMissingNode() ? "-" : String.format("%.0f", allocation.path("score").asDouble());
+    }
+}
@@ -0,0 +1,152 @@
+package com.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import com.businessLogic.BusinessLogic;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localTopics.GroupTicketRequest;
+import com.localTopics.SeatAvailabilityRequest;
+import com.postgres.MoviesRepository;
+import com.postgres.PostgresService;
+import com.postgres.TicketsRespository;
+import com.postgres.models.MovieTicket;
+import com.postgres.models.Movies;
+import com.seating.SeatInventory;
+import com.ticketing.TicketIdPool;
+import com.ticketing.TicketingManagerClient;
+import com.topics.CreateTicketRequest;
+import com.topics.MovieListRequest;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * BusinessLogic booking topics end to end: showtime check, seat hold in the SeatInventory, ticket
+ * number, commit and toJson of the response. PostgresService and the Ticketing Manager are stubs
+ * answering at once (not Mockito, whose invocation bookkeeping would show up in
+ * gc.alloc.rate.norm), so this is the service's own CPU and allocation per request. The seats
+ * are given back after every booking to keep taking the success path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingBenchmark {
+    private static final Long SHOWING_ID = 1L;
+
+    private BusinessLogic businessLogic;
+    private SeatInventory seatInventory;
+    private TicketIdPool ticketIdPool;
+    private CreateTicketRequest ticketRequest;
+    private GroupTicketRequest groupRequest;
+    private SeatAvailabilityRequest availabilityRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ticketRequest = objectMapper.readValue(Payloads.CREATE_TICKET_REQUEST, CreateTicketRequest.class);
+        groupRequest = objectMapper.readValue(Payloads.GROUP_TICKET_REQUEST, GroupTicketRequest.class);
+        availabilityRequest = objectMapper.readValue(Payloads.SEAT_AVAILABILITY_REQUEST,
+                SeatAvailabilityRequest.class);
+
+        Movies showing = new Movies("Inception", OffsetDateTime.parse("2025-11-10T19:30:00-06:00")
+                .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(), MovieListRequest.Genre.SCIFI);
+        showing.setId(SHOWING_ID);
+        List<Movies> showings = List.of(showing);
+        PostgresService postgresService = new PostgresService() {
+            @Override
+            public List<Movies> findByMovieName(String movieName) {
+                return showings;
+            }
+
+            @Override
+            public boolean reserveTicket(MovieTicket ticket) {
+                return true;
+            }
+
+            @Override
+            public boolean confirmTicket(MovieTicket ticket, String ticketId) {
+                return true;
+            }
+
+            @Override
+            public boolean bookTickets(List<MovieTicket> tickets) {
+                return true;
+            }
+        };
+        TicketingManagerClient ticketingManagerClient = new TicketingManagerClient((RestClient) null) {
+            @Override
+            public String requestTicketId() {
+                return "8060002";
+            }
+        };
+
+        // A1..E10
+        StringBuilder seats = new StringBuilder("{");
+        for (char row = 'A'; row <= 'E'; row++) {
+            for (int number = 1; number <= 10; number++) {
+                seats.append(seats.length() > 1 ? ", " : "").append('"').append(row).append(number)
+                        .append("\": \"AVAILABLE\"");
+            }
+        }
+        MoviesRepository.ShowtimeSeats seatMap = mock(MoviesRepository.ShowtimeSeats.class);
+        when(seatMap.getId()).thenReturn(SHOWING_ID);
+        when(seatMap.getSeats()).thenReturn(seats.append('}').toString());
+        MoviesRepository moviesRepository = mock(MoviesRepository.class);
+        when(moviesRepository.findAllSeats()).thenReturn(List.of(seatMap));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        seatInventory = new SeatInventory(moviesRepository, mock(TicketsRespository.class), meterRegistry, true);
+        seatInventory.reload();
+        // the pool is off, every number comes straight from the (stub) Ticketing Manager
+        ticketIdPool = new TicketIdPool(ticketingManagerClient, meterRegistry, false, 64, 16, 32, false);
+        businessLogic = new BusinessLogic(ticketIdPool, postgresService, null, seatInventory, meterRegistry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ticketIdPool.shutdown();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> createTicketRequest() {
+        ResponseEntity<Object> response = businessLogic.processTicketRequest(ticketRequest);
+        seatInventory.release(SHOWING_ID, ticketRequest.getSeatNumber());
+        return response;
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> groupTicketRequest() {
+        ResponseEntity<Object> response = businessLogic.processGroupTicketRequest(groupRequest);
+        for (String seat : groupRequest.getSeatNumbers()) {
+            seatInventory.release(SHOWING_ID, seat);
+        }
+        return response;
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> seatAvailabilityRequest() {
+        return businessLogic.processSeatAvailabilityRequest(availabilityRequest);
+    }
+}
@@ -0,0 +1,131 @@
+package com.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import javax.sql.DataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.SpringBootConsoleApplication;
+import com.postgres.EmbeddedPostgresSupport;
+import com.postgres.PostgresService;
+import com.postgres.models.MovieTicket;
+import com.postgres.models.Movies;
+import com.topics.MovieListRequest.Genre;
+
+/*
+ * Rows per second of bulk inserts through JPA (PostgresService.saveAll/saveTickets), unbatched and
+ * batched. unbatched runs with hibernate.jdbc.batch_size=0 and without reWriteBatchedInserts, one
+ * round-trip per row as with the IDENTITY ids before V11. batched runs with the application
+ * settings (batches of 50, multi-row INSERTs). Rows are saved in transactions of ingest.chunk rows
+ * and deleted again at the end.
+ *
+ *   mvn -Pbenchmark test -Dbenchmark.main=com.benchmark.IngestReport
+ *       [-Dbenchmark.jvmArgs="-Dingest.rows=50000 -Dingest.chunk=1000 -Dpostgres.url=jdbc:postgresql://localhost:5432/bryzndb"]
+ */
+public class IngestReport {
+    // VARCHAR(5) seats / VARCHAR(7) ticket ids, "~" keeps the rows apart from real ones
+    private static final String MOVIE = "~Ingest";
+    private static final LocalDateTime START = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    public static void main(String[] args) throws Exception {
+        // devtools would relaunch the app in a restart classloader without the properties below
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int rows = Integer.getInteger("ingest.rows", 50_000);
+        int chunk = Integer.getInteger("ingest.chunk", 1000);
+        DataSource dataSource = EmbeddedPostgresSupport.dataSource();
+
+        StringBuilder report = new StringBuilder(String.format("%n%-10s %-8s %9s %9s %11s%n",
+                "mode", "table", "rows", "seconds", "rows/s"));
+        for (String mode : new String[] {"unbatched", "batched"}) {
+            try (ConfigurableApplicationContext app = start(mode)) {
+                PostgresService postgresService = app.getBean(PostgresService.class);
+                // warm up the JIT, the connection pool and the id blocks
+                ingest(postgresService, Math.min(rows, 5 * chunk), chunk);
+                delete(dataSource);
+
+                double[] seconds = ingest(postgresService, rows, chunk);
+                report.append(String.format("%-10s %-8s %9d %9.2f %11.0f%n", mode, "movies", rows,
+                        seconds[0], rows / seconds[0]));
+                report.append(String.format("%-10s %-8s %9d %9.2f %11.0f%n", mode, "tickets", rows,
+                        seconds[1], rows / seconds[1]));
+                delete(dataSource);
+            }
+        }
+        System.out.println(report);
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        Map<String, Object> properties = new LinkedHashMap<>(EmbeddedPostgresSupport.springProperties());
+        properties.put("server.port", 0);
+        if ("unbatched".equals(mode)) {
+            properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", 0);
+            properties.put("spring.jpa.properties.hibernate.order_inserts", false);
+            properties.put("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", false);
+        }
+        properties.put("ticketing.pool.enabled", false);
+        properties.put("seat.inventory.enabled", false);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.docker.compose.enabled", false);
+        // as command line arguments, they take precedence over application-dev.properties
+        return new SpringApplicationBuilder(SpringBootConsoleApplication.class)
+                .profiles("dev")
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    /*
+     * Seconds spent saving the movies and the tickets
+     */
+    private static double[] ingest(PostgresService postgresService, int rows, int chunk) {
+        long start = System.nanoTime();
+        save(rows, chunk, IngestReport::movie, postgresService::saveAll);
+        long movies = System.nanoTime();
+        save(rows, chunk, IngestReport::ticket, postgresService::saveTickets);
+        long tickets = System.nanoTime();
+        return new double[] {(movies - start) / 1e9, (tickets - movies) / 1e9};
+    }
+
+    private static <T> void save(int rows, int chunk, IntFunction<T> row,
+            Consumer<List<T>> saveAll) {
+        for (int first = 0; first < rows; first += chunk) {
+            List<T> batch = new ArrayList<>(chunk);
+            for (int i = first; i < Math.min(rows, first + chunk); i++) {
+                batch.add(row.apply(i));
+            }
+            saveAll.accept(batch);
+        }
+    }
+
+    private static Movies movie(int i) {
+        Movies movie = new Movies(MOVIE + " " + (i % 100), START.plusMinutes(i), Genre.ACTION);
+        movie.setPrice(new BigDecimal("12.50"));
+        return movie;
+    }
+
+    // 50 seats (A1..E10) per showing
+    private static MovieTicket ticket(int i) {
+        MovieTicket ticket = new MovieTicket(MOVIE, START.plusMinutes(i / 50), Genre.ACTION);
+        ticket.setSeat(String.valueOf((char) ('A' + (i % 50) / 10)) + (1 + i % 10));
+        ticket.setTicketId(String.format("%07d", i));
+        return ticket;
+    }
+
+    private static void delete(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM movie_service.tickets WHERE movie_name = '" + MOVIE + "'");
+            statement.executeUpdate("DELETE FROM movie_service.movies WHERE movie_name LIKE '" + MOVIE + " %'");
+        }
+    }
+}
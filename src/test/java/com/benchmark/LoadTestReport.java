@@ -0,0 +1,428 @@
+package com.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.SpringBootConsoleApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.postgres.EmbeddedPostgresSupport;
+import com.ticketing.TicketingManagerStub;
+
+/*
+ * Load test of /api/v1/processTopic for capacity planning. Starts the service against Postgres
+ * (embedded, or -Dpostgres.url) and a stub Ticketing Manager, seeds load.showings showings with
+ * A1..J20 seat maps and then offers each rate of load.rates for load.duration seconds.
+ *
+ * The load is open loop: requests go out on a fixed schedule whether or not earlier ones have
+ * been answered, and latency is measured from the scheduled send time. A saturated service shows
+ * up as growing latency and a throughput below the offered rate instead of a client that quietly
+ * slows down.
+ *
+ * Workload, reproducible through load.seed:
+ *      CreateTicketRequest  load.ticket-share of the requests. Showings are picked by popularity
+ *                           (Zipf), seats around the middle of the middle rows, so popular
+ *                           showings fill up and answer 409 like they would in production.
+ *      MovieListRequest     the rest: one day of showtimes (50%), a genre (30%) or a title (20%).
+ *
+ *   mvn -Pbenchmark test -Dbenchmark.main=com.benchmark.LoadTestReport
+ *       [-Dbenchmark.jvmArgs="-Dload.rates=100,200,400,800 -Dload.duration=30 -Dload.ticket-share=0.3
+ *       -Dload.tm.latency=20 -Dload.tm.jitter=20 -Dload.tm.error-rate=0.01"]
+ *
+ * Results are printed and written to load.report (target/load-report.json). 409 answers are
+ * conflicts, errors are 5xx answers and requests that failed or timed out (load.timeout seconds,
+ * counted with the time they waited). At most load.max-in-flight requests are outstanding, the
+ * ones due beyond that are not sent and counted as dropped, so an overloaded service is not
+ * buried under a backlog it cannot work off before the next step.
+ */
+public class LoadTestReport {
+    // VARCHAR(50) movie_name, seeded showings are removed by this prefix
+    private static final String TITLE_PREFIX = "Load Movie ";
+    private static final int TITLES = 40;
+    private static final String[] GENRES = {"ACTION", "COMEDY", "DRAMA", "HORROR", "SCIFI", "ROMANCE", "THRILLER"};
+    private static final LocalTime[] SLOTS = {LocalTime.of(12, 0), LocalTime.of(14, 30), LocalTime.of(17, 0),
+        LocalTime.of(19, 30), LocalTime.of(22, 0)};
+    private static final int ROWS = 10;
+    private static final int SEATS_PER_ROW = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 5);
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(-6);
+    private static final DateTimeFormatter SHOWTIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+    public static void main(String[] args) throws Exception {
+        // devtools would relaunch the app in a restart classloader without the properties below
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int[] rates = Arrays.stream(System.getProperty("load.rates", "100,200,400,800").split(","))
+                .mapToInt(rate -> Integer.parseInt(rate.trim())).toArray();
+        int duration = Integer.getInteger("load.duration", 30);
+        int warmup = Integer.getInteger("load.warmup", 10);
+        int days = Integer.getInteger("load.days", 14);
+        int showings = Math.min(Integer.getInteger("load.showings", 500), TITLES * days * SLOTS.length);
+        double ticketShare = Double.parseDouble(System.getProperty("load.ticket-share", "0.3"));
+        long seed = Long.getLong("load.seed", 42);
+        Duration timeout = Duration.ofSeconds(Integer.getInteger("load.timeout", 30));
+        int maxInFlight = Integer.getInteger("load.max-in-flight", 1000);
+        DataSource dataSource = EmbeddedPostgresSupport.dataSource();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        try (TicketingManagerStub ticketingManager = new TicketingManagerStub()) {
+            ticketingManager.setLatencyMillis(Long.getLong("load.tm.latency", 20));
+            ticketingManager.setJitterMillis(Long.getLong("load.tm.jitter", 20));
+            ticketingManager.setErrorRate(Double.parseDouble(System.getProperty("load.tm.error-rate", "0")));
+            try (ConfigurableApplicationContext app = start(ticketingManager)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                deleteSeeded(dataSource);
+                List<Showing> seeded = seed(dataSource, showings, days);
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+                // the catalog has to see the seeded showings
+                http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/catalog/invalidate"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.discarding());
+
+                URI uri = URI.create("http://localhost:" + port + "/api/v1/processTopic");
+                Workload workload = new Workload(seeded, days, ticketShare, seed);
+                // warm up the JIT, the connection pools and the caches, not reported
+                offer(http, uri, workload, rates[0], warmup, timeout, maxInFlight);
+                System.out.printf("%n%9s %-20s %8s %9s %9s %9s %9s %9s %9s %9s %7s %7s%n", "offered/s", "topic",
+                        "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "conflicts",
+                        "errors", "dropped");
+                for (int rate : rates) {
+                    Map<String, Recorder> step = offer(http, uri, workload, rate, duration, timeout, maxInFlight);
+                    for (Map.Entry<String, Recorder> topic : step.entrySet()) {
+                        Map<String, Object> result = topic.getValue().summary(rate, topic.getKey());
+                        results.add(result);
+                        System.out.printf("%9d %-20s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %9d %7d %7d%n", rate,
+                                topic.getKey(), result.get("requests"), result.get("throughput"), result.get("p50"),
+                                result.get("p90"), result.get("p99"), result.get("p99.9"), result.get("max"),
+                                result.get("conflicts"), result.get("errors"), result.get("dropped"));
+                    }
+                }
+                System.out.printf("%nTicketing Manager calls: %d%n", ticketingManager.getRequestCount());
+                // before the shutdown, which waits for whatever an overloaded service still works off
+                File report = new File(System.getProperty("load.report", "target/load-report.json"));
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report, results);
+                System.out.println("Load test report written to " + report.getAbsolutePath());
+            } finally {
+                deleteSeeded(dataSource);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(TicketingManagerStub ticketingManager) {
+        Map<String, Object> properties = new LinkedHashMap<>(EmbeddedPostgresSupport.springProperties());
+        properties.put("server.port", 0);
+        properties.put("server.tomcat.max-connections", 20000);
+        properties.put("server.tomcat.accept-count", 10000);
+        properties.put("ticketing.manager", ticketingManager.getHost());
+        properties.put("ticketing.manager.port", ticketingManager.getPort());
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.docker.compose.enabled", false);
+        // everything else as configured in application-dev.properties, as command line arguments
+        // they take precedence over it
+        return new SpringApplicationBuilder(SpringBootConsoleApplication.class)
+                .profiles("dev")
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    /*
+     * Sends rate requests per second for the given seconds and waits for the answers, latencies
+     * are recorded per topic and for all of them
+     */
+    private static Map<String, Recorder> offer(HttpClient http, URI uri, Workload workload, int rate, int seconds,
+            Duration timeout, int maxInFlight) throws InterruptedException {
+        Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+        Recorder all = new Recorder();
+        int requests = rate * seconds;
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<Sent> sent = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            Topic topic = workload.next();
+            long scheduled = start + i * interval;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Recorder recorder = recorders.computeIfAbsent(topic.name(), name -> new Recorder());
+            if (!inFlight.tryAcquire()) {
+                recorder.dropped();
+                all.dropped();
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(topic.body()))
+                    .build();
+            CompletableFuture<HttpResponse<Void>> response = http.sendAsync(request,
+                    HttpResponse.BodyHandlers.discarding());
+            sent.add(new Sent(response, scheduled, recorder));
+            response.whenComplete((answer, failure) -> {
+                inFlight.release();
+                // requests given up on below are recorded there
+                if (!(failure instanceof CancellationException)) {
+                    long latency = System.nanoTime() - scheduled;
+                    int status = failure == null ? answer.statusCode() : -1;
+                    recorder.record(latency, status);
+                    all.record(latency, status);
+                }
+            });
+        }
+        long deadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        for (Sent request : sent) {
+            try {
+                request.response().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (request.response().cancel(true)) {
+                    long latency = System.nanoTime() - request.scheduled();
+                    request.recorder().record(latency, -1);
+                    all.record(latency, -1);
+                }
+            } catch (ExecutionException | CancellationException e) {
+                // recorded as an error when it completed
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Map<String, Recorder> step = new LinkedHashMap<>();
+        recorders.keySet().stream().sorted().forEach(name -> step.put(name, recorders.get(name).finish(elapsed)));
+        step.put("all", all.finish(elapsed));
+        return step;
+    }
+
+    private static List<Showing> seed(DataSource dataSource, int showings, int days) throws SQLException {
+        StringBuilder seats = new StringBuilder("{");
+        for (int row = 0; row < ROWS; row++) {
+            for (int number = 1; number <= SEATS_PER_ROW; number++) {
+                seats.append(seats.length() > 1 ? ", " : "").append('"').append((char) ('A' + row)).append(number)
+                        .append("\": \"AVAILABLE\"");
+            }
+        }
+        String seatMap = seats.append('}').toString();
+        List<Showing> seeded = new ArrayList<>(showings);
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement insert = connection.prepareStatement("INSERT INTO movie_service.movies"
+                        + " (movie_name, showtime, genre, price, seats) VALUES (?, ?, ?, 12.50, ?::jsonb)")) {
+            for (int i = 0; i < showings; i++) {
+                // every title runs on every day, in a later slot once the days are used up
+                int title = i % TITLES;
+                OffsetDateTime showtime = OffsetDateTime.of(FIRST_DAY.plusDays((i / TITLES) % days),
+                        SLOTS[(i / (TITLES * days)) % SLOTS.length], OFFSET);
+                Showing showing = new Showing(TITLE_PREFIX + title, showtime, GENRES[title % GENRES.length]);
+                insert.setString(1, showing.title());
+                insert.setObject(2, showing.showtime());
+                insert.setString(3, showing.genre());
+                insert.setString(4, seatMap);
+                insert.addBatch();
+                seeded.add(showing);
+            }
+            insert.executeBatch();
+        }
+        return seeded;
+    }
+
+    private static void deleteSeeded(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM movie_service.tickets WHERE movie_name LIKE '" + TITLE_PREFIX + "%'");
+            statement.execute("DELETE FROM movie_service.movies WHERE movie_name LIKE '" + TITLE_PREFIX + "%'");
+        }
+    }
+
+    private record Showing(String title, OffsetDateTime showtime, String genre) {
+    }
+
+    private record Topic(String name, String body) {
+    }
+
+    private record Sent(CompletableFuture<HttpResponse<Void>> response, long scheduled, Recorder recorder) {
+    }
+
+    /*
+     * Seeded sequence of topics. Showings and titles are ranked in a random order and picked
+     * with Zipf weights (rank k with weight 1/k), seats with a preference for the middle.
+     */
+    private static final class Workload {
+        private final List<Showing> showings;
+        private final int days;
+        private final double ticketShare;
+        private final Random random;
+        private final double[] showingWeights;
+        private final int[] showingRanks;
+        private final double[] titleWeights;
+        private final int[] titleRanks;
+        private long correlatorId = 1;
+
+        private Workload(List<Showing> showings, int days, double ticketShare, long seed) {
+            this.showings = showings;
+            this.days = days;
+            this.ticketShare = ticketShare;
+            this.random = new Random(seed);
+            this.showingWeights = zipf(showings.size());
+            this.showingRanks = shuffled(showings.size());
+            this.titleWeights = zipf(TITLES);
+            this.titleRanks = shuffled(TITLES);
+        }
+
+        private synchronized Topic next() {
+            if (random.nextDouble() < ticketShare) {
+                Showing showing = showings.get(showingRanks[pick(showingWeights)]);
+                return new Topic("CreateTicketRequest", """
+                    {"topicName": "CreateTicketRequest", "correlatorId": %d, "movie": {"movieName": "%s", \
+                    "showtime": "%s", "genre": "%s"}, "seatNumber": "%s"}"""
+                        .formatted(correlatorId++, showing.title(), SHOWTIME.format(showing.showtime()),
+                                showing.genre(), seat()));
+            }
+            double search = random.nextDouble();
+            String criteria;
+            if (search < 0.5) {
+                OffsetDateTime day = OffsetDateTime.of(FIRST_DAY.plusDays(random.nextInt(days)), LocalTime.MIN, OFFSET);
+                criteria = "\"startingShowtime\": \"%s\", \"endingShowtime\": \"%s\"".formatted(
+                        SHOWTIME.format(day), SHOWTIME.format(day.plusDays(1).minusSeconds(1)));
+            } else if (search < 0.8) {
+                criteria = "\"genre\": \"%s\"".formatted(GENRES[random.nextInt(GENRES.length)]);
+            } else {
+                criteria = "\"movieName\": \"%s\"".formatted(TITLE_PREFIX + titleRanks[pick(titleWeights)]);
+            }
+            return new Topic("MovieListRequest", "{\"topicName\": \"MovieListRequest\", \"correlatorId\": %d, %s}"
+                    .formatted(correlatorId++, criteria));
+        }
+
+        // rows and seat numbers both favour the middle (sum of two uniform picks)
+        private String seat() {
+            int row = (random.nextInt(ROWS) + random.nextInt(ROWS) + 1) / 2;
+            int number = (random.nextInt(SEATS_PER_ROW) + random.nextInt(SEATS_PER_ROW) + 1) / 2 + 1;
+            return String.valueOf((char) ('A' + Math.min(row, ROWS - 1))) + Math.min(number, SEATS_PER_ROW);
+        }
+
+        private int pick(double[] cumulativeWeights) {
+            int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cumulativeWeights.length - 1);
+        }
+
+        // cumulative, normalized to 1
+        private static double[] zipf(int n) {
+            double[] weights = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / (k + 1);
+                weights[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                weights[k] /= sum;
+            }
+            return weights;
+        }
+
+        private int[] shuffled(int n) {
+            int[] ranks = new int[n];
+            for (int i = 0; i < n; i++) {
+                ranks[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = ranks[i];
+                ranks[i] = ranks[j];
+                ranks[j] = swap;
+            }
+            return ranks;
+        }
+    }
+
+    /*
+     * Latencies and outcomes of one topic during one step
+     */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int conflicts;
+        private int errors;
+        private int dropped;
+        private long elapsed;
+
+        private synchronized void record(long latency, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (status == 409) {
+                conflicts++;
+            } else if (status < 0 || status >= 500) {
+                errors++;
+            }
+        }
+
+        private synchronized void dropped() {
+            dropped++;
+        }
+
+        private synchronized Recorder finish(long elapsed) {
+            this.elapsed = elapsed;
+            Arrays.sort(latencies, 0, count);
+            return this;
+        }
+
+        private synchronized Map<String, Object> summary(int offered, String topic) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("offered", offered);
+            summary.put("topic", topic);
+            summary.put("requests", count);
+            summary.put("throughput", count / (elapsed / 1e9));
+            summary.put("p50", percentile(50));
+            summary.put("p90", percentile(90));
+            summary.put("p99", percentile(99));
+            summary.put("p99.9", percentile(99.9));
+            summary.put("max", count == 0 ? 0.0 : latencies[count - 1] / 1e6);
+            summary.put("conflicts", conflicts);
+            summary.put("errors", errors);
+            summary.put("dropped", dropped);
+            return summary;
+        }
+
+        // milliseconds
+        private double percentile(double p) {
+            if (count == 0) {
+                return 0;
+            }
+            int index = Math.min(count - 1, (int) Math.ceil(p / 100.0 * count) - 1);
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
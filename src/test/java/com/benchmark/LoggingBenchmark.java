@@ -0,0 +1,105 @@
+package com.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/*
+ * Log output of a booking (four INFO events) from 8 request threads at once. Output goes through a
+ * pipe to a cat process discarding it, like a container's stdout read by the log collector. sync is the former setup: a ConsoleAppender-style appender
+ * writing on the request thread under its lock, plus the System.out.println("\n") BusinessLogic
+ * printed per request. async is logback-spring.xml: the AsyncAppender in front of the same
+ * appender, the request thread only enqueues (and drops INFO when the queue is 80% full).
+ *
+ *   mvn -Pbenchmark test -Dbenchmark.include=LoggingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LoggingBenchmark {
+    @Param({"sync", "async"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger log;
+    private Process collector;
+    private PrintStream stdout;
+    private final LocalDateTime showtime = LocalDateTime.of(2025, 11, 10, 19, 30);
+
+    @Setup
+    public void setup() throws IOException {
+        context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss} [%level] [%thread] %logger{0} - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("STDOUT");
+        console.setEncoder(encoder);
+        collector = new ProcessBuilder("cat").redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        console.setOutputStream(collector.getOutputStream());
+        console.start();
+
+        log = context.getLogger("com.businessLogic.BusinessLogic");
+        log.setLevel(Level.INFO);
+        log.setAdditive(false);
+        if ("async".equals(mode)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(console);
+            async.start();
+            log.addAppender(async);
+        } else {
+            log.addAppender(console);
+            stdout = new PrintStream(collector.getOutputStream(), true);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        collector.destroy();
+    }
+
+    @Benchmark
+    public void booking() {
+        if (stdout != null) {
+            stdout.println("\n");
+        }
+        log.info("Received a MovieTicketRequest. ");
+        log.info("The movie [{}] found at the requested showtime {}", "Inception", showtime);
+        log.info("Attempting to generate a new ticket number from the Ticketing Manager...");
+        log.info("Successfully saved the Movie Ticket to the Postgres DB with Ticket ID: {}", "8060002");
+    }
+}
@@ -0,0 +1,95 @@
+package com.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import com.businessLogic.BusinessLogic;
+import com.catalog.MovieCatalog;
+import com.catalog.MovieListCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postgres.MoviePage;
+import com.postgres.MovieQuery;
+import com.postgres.MoviesRepository;
+import com.postgres.PostgresService;
+import com.postgres.models.Movies;
+import com.topics.MovieListRequest;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * BusinessLogic.processListRequest end to end against a stubbed PostgresService returning
+ * movies rows. search runs the whole path every time: search, moviesToMovieList conversion,
+ * encoding of the movies array and toJson of the response. cached is answered from the
+ * MovieListCache, only the response envelope goes through toJson, the difference between the two
+ * is the conversion and encoding of the movies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieListBenchmark {
+    @Param({"10", "100", "1000"})
+    private int movies;
+
+    private BusinessLogic uncached;
+    private BusinessLogic cached;
+    private MovieListRequest listRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        List<Movies> rows = new ArrayList<>();
+        MovieListRequest.Genre[] genres = MovieListRequest.Genre.values();
+        for (int i = 0; i < movies; i++) {
+            Movies movie = new Movies("Movie " + i, LocalDateTime.of(2025, 11, 10, 12, 0).plusMinutes(5L * i),
+                    genres[i % genres.length]);
+            movie.setId((long) i + 1);
+            rows.add(movie);
+        }
+        PostgresService postgresService = new PostgresService() {
+            @Override
+            public MoviePage findMovies(MovieQuery query) {
+                return MoviePage.of(query, rows);
+            }
+        };
+        MoviesRepository moviesRepository = mock(MoviesRepository.class);
+        when(moviesRepository.findAll()).thenReturn(rows);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MovieCatalog movieCatalog = new MovieCatalog(moviesRepository, meterRegistry);
+
+        uncached = new BusinessLogic(null, postgresService,
+                new MovieListCache(movieCatalog, new SimpleMeterRegistry(), true, false, 0), null, meterRegistry);
+        cached = new BusinessLogic(null, postgresService,
+                new MovieListCache(movieCatalog, new SimpleMeterRegistry(), true, true, 16), null, meterRegistry);
+        listRequest = new ObjectMapper().readValue(Payloads.MOVIE_LIST_REQUEST, MovieListRequest.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> search() {
+        return uncached.processListRequest(listRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> cached() {
+        return cached.processListRequest(listRequest);
+    }
+}
@@ -0,0 +1,70 @@
+package com.benchmark;
+
+/*
+ * Sample topics shared by the benchmarks, same shapes as the README examples
+ */
+final class Payloads {
+    static final String MOVIE_LIST_REQUEST = """
+        {
+            "topicName": "MovieListRequest",
+            "correlatorId": 5556,
+            "startingShowtime": "2025-11-10T00:00:00-06:00",
+            "endingShowtime": "2025-11-12T23:59:59-06:00"
+        }
+        """;
+
+    static final String CREATE_TICKET_REQUEST = """
+        {
+            "topicName": "CreateTicketRequest",
+            "correlatorId": 5557,
+            "movie": {
+                "movieName": "Inception",
+                "showtime": "2025-11-10T19:30:00-06:00",
+                "genre": "SCIFI"
+            },
+            "seatNumber": "C5"
+        }
+        """;
+
+    static final String SEAT_AVAILABILITY_REQUEST = """
+        {
+            "topicName": "SeatAvailabilityRequest",
+            "correlatorId": 5560,
+            "movie": {
+                "movieName": "Inception",
+                "showtime": "2025-11-10T19:30:00-06:00"
+            }
+        }
+        """;
+
+    static final String GROUP_TICKET_REQUEST = """
+        {
+            "topicName": "GroupTicketRequest",
+            "correlatorId": 5570,
+            "movie": {
+                "movieName": "Inception",
+                "showtime": "2025-11-10T19:30:00-06:00",
+                "genre": "SCIFI"
+            },
+            "seatNumbers": ["C5", "C6", "C7", "C8"]
+        }
+        """;
+
+    private Payloads() {
+    }
+
+    static String forTopic(String topicName) {
+        switch (topicName) {
+            case "MovieListRequest":
+                return MOVIE_LIST_REQUEST;
+            case "CreateTicketRequest":
+                return CREATE_TICKET_REQUEST;
+            case "SeatAvailabilityRequest":
+                return SEAT_AVAILABILITY_REQUEST;
+            case "GroupTicketRequest":
+                return GROUP_TICKET_REQUEST;
+            default:
+                throw new IllegalArgumentException("No sample payload for topic: " + topicName);
+        }
+    }
+}
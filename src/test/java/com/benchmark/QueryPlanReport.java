@@ -0,0 +1,130 @@
+package com.benchmark;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import com.postgres.EmbeddedPostgresSupport;
+
+/*
+ * Prints the Postgres plans of the repository lookups without and with the V9/V10/V12 lookup indexes.
+ * Seeds synthetic movies/tickets, runs EXPLAIN ANALYZE, drops the indexes inside a savepoint to
+ * get the "before" plans, everything is rolled back at the end.
+ *
+ *   mvn -Pbenchmark test -Dbenchmark.main=com.benchmark.QueryPlanReport
+ *       [-Dbenchmark.jvmArgs="-Dbenchmark.rows=100000 -Dpostgres.url=jdbc:postgresql://localhost:5432/bryzndb"]
+ */
+public class QueryPlanReport {
+    private static final String[] LOOKUP_INDEXES = {
+        "movie_service.tickets_lower_movie_showtime_seat_uq",
+        "movie_service.movies_showtime_id_idx",
+        "movie_service.movies_genre_showtime_id_idx",
+        "movie_service.movies_lower_movie_name_idx"
+    };
+
+    // same shapes as the SQL Hibernate generates for the repository methods
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+    static {
+        QUERIES.put("movies.findByShowtimeBetween", "SELECT * FROM movie_service.movies"
+                + " WHERE showtime BETWEEN '2025-03-01T00:00:00Z' AND '2025-03-02T00:00:00Z'"
+                + " ORDER BY showtime, id");
+        QUERIES.put("movies.findByGenre (first page)", "SELECT * FROM movie_service.movies"
+                + " WHERE genre = 'ACTION' ORDER BY showtime, id LIMIT 501");
+        QUERIES.put("movies.findByGenre (deep page)", "SELECT * FROM movie_service.movies"
+                + " WHERE genre = 'ACTION' AND showtime >= '2025-06-01T00:00:00Z'"
+                + " AND (showtime > '2025-06-01T00:00:00Z' OR id > 31000)"
+                + " ORDER BY showtime, id LIMIT 501");
+        QUERIES.put("movies.genre + showtime range", "SELECT * FROM movie_service.movies"
+                + " WHERE genre = 'DRAMA'"
+                + " AND showtime BETWEEN '2025-03-01T00:00:00Z' AND '2025-03-08T00:00:00Z'"
+                + " ORDER BY showtime, id");
+        QUERIES.put("movies.findByMovieNameIgnoreCase", "SELECT * FROM movie_service.movies"
+                + " WHERE lower(movie_name) = lower('MOVIE 42')");
+        QUERIES.put("tickets.findByNameTimeSeat", "SELECT * FROM movie_service.tickets"
+                + " WHERE lower(movie_name) = lower('Movie 42') AND showtime = '2025-01-01T04:54:00Z' AND seat = 'A3'");
+    }
+
+    public static void main(String[] args) throws SQLException {
+        int rows = Integer.getInteger("benchmark.rows", 100_000);
+        DataSource dataSource = EmbeddedPostgresSupport.dataSource();
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            seed(statement, rows);
+
+            statement.execute("SAVEPOINT without_indexes");
+            for (String index : LOOKUP_INDEXES) {
+                statement.execute("DROP INDEX " + index);
+            }
+            Map<String, List<String>> before = explainAll(statement);
+            statement.execute("ROLLBACK TO SAVEPOINT without_indexes");
+            Map<String, List<String>> after = explainAll(statement);
+            connection.rollback();
+
+            System.out.printf("%n%d movies / %d tickets%n", rows, rows);
+            System.out.printf("%-36s %-28s %-28s%n", "query", "without indexes", "with indexes");
+            for (String query : QUERIES.keySet()) {
+                System.out.printf("%-36s %-28s %-28s%n", query, summary(before.get(query)),
+                        summary(after.get(query)));
+            }
+            for (String query : QUERIES.keySet()) {
+                System.out.println("\n== " + query + " ==\n-- without indexes");
+                before.get(query).forEach(System.out::println);
+                System.out.println("-- with indexes");
+                after.get(query).forEach(System.out::println);
+            }
+        }
+    }
+
+    private static void seed(Statement statement, int rows) throws SQLException {
+        statement.execute("INSERT INTO movie_service.movies (movie_name, showtime, genre, seats, price)"
+                + " SELECT 'Movie ' || (g % 2000), timestamptz '2025-01-01T00:00:00Z' + g * interval '7 minutes',"
+                + " (ARRAY['ACTION','COMEDY','DRAMA','HORROR','SCIFI','ROMANCE','THRILLER'])[1 + g % 7],"
+                + " '{}'::jsonb, 12.50 FROM generate_series(1, " + rows + ") g");
+        // 50 seats (A1..E10) per showing
+        statement.execute("INSERT INTO movie_service.tickets (movie_name, showtime, genre, seat, ticket_id)"
+                + " SELECT 'Movie ' || ((g / 50) % 2000), timestamptz '2025-01-01T00:00:00Z' + (g / 50) * interval '7 minutes',"
+                + " 'ACTION', chr(65 + (g % 50) / 10) || (1 + g % 10), lpad(g::text, 7, '0')"
+                + " FROM generate_series(1, " + rows + ") g");
+        statement.execute("ANALYZE movie_service.movies");
+        statement.execute("ANALYZE movie_service.tickets");
+    }
+
+    private static Map<String, List<String>> explainAll(Statement statement) throws SQLException {
+        Map<String, List<String>> plans = new LinkedHashMap<>();
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            List<String> plan = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS) " + query.getValue())) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+            plans.put(query.getKey(), plan);
+        }
+        return plans;
+    }
+
+    /*
+     * Scan type of the plan + execution time, e.g. "Index Scan 0.041 ms"
+     */
+    private static String summary(List<String> plan) {
+        String scan = "?";
+        String time = "";
+        for (String line : plan) {
+            for (String type : new String[] {"Index Only Scan", "Bitmap Index Scan", "Index Scan", "Seq Scan"}) {
+                if (scan.equals("?") && line.contains(type)) {
+                    scan = type;
+                }
+            }
+            if (line.startsWith("Execution Time:")) {
+                time = line.substring("Execution Time:".length()).trim();
+            }
+        }
+        return scan + " " + time;
+    }
+}
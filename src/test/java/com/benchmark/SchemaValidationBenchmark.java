@@ -0,0 +1,68 @@
+package com.benchmark;
+
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import com.SchemaService;
+import com.schema.SchemaRegistry;
+import com.schema.SchemaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Cold (parse + compile the schema on every call, the old per-request path) vs warm (compiled
+ * schema served from the SchemaRegistry) validation of the same topic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+    private static final Set<String> LOCAL_TOPICS = Set.of("SeatAvailabilityRequest", "GroupTicketRequest");
+
+    @Param({"MovieListRequest", "CreateTicketRequest", "SeatAvailabilityRequest", "GroupTicketRequest"})
+    private String topicName;
+
+    private SchemaValidator schemaValidator;
+    private JSONObject json;
+    private String schemaPath;
+
+    @Setup
+    public void setup() {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SchemaRegistry schemaRegistry = new SchemaRegistry(resourceLoader, meterRegistry);
+        schemaValidator = new SchemaValidator(resourceLoader, schemaRegistry, meterRegistry);
+        json = new JSONObject(Payloads.forTopic(topicName));
+        // topics of this service only have their schema under json-schema/local/ (see SchemaRegistry)
+        schemaPath = LOCAL_TOPICS.contains(topicName)
+                ? "json-schema/local/" + topicName + ".json" : SchemaService.getPathFor(topicName);
+        schemaRegistry.getSchema(topicName);
+    }
+
+    @Benchmark
+    public boolean cold() throws Exception {
+        try (InputStream schemaStream = schemaValidator.getSchemaStream(schemaPath)) {
+            return schemaValidator.validateJson(schemaStream, json);
+        }
+    }
+
+    @Benchmark
+    public boolean warm() {
+        return schemaValidator.validateJson(topicName, json);
+    }
+}
@@ -0,0 +1,83 @@
+package com.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.postgres.MoviesRepository;
+import com.postgres.TicketsRespository;
+import com.seating.SeatInventory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Seat checks against the SeatInventory (1000 showings of A1..E10). taken is the check that
+ * rejects a sold seat, holdRelease takes and gives back a free seat. gc.alloc.rate.norm should be
+ * ~0 bytes/op for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatInventoryBenchmark {
+    private static final int SHOWINGS = 1000;
+
+    private SeatInventory seatInventory;
+    private Long showtimeId;
+    private String soldSeat;
+    private String freeSeat;
+
+    @Setup
+    public void setup() {
+        StringBuilder seats = new StringBuilder("{");
+        for (char row = 'A'; row <= 'E'; row++) {
+            for (int number = 1; number <= 10; number++) {
+                seats.append(seats.length() > 1 ? ", " : "").append('"').append(row).append(number)
+                        .append("\": \"AVAILABLE\"");
+            }
+        }
+        String json = seats.append('}').toString();
+        List<MoviesRepository.ShowtimeSeats> rows = new ArrayList<>();
+        for (long id = 1; id <= SHOWINGS; id++) {
+            MoviesRepository.ShowtimeSeats row = mock(MoviesRepository.ShowtimeSeats.class);
+            when(row.getId()).thenReturn(id);
+            when(row.getSeats()).thenReturn(json);
+            rows.add(row);
+        }
+        MoviesRepository moviesRepository = mock(MoviesRepository.class);
+        when(moviesRepository.findAllSeats()).thenReturn(rows);
+        seatInventory = new SeatInventory(moviesRepository, mock(TicketsRespository.class),
+                new SimpleMeterRegistry(), true);
+        seatInventory.reload();
+
+        showtimeId = 500L;
+        // request strings, not the interned labels of the layout
+        soldSeat = new String("C5");
+        freeSeat = new String("D7");
+        seatInventory.hold(showtimeId, soldSeat);
+    }
+
+    @Benchmark
+    public SeatInventory.Hold taken() {
+        return seatInventory.hold(showtimeId, soldSeat);
+    }
+
+    @Benchmark
+    public SeatInventory.Hold holdRelease() {
+        SeatInventory.Hold hold = seatInventory.hold(showtimeId, freeSeat);
+        seatInventory.release(showtimeId, freeSeat);
+        return hold;
+    }
+}
@@ -0,0 +1,151 @@
+package com.benchmark;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.SpringBootConsoleApplication;
+import com.businessLogic.BusinessLogic;
+import com.postgres.EmbeddedPostgresSupport;
+import com.topics.MovieListRequest;
+
+/*
+ * Heap used to answer one MovieListRequest over a wide showtime range, buffered (processListRequest,
+ * with movie.query.max-results raised so it returns everything) against streamed
+ * (streamListRequest to a discarding output). Seeds stream.rows showtimes, one per minute, into
+ * Postgres (embedded, or -Dpostgres.url) and searches ranges holding each of the sizes.
+ *
+ *   mvn -Pbenchmark test -Dbenchmark.main=com.benchmark.StreamingMemoryReport
+ *       [-Dbenchmark.jvmArgs="-Xmx512m -Xmn8m -Dstream.sizes=1000,10000,100000"]
+ *
+ * "peak MB" is the highest heap use sampled during the request above the level before it. It
+ * includes garbage not yet collected, a small young generation (-Xmn8m) keeps it close to the live
+ * data. "alloc MB" is everything the request allocated.
+ */
+public class StreamingMemoryReport {
+    private static final String PREFIX = "~Stream ";
+    private static final LocalDateTime FIRST_SHOWTIME = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    public static void main(String[] args) throws Exception {
+        // devtools would relaunch the app in a restart classloader without the properties below
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int[] sizes = Arrays.stream(System.getProperty("stream.sizes", "1000,10000,100000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim())).toArray();
+        int rows = Arrays.stream(sizes).max().orElse(0);
+        DataSource dataSource = EmbeddedPostgresSupport.dataSource();
+        seed(dataSource, rows);
+
+        StringBuilder report = new StringBuilder(String.format("%n%-9s %8s %10s %10s %10s%n",
+                "mode", "movies", "peak MB", "alloc MB", "ms"));
+        try (ConfigurableApplicationContext app = start(rows)) {
+            BusinessLogic businessLogic = app.getBean(BusinessLogic.class);
+            for (int size : sizes) {
+                MovieListRequest request = request(size);
+                // warm up both paths at this size first
+                businessLogic.processListRequest(request);
+                businessLogic.streamListRequest(request, OutputStream.nullOutputStream());
+
+                Measurement buffered = measure(() -> businessLogic.processListRequest(request));
+                Measurement streamed = measure(() -> businessLogic.streamListRequest(request,
+                        OutputStream.nullOutputStream()));
+                report.append(buffered.format("buffered", size));
+                report.append(streamed.format("streamed", size));
+            }
+        } finally {
+            cleanup(dataSource);
+        }
+        System.out.println(report);
+    }
+
+    private static ConfigurableApplicationContext start(int rows) {
+        Map<String, Object> properties = new LinkedHashMap<>(EmbeddedPostgresSupport.springProperties());
+        properties.put("spring.main.web-application-type", "none");
+        properties.put("movie.catalog.enabled", false);
+        properties.put("movie.query.max-results", rows);
+        properties.put("ticketing.pool.enabled", false);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.docker.compose.enabled", false);
+        // as command line arguments, they take precedence over application-dev.properties
+        return new SpringApplicationBuilder(SpringBootConsoleApplication.class)
+                .profiles("dev")
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static MovieListRequest request(int size) {
+        ZoneId zone = ZoneId.systemDefault();
+        MovieListRequest request = new MovieListRequest();
+        request.setTopicName("MovieListRequest");
+        request.setCorrelatorId(size);
+        request.setStartingShowtime(Date.from(FIRST_SHOWTIME.atZone(zone).toInstant()));
+        request.setEndingShowtime(Date.from(FIRST_SHOWTIME.plusMinutes(size - 1).atZone(zone).toInstant()));
+        return request;
+    }
+
+    private static Measurement measure(Request request) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                Thread.onSpinWait();
+            }
+        });
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        request.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        sampler.interrupt();
+        sampler.join();
+        return new Measurement(peak.get() - baseline, allocated, elapsed);
+    }
+
+    private static void seed(DataSource dataSource, int rows) throws SQLException {
+        cleanup(dataSource);
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO movie_service.movies (movie_name, showtime, genre, seats, price)"
+                    + " SELECT '" + PREFIX + "' || g, timestamp '" + FIRST_SHOWTIME + "' + g * interval '1 minute',"
+                    + " 'DRAMA', '{}'::jsonb, 10.00 FROM generate_series(0, " + (rows - 1) + ") g");
+            statement.execute("ANALYZE movie_service.movies");
+        }
+    }
+
+    private static void cleanup(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM movie_service.movies WHERE movie_name LIKE '" + PREFIX + "%'");
+        }
+    }
+
+    private interface Request {
+        void run() throws Exception;
+    }
+
+    private record Measurement(long peakBytes, long allocatedBytes, long nanos) {
+        private String format(String mode, int movies) {
+            return String.format("%-9s %8d %10.1f %10.1f %10.0f%n", mode, movies, peakBytes / 1e6,
+                    allocatedBytes / 1e6, nanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.SpringBootConsoleApplication;
+import com.postgres.EmbeddedPostgresSupport;
+import com.ticketing.TicketingManagerStub;
+
+/*
+ * Compares throughput and tail latency of the request execution modes: platform (Tomcat thread
+ * pool), virtual (virtual threads) and reactive (ReactiveMainController on Netty). For each mode the
+ * service is started against Postgres (embedded, or -Dpostgres.url) and a stub Ticketing Manager,
+ * then for each concurrency level that many clients each send load.requests topics back to back,
+ * alternating MovieListRequest (catalog disabled, so a Postgres query) and CreateTicketRequest
+ * (seat insert + Ticketing Manager call + update, ticket pool disabled).
+ *
+ *   mvn -Pbenchmark test -Dbenchmark.main=com.benchmark.ThroughputReport
+ *       [-Dbenchmark.jvmArgs="-Dload.concurrency=1000,5000,10000 -Dload.requests=5
+ *       -Dload.modes=platform,virtual,reactive -Dload.tm.latency=20"]
+ *
+ * 10k clients hold 20k sockets in this one JVM (client + server side), raise ulimit -n first.
+ */
+public class ThroughputReport {
+    // VARCHAR(5) seats, "~" + base 36 keeps them apart from real bookings
+    private static final String SEAT_PREFIX = "~";
+    private static final AtomicLong SEATS = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        // devtools would relaunch the app in a restart classloader without the properties below
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int[] levels = Arrays.stream(System.getProperty("load.concurrency", "1000,5000,10000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        int requestsPerClient = Integer.getInteger("load.requests", 5);
+        String[] modes = System.getProperty("load.modes", "platform,virtual,reactive").split(",");
+        DataSource dataSource = EmbeddedPostgresSupport.dataSource();
+
+        StringBuilder report = new StringBuilder(String.format("%n%-9s %11s %9s %9s %9s %9s %9s %9s %7s%n",
+                "mode", "concurrency", "requests", "seconds", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors"));
+        try (TicketingManagerStub ticketingManager = new TicketingManagerStub()) {
+            ticketingManager.setLatencyMillis(Long.getLong("load.tm.latency", 20));
+            for (String mode : modes) {
+                try (ConfigurableApplicationContext app = start(mode.trim(), ticketingManager)) {
+                    int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                    URI uri = URI.create("http://localhost:" + port + "/api/v1/processTopic");
+                    // warm up the JIT, the connection pool and the schema registry
+                    run(uri, 100, 2);
+                    for (int level : levels) {
+                        deleteLoadTickets(dataSource);
+                        Result result = run(uri, level, requestsPerClient);
+                        report.append(String.format("%-9s %11d %9d %9.2f %9.0f %9.1f %9.1f %9.1f %7d%n",
+                                mode.trim(), level, result.requests(), result.seconds(),
+                                result.requests() / result.seconds(), result.percentile(50),
+                                result.percentile(99), result.percentile(99.9), result.errors()));
+                    }
+                }
+            }
+        }
+        deleteLoadTickets(dataSource);
+        System.out.println(report);
+    }
+
+    private static ConfigurableApplicationContext start(String mode, TicketingManagerStub ticketingManager) {
+        Map<String, Object> properties = new LinkedHashMap<>(EmbeddedPostgresSupport.springProperties());
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", "virtual".equals(mode));
+        if ("reactive".equals(mode)) {
+            properties.put("topic.pipeline.mode", "reactive");
+            properties.put("spring.main.web-application-type", "reactive");
+        }
+        // let every client connect in both modes, only the worker model differs
+        properties.put("server.tomcat.max-connections", 20000);
+        properties.put("server.tomcat.accept-count", 10000);
+        properties.put("ticketing.manager", ticketingManager.getHost());
+        properties.put("ticketing.manager.port", ticketingManager.getPort());
+        properties.put("ticketing.pool.enabled", false);
+        properties.put("movie.catalog.enabled", false);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.docker.compose.enabled", false);
+        // as command line arguments, they take precedence over application-dev.properties
+        return new SpringApplicationBuilder(SpringBootConsoleApplication.class)
+                .profiles("dev")
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static Result run(URI uri, int clients, int requestsPerClient) throws InterruptedException {
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        long start;
+        try (HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+                ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                clientThreads.execute(() -> {
+                    try {
+                        startGate.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        String body = (client + r) % 2 == 0 ? Payloads.MOVIE_LIST_REQUEST : createTicketRequest();
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .timeout(Duration.ofSeconds(120))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 300) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                    }
+                });
+            }
+            start = System.nanoTime();
+            startGate.countDown();
+            clientThreads.shutdown();
+            clientThreads.awaitTermination(30, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(latencies.length, seconds, errors.get(), latencies);
+    }
+
+    /*
+     * Unique seat per booking so every CreateTicketRequest takes the full insert/confirm path
+     */
+    private static String createTicketRequest() {
+        String seat = SEAT_PREFIX + Long.toString(SEATS.getAndIncrement(), 36);
+        return Payloads.CREATE_TICKET_REQUEST.replace("\"C5\"", "\"" + seat + "\"");
+    }
+
+    private static void deleteLoadTickets(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM movie_service.tickets WHERE seat LIKE '" + SEAT_PREFIX + "%'");
+        }
+        SEATS.set(0);
+    }
+
+    private record Result(int requests, double seconds, int errors, long[] sortedLatencies) {
+        double percentile(double p) {
+            int index = Math.min(sortedLatencies.length - 1, (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import com.decoder.TopicDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localTopics.GroupTicketRequest;
+import com.localTopics.SeatAvailabilityRequest;
+import com.schema.SchemaRegistry;
+import com.schema.SchemaValidator;
+import com.topics.CreateTicketRequest;
+import com.topics.MovieListRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Decode + validate + bind of one topic. legacy is the old String -> JSONObject -> String -> POJO
+ * path with a new ObjectMapper per request, singlePass is the TopicDecoder path. Compare the
+ * gc.alloc.rate.norm (bytes/op) columns for allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopicDecodeBenchmark {
+    @Param({"MovieListRequest", "CreateTicketRequest", "SeatAvailabilityRequest", "GroupTicketRequest"})
+    private String topicName;
+
+    private SchemaValidator schemaValidator;
+    private TopicDecoder topicDecoder;
+    private Class<?> topicClass;
+    private String jsonString;
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SchemaRegistry schemaRegistry = new SchemaRegistry(resourceLoader, meterRegistry);
+        schemaValidator = new SchemaValidator(resourceLoader, schemaRegistry, meterRegistry);
+        topicDecoder = new TopicDecoder();
+        topicClass = switch (topicName) {
+            case "MovieListRequest" -> MovieListRequest.class;
+            case "CreateTicketRequest" -> CreateTicketRequest.class;
+            case "SeatAvailabilityRequest" -> SeatAvailabilityRequest.class;
+            default -> GroupTicketRequest.class;
+        };
+        jsonString = Payloads.forTopic(topicName);
+        body = jsonString.getBytes(StandardCharsets.UTF_8);
+        schemaRegistry.getSchema(topicName);
+    }
+
+    @Benchmark
+    public Object legacy() throws Exception {
+        JSONObject jsonNode = new JSONObject(jsonString);
+        String name = jsonNode.getString("topicName");
+        if (!schemaValidator.validateJson(name, jsonNode)) {
+            return null;
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.readValue(jsonNode.toString(), topicClass);
+    }
+
+    @Benchmark
+    public Object singlePass() throws Exception {
+        JsonNode jsonNode = topicDecoder.readTree(body);
+        String name = topicDecoder.topicName(jsonNode);
+        if (!schemaValidator.validateJson(name, jsonNode)) {
+            return null;
+        }
+        return topicDecoder.bind(jsonNode, topicClass);
+    }
+}
@@ -4,12 +4,15 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
-import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.Assertions;
@@ -17,21 +20,27 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postgres.MoviesRepository;
 import com.postgres.PostgresService;
+import com.postgres.TicketsRespository;
 import com.postgres.models.MovieTicket;
 import com.postgres.models.Movies;
 import com.topics.CreateTicketRequest;
 import com.topics.CreateTicketResponse;
-import com.topics.MovieListRequest.Genre;
+import com.seating.SeatInventory;
+import com.ticketing.TicketIdPool;
+import com.ticketing.TicketingManagerUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateTicketRequestTest {
@@ -40,7 +49,12 @@ public class CreateTicketRequestTest {
 	@Mock
 	private PostgresService postgresService;
 	@Mock
-    private RestClient ticketingManagerClient; 
+    private TicketIdPool ticketIdPool; 
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// nothing loaded, every seat is left to the PostgresService mock
+	@Spy
+	private SeatInventory seatInventory = new SeatInventory(null, null, new SimpleMeterRegistry(), false);
 	private ObjectMapper objectMapper = new ObjectMapper();
 
 	@Test
@@ -80,31 +94,14 @@ public class CreateTicketRequestTest {
 		Mockito.when(postgresService.findByMovieName(request.getMovie().getMovieName()))
 			.thenReturn(mockMovies);
 
-		// Empty list to mock no matching tickets 
-		List<MovieTicket> mockTicket = new ArrayList<>();
-
-		Mockito.when(postgresService.findByNameTimeSeat(request.getMovie().getMovieName(), showtime, request.getSeatNumber()))
-			.thenReturn(mockTicket);
-		
-		MovieTicket movieTicket = new MovieTicket();
-		movieTicket.setMovieName("Inception");
-		movieTicket.setGenre(Genre.SCIFI);
-		movieTicket.setShowtime(showtime);
-		movieTicket.setTicketId("8060000");
-		movieTicket.setSeat("C5");
-
-		when(postgresService.saveTicket(any(MovieTicket.class)))
-			.thenReturn(movieTicket);
+		// Seat is free, the seat is held then committed with the ticket number
+		when(postgresService.reserveTicket(any(MovieTicket.class)))
+			.thenReturn(true);
+		when(postgresService.confirmTicket(any(MovieTicket.class), eq("8060000")))
+			.thenReturn(true);
 		
-		// REST CLIENT MOCK FOR THE TICKET MANAGER
-		RestClient.RequestBodyUriSpec requestBodyUriSpec = mock(RestClient.RequestBodyUriSpec.class);
-		RestClient.RequestBodySpec requestBodySpec = mock(RestClient.RequestBodySpec.class);
-		RestClient.ResponseSpec responseSpec = mock(RestClient.ResponseSpec.class);
-		when(ticketingManagerClient.post()).thenReturn(requestBodyUriSpec);
-		when(requestBodyUriSpec.uri(ArgumentMatchers.<String>any())).thenReturn(requestBodySpec);  // this line is crucial, or else URI error
-		when(requestBodySpec.contentType(any(MediaType.class))).thenReturn(requestBodySpec); // chainable
-		when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-		when(responseSpec.toEntity(String.class)).thenReturn(ResponseEntity.ok("8060000"));
+		// TICKET MANAGER MOCK
+		when(ticketIdPool.take()).thenReturn("8060000");
 
 		ResponseEntity<Object> httpResponse = businessLogic.processTicketRequest(request);
 		CreateTicketResponse response = null;	
@@ -119,10 +116,9 @@ public class CreateTicketRequestTest {
 		Assertions.assertEquals("C5", response.getSeatNumber());
 		Assertions.assertEquals(8060000, response.getTicketId());
 
-		// should return an error because the ticket exist
-		mockTicket.add(movieTicket);
-		Mockito.when(postgresService.findByNameTimeSeat(request.getMovie().getMovieName(), showtime, request.getSeatNumber()))
-			.thenReturn(mockTicket);
+		// should return an error because the ticket exist (the insert hits the unique seat index)
+		when(postgresService.reserveTicket(any(MovieTicket.class)))
+			.thenReturn(false);
 		ResponseEntity<Object> httpResponse2 = businessLogic.processTicketRequest(request);
 		CreateTicketResponse response2 = null;	
 		try{
@@ -139,6 +135,220 @@ public class CreateTicketRequestTest {
 			e.printStackTrace();
 		}
 		assertNull(response2);
+		Assertions.assertEquals(409, httpResponse2.getStatusCode().value());
+		// the duplicate never reached the Ticketing Manager
+		verify(ticketIdPool, times(1)).take();
+		verify(postgresService, never()).releaseTicket(any(MovieTicket.class));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Ticketing Manager failure releases the held seat")
+	public void createTicketCompensationTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		String JSON = """
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5558,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "C6"
+			}
+			""";
+
+		CreateTicketRequest request = null;	
+		try{
+			request = objectMapper.readValue(JSON, CreateTicketRequest.class);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		Movies movie1 = new Movies();
+		movie1.setMovieName("Inception");
+		movie1.setGenre(com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setPrice(BigDecimal.valueOf(15.00));
+		movie1.setShowtime(LocalDateTime.of(2025, 11, 10, 19, 30, 0));
+
+		when(postgresService.findByMovieName("Inception")).thenReturn(Arrays.asList(movie1));
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(true);
+		when(postgresService.releaseTicket(any(MovieTicket.class))).thenReturn(true);
+		when(ticketIdPool.take()).thenThrow(new RestClientException("Connection refused"));
+
+		ResponseEntity<Object> httpResponse = businessLogic.processTicketRequest(request);
+
+		Assertions.assertEquals(500, httpResponse.getStatusCode().value());
+		verify(postgresService).releaseTicket(argThat(t -> "C6".equals(t.getSeat())));
+		verify(postgresService, never()).confirmTicket(any(MovieTicket.class), anyString());
+		Assertions.assertEquals(1, meterRegistry.get(BusinessLogic.BOOKING_COMPENSATIONS)
+			.tag("stage", "ticket_id").counter().count());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Refused Ticketing Manager call answers 503 and releases the held seat")
+	public void createTicketUnavailableTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CreateTicketRequest request = objectMapper.readValue("""
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5560,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "C7"
+			}
+			""", CreateTicketRequest.class);
+
+		Movies movie1 = new Movies();
+		movie1.setMovieName("Inception");
+		movie1.setGenre(com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setPrice(BigDecimal.valueOf(15.00));
+		movie1.setShowtime(LocalDateTime.of(2025, 11, 10, 19, 30, 0));
+
+		when(postgresService.findByMovieName("Inception")).thenReturn(Arrays.asList(movie1));
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(true);
+		when(postgresService.releaseTicket(any(MovieTicket.class))).thenReturn(true);
+		// circuit open for another 4.2 s
+		when(ticketIdPool.take()).thenThrow(new TicketingManagerUnavailableException(
+			"The Ticketing Manager circuit is open", Duration.ofMillis(4200)));
+
+		ResponseEntity<Object> httpResponse = businessLogic.processTicketRequest(request);
+
+		Assertions.assertEquals(503, httpResponse.getStatusCode().value());
+		Assertions.assertEquals("5", httpResponse.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		Assertions.assertTrue(httpResponse.getBody().toString().contains("circuit is open"));
+		verify(postgresService).releaseTicket(argThat(t -> "C7".equals(t.getSeat())));
+		verify(postgresService, never()).confirmTicket(any(MovieTicket.class), anyString());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Unknown showtime stops before the seat is held")
+	public void createTicketUnknownShowtimeTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		String JSON = """
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5557,
+				"movie": {
+					"movieName": "The Dark Knight",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "ACTION"
+				},
+				"seatNumber": "D8"
+			}
+			""";
+
+		CreateTicketRequest request = null;	
+		try{
+			request = objectMapper.readValue(JSON, CreateTicketRequest.class);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		Movies movie1 = new Movies();
+		movie1.setMovieName("The Dark Knight");
+		movie1.setGenre(com.topics.MovieListRequest.Genre.ACTION);
+		movie1.setPrice(BigDecimal.valueOf(13.00));
+		movie1.setShowtime(LocalDateTime.of(2025, 11, 10, 21, 45, 0));
+
+		when(postgresService.findByMovieName("The Dark Knight")).thenReturn(Arrays.asList(movie1));
+
+		ResponseEntity<Object> httpResponse = businessLogic.processTicketRequest(request);
+
+		Assertions.assertEquals(500, httpResponse.getStatusCode().value());
+		verify(postgresService, never()).reserveTicket(any(MovieTicket.class));
+		verify(ticketIdPool, never()).take();
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Title in another case books the seat under the showing's title")
+	public void createTicketTitleCaseTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CreateTicketRequest request = objectMapper.readValue("""
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5561,
+				"movie": {
+					"movieName": "INCEPTION",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "C8"
+			}
+			""", CreateTicketRequest.class);
+
+		Movies movie1 = new Movies();
+		movie1.setMovieName("Inception");
+		movie1.setGenre(com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setPrice(BigDecimal.valueOf(15.00));
+		movie1.setShowtime(LocalDateTime.of(2025, 11, 10, 19, 30, 0));
+
+		when(postgresService.findByMovieName("INCEPTION")).thenReturn(Arrays.asList(movie1));
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(true);
+		when(postgresService.confirmTicket(any(MovieTicket.class), eq("8060002"))).thenReturn(true);
+		when(ticketIdPool.take()).thenReturn("8060002");
+
+		ResponseEntity<Object> httpResponse = businessLogic.processTicketRequest(request);
+
+		Assertions.assertEquals(200, httpResponse.getStatusCode().value());
+		// "INCEPTION" and "Inception" hold the same seat in the unique index
+		verify(postgresService).reserveTicket(argThat(t -> "Inception".equals(t.getMovieName())));
+		verify(postgresService).confirmTicket(argThat(t -> "Inception".equals(t.getMovieName())), eq("8060002"));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Seat inventory rejects sold and unknown seats without Postgres")
+	public void createTicketSeatInventoryTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		MoviesRepository moviesRepository = Mockito.mock(MoviesRepository.class);
+		TicketsRespository ticketsRespository = Mockito.mock(TicketsRespository.class);
+		MoviesRepository.ShowtimeSeats seats = Mockito.mock(MoviesRepository.ShowtimeSeats.class);
+		when(seats.getId()).thenReturn(7L);
+		when(seats.getSeats()).thenReturn("{\"C5\": \"AVAILABLE\", \"C6\": \"AVAILABLE\"}");
+		when(moviesRepository.findAllSeats()).thenReturn(List.of(seats));
+		SeatInventory inventory = new SeatInventory(moviesRepository, ticketsRespository, meterRegistry, true);
+		inventory.reload();
+		BusinessLogic inventoryLogic = new BusinessLogic(ticketIdPool, postgresService, null, inventory,
+			meterRegistry);
+
+		Movies movie1 = new Movies("Inception", LocalDateTime.of(2025, 11, 10, 19, 30, 0),
+			com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setId(7L);
+		when(postgresService.findByMovieName("Inception")).thenReturn(Arrays.asList(movie1));
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(true);
+		when(postgresService.confirmTicket(any(MovieTicket.class), eq("8060001"))).thenReturn(true);
+		when(ticketIdPool.take()).thenReturn("8060001");
+
+		String JSON = """
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5559,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "%s"
+			}
+			""";
+		Assertions.assertEquals(200, inventoryLogic.processTicketRequest(
+			objectMapper.readValue(JSON.formatted("C5"), CreateTicketRequest.class)).getStatusCode().value());
+		// sold a moment ago, and a seat the showing does not have
+		Assertions.assertEquals(409, inventoryLogic.processTicketRequest(
+			objectMapper.readValue(JSON.formatted("C5"), CreateTicketRequest.class)).getStatusCode().value());
+		Assertions.assertEquals(400, inventoryLogic.processTicketRequest(
+			objectMapper.readValue(JSON.formatted("Z9"), CreateTicketRequest.class)).getStatusCode().value());
+		verify(postgresService, times(1)).reserveTicket(any(MovieTicket.class));
+
+		// the held seat is given back when the booking fails
+		when(ticketIdPool.take()).thenThrow(new RestClientException("Connection refused"));
+		when(postgresService.releaseTicket(any(MovieTicket.class))).thenReturn(true);
+		Assertions.assertEquals(500, inventoryLogic.processTicketRequest(
+			objectMapper.readValue(JSON.formatted("C6"), CreateTicketRequest.class)).getStatusCode().value());
+		Assertions.assertEquals(SeatInventory.Hold.HELD, inventory.hold(7L, "C6"));
 	}
 
 	private boolean isString(String responseBody) {
@@ -0,0 +1,168 @@
+package com.businessLogic;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localTopics.GroupTicketRequest;
+import com.localTopics.GroupTicketResponse;
+import com.postgres.MoviesRepository;
+import com.postgres.PostgresService;
+import com.postgres.TicketsRespository;
+import com.postgres.models.MovieTicket;
+import com.postgres.models.Movies;
+import com.seating.SeatInventory;
+import com.ticketing.TicketIdPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class GroupTicketRequestTest {
+	@Mock
+	private PostgresService postgresService;
+	@Mock
+	private TicketIdPool ticketIdPool;
+	@Mock
+	private MoviesRepository moviesRepository;
+	@Mock
+	private TicketsRespository ticketsRespository;
+	private SeatInventory seatInventory;
+	private BusinessLogic businessLogic;
+	private SimpleMeterRegistry meterRegistry;
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	private static final String JSON = """
+		{
+			"topicName": "GroupTicketRequest",
+			"correlatorId": 5570,
+			"movie": {
+				"movieName": "Inception",
+				"showtime": "2025-11-10T19:30:00-06:00",
+				"genre": "SCIFI"
+			},
+			"seatNumbers": ["A1", "A2", "A3", "A4"]
+		}
+		""";
+
+	@BeforeEach
+	public void setup() {
+		// Inception has A1..A6 with A5 sold
+		MoviesRepository.ShowtimeSeats seats = Mockito.mock(MoviesRepository.ShowtimeSeats.class);
+		when(seats.getId()).thenReturn(1L);
+		when(seats.getSeats()).thenReturn("{\"A1\": \"AVAILABLE\", \"A2\": \"AVAILABLE\", \"A3\": \"AVAILABLE\","
+			+ " \"A4\": \"AVAILABLE\", \"A5\": \"AVAILABLE\", \"A6\": \"AVAILABLE\"}");
+		TicketsRespository.BookedSeat sold = Mockito.mock(TicketsRespository.BookedSeat.class);
+		when(sold.getMovieId()).thenReturn(1L);
+		when(sold.getSeat()).thenReturn("A5");
+		when(moviesRepository.findAllSeats()).thenReturn(List.of(seats));
+		when(ticketsRespository.findBookedSeats()).thenReturn(List.of(sold));
+
+		meterRegistry = new SimpleMeterRegistry();
+		seatInventory = new SeatInventory(moviesRepository, ticketsRespository, meterRegistry, true);
+		seatInventory.reload();
+		businessLogic = new BusinessLogic(ticketIdPool, postgresService, null, seatInventory, meterRegistry);
+
+		Movies inception = new Movies("Inception", LocalDateTime.of(2025, 11, 10, 19, 30, 0),
+			com.topics.MovieListRequest.Genre.SCIFI);
+		inception.setId(1L);
+		when(postgresService.findByMovieName("Inception")).thenReturn(Arrays.asList(inception));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] GroupTicketRequest books every seat with one take and one insert")
+	@SuppressWarnings("unchecked")
+	public void groupTicketTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		when(ticketIdPool.take(4)).thenReturn(List.of("8060010", "8060011", "8060012", "8060013"));
+		when(postgresService.bookTickets(anyList())).thenReturn(true);
+
+		ResponseEntity<Object> httpResponse = businessLogic.processGroupTicketRequest(
+			objectMapper.readValue(JSON, GroupTicketRequest.class));
+		Assertions.assertEquals(200, httpResponse.getStatusCode().value());
+		GroupTicketResponse response = objectMapper.readValue(httpResponse.getBody().toString(), GroupTicketResponse.class);
+		Assertions.assertEquals(5570, response.getCorrelatorId());
+		Assertions.assertEquals(4, response.getTickets().size());
+		Assertions.assertEquals(8060012, response.getTickets().get(2).getTicketId());
+		Assertions.assertEquals("A3", response.getTickets().get(2).getSeatNumber());
+
+		// one movie lookup, one take of the ticket numbers and one batch, no per-seat round-trips
+		ArgumentCaptor<List<MovieTicket>> tickets = ArgumentCaptor.forClass(List.class);
+		verify(postgresService, times(1)).findByMovieName("Inception");
+		verify(ticketIdPool, times(1)).take(4);
+		verify(postgresService, times(1)).bookTickets(tickets.capture());
+		verify(postgresService, never()).reserveTicket(any());
+		verify(postgresService, never()).confirmTicket(any(), any());
+		Assertions.assertEquals(List.of("8060010", "8060011", "8060012", "8060013"),
+			tickets.getValue().stream().map(MovieTicket::getTicketId).toList());
+		Assertions.assertEquals(SeatInventory.Hold.TAKEN, seatInventory.hold(1L, "A4"));
+		Assertions.assertEquals(List.of("A6"), seatInventory.availableSeats(1L));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] GroupTicketRequest is all or nothing")
+	public void groupTicketRejectedTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		// a sold seat in the group rejects it before any ticket number is requested
+		ResponseEntity<Object> sold = businessLogic.processGroupTicketRequest(
+			objectMapper.readValue(JSON.replace("\"A4\"", "\"A5\""), GroupTicketRequest.class));
+		Assertions.assertEquals(409, sold.getStatusCode().value());
+		verify(ticketIdPool, never()).take(anyInt());
+		Assertions.assertEquals(List.of("A1", "A2", "A3", "A4", "A6"), seatInventory.availableSeats(1L));
+
+		ResponseEntity<Object> noSeat = businessLogic.processGroupTicketRequest(
+			objectMapper.readValue(JSON.replace("\"A4\"", "\"Z9\""), GroupTicketRequest.class));
+		Assertions.assertEquals(400, noSeat.getStatusCode().value());
+
+		// a seat sold by another instance rolls the batch back, the other seats and the ticket
+		// numbers are given back while A4 stays taken
+		TicketsRespository.BookedSeat soldElsewhere = Mockito.mock(TicketsRespository.BookedSeat.class);
+		when(soldElsewhere.getSeat()).thenReturn("A4");
+		when(ticketsRespository.findBookedSeatsOf(1L)).thenReturn(List.of(soldElsewhere));
+		when(ticketIdPool.take(4)).thenReturn(List.of("8060010", "8060011", "8060012", "8060013"));
+		when(postgresService.bookTickets(anyList())).thenReturn(false);
+		ResponseEntity<Object> conflict = businessLogic.processGroupTicketRequest(
+			objectMapper.readValue(JSON, GroupTicketRequest.class));
+		Assertions.assertEquals(409, conflict.getStatusCode().value());
+		Assertions.assertEquals(List.of("A1", "A2", "A3", "A6"), seatInventory.availableSeats(1L));
+		verify(ticketIdPool, times(1)).offer(List.of("8060010", "8060011", "8060012", "8060013"));
+		for (String source : List.of("inventory", "database")) {
+			Assertions.assertEquals(1, meterRegistry.get(BusinessLogic.BOOKING_SEAT_CONFLICTS)
+				.tags("topic", "GroupTicketRequest", "source", source).counter().count());
+		}
+
+		// so does a failing insert, whose numbers are dropped
+		String otherSeats = JSON.replace("\"A4\"", "\"A6\"");
+		when(ticketIdPool.take(4)).thenReturn(List.of("8060020", "8060021", "8060022", "8060023"));
+		when(postgresService.bookTickets(anyList())).thenThrow(new RuntimeException("connection reset"));
+		ResponseEntity<Object> failed = businessLogic.processGroupTicketRequest(
+			objectMapper.readValue(otherSeats, GroupTicketRequest.class));
+		Assertions.assertEquals(500, failed.getStatusCode().value());
+		Assertions.assertEquals(List.of("A1", "A2", "A3", "A6"), seatInventory.availableSeats(1L));
+		// the rows may have been stored, the numbers are not sold again
+		verify(ticketIdPool, never()).offer(List.of("8060020", "8060021", "8060022", "8060023"));
+
+		// and a failing Ticketing Manager
+		when(ticketIdPool.take(4)).thenReturn(null);
+		ResponseEntity<Object> noTickets = businessLogic.processGroupTicketRequest(
+			objectMapper.readValue(otherSeats, GroupTicketRequest.class));
+		Assertions.assertEquals(500, noTickets.getStatusCode().value());
+		Assertions.assertEquals(List.of("A1", "A2", "A3", "A6"), seatInventory.availableSeats(1L));
+	}
+}
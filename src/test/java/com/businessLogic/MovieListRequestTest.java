@@ -1,12 +1,15 @@
 package com.businessLogic;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Date;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,13 +18,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import com.catalog.MovieCatalog;
+import com.catalog.MovieListCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localTopics.PagedMovieListRequest;
+import com.localTopics.PagedMovieListResponse;
+import com.postgres.MoviePage;
+import com.postgres.MovieQuery;
 import com.postgres.PostgresService;
 import com.postgres.models.Movies;
 import com.topics.MovieListRequest;
 import com.topics.MovieListResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class MovieListRequestTest {
@@ -30,6 +41,9 @@ public class MovieListRequestTest {
 
 	@Mock
 	private PostgresService postgresService;
+	// catalog disabled, every search reaches the PostgresService mock
+	@Spy
+	private MovieListCache movieListCache = new MovieListCache(null, new SimpleMeterRegistry(), false, true, 256);
 
 	private ObjectMapper objectMapper = new ObjectMapper();
 
@@ -68,8 +82,8 @@ public class MovieListRequestTest {
 
 		List<Movies> mockMovies = Arrays.asList(movie1, movie2);
 		
-		Mockito.when(postgresService.findByGenre(request.getGenre()))
-			.thenReturn(mockMovies);
+		Mockito.when(postgresService.findMovies(new MovieQuery(request.getGenre(), null, null, null, Integer.MAX_VALUE)))
+			.thenReturn(new MoviePage(mockMovies, null));
 
 		ResponseEntity<Object> httpResponse = businessLogic.processListRequest(request);
 
@@ -130,8 +144,8 @@ public class MovieListRequestTest {
 
 		List<Movies> mockMovies = Arrays.asList(movie1, movie2);
 		
-		Mockito.when(postgresService.findByMovieName(request.getMovieName()))
-			.thenReturn(mockMovies);
+		Mockito.when(postgresService.findMovies(new MovieQuery(null, null, null, request.getMovieName(), Integer.MAX_VALUE)))
+			.thenReturn(new MoviePage(mockMovies, null));
 
 		ResponseEntity<Object> httpResponse = businessLogic.processListRequest(request);
 
@@ -212,8 +226,8 @@ public class MovieListRequestTest {
 			.atZone(java.time.ZoneId.systemDefault())
 			.toLocalDateTime();
 
-		Mockito.when(postgresService.findByShowtimeBetween(startShowtime, endShowtime))
-			.thenReturn(mockMovies);
+		Mockito.when(postgresService.findMovies(new MovieQuery(null, startShowtime, endShowtime, null, Integer.MAX_VALUE)))
+			.thenReturn(new MoviePage(mockMovies, null));
 
 		ResponseEntity<Object> httpResponse = businessLogic.processListRequest(request);
 
@@ -239,6 +253,174 @@ public class MovieListRequestTest {
 		Assertions.assertEquals("The Matrix", response.getMovies().get(2).getMovieName());
 	}
 
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Valid MovieListRequest (genre + start/end time + movie name)")
+	public void movieCombinedRequestTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		String JSON = """
+			{
+				"topicName": "MovieListRequest",
+				"correlatorId": 5558,
+				"genre": "SCIFI",
+				"startingShowtime": "2025-11-10T00:00:00-06:00",
+				"endingShowtime": "2025-11-12T23:59:59-06:00",
+				"movieName": "Inception"
+			}
+			""";
+
+		MovieListRequest request = null;	
+		try{
+			request = objectMapper.readValue(JSON, MovieListRequest.class);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		LocalDateTime showtime1 = LocalDateTime.of(2025, 11, 10, 19, 30, 0); // Nov 10, 2025 7:30 PM
+
+		Movies movie1 = new Movies();
+		movie1.setMovieName("Inception");
+		movie1.setGenre(com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setPrice(BigDecimal.valueOf(12.50));
+		movie1.setShowtime(showtime1);
+
+		LocalDateTime startShowtime = request.getStartingShowtime().toInstant()
+			.atZone(java.time.ZoneId.systemDefault())
+			.toLocalDateTime();
+		LocalDateTime endShowtime = request.getEndingShowtime().toInstant()
+			.atZone(java.time.ZoneId.systemDefault())
+			.toLocalDateTime();
+
+		// a single search carrying all three criteria
+		Mockito.when(postgresService.findMovies(new MovieQuery(request.getGenre(), startShowtime, endShowtime,
+				"Inception", Integer.MAX_VALUE)))
+			.thenReturn(new MoviePage(Arrays.asList(movie1), null));
+
+		ResponseEntity<Object> httpResponse = businessLogic.processListRequest(request);
+
+		MovieListResponse response = null;	
+		try{
+			response = objectMapper.readValue(httpResponse.getBody().toString(), MovieListResponse.class);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		assertNotNull(response);
+		Assertions.assertEquals(1, response.getMovies().size());
+		Assertions.assertEquals("Inception", response.getMovies().get(0).getMovieName());
+		Mockito.verify(postgresService, Mockito.times(1)).findMovies(Mockito.any(MovieQuery.class));
+		Mockito.verifyNoMoreInteractions(postgresService);
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Cached movies array is shared, the envelope is per request")
+	public void movieListCacheTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		MovieCatalog movieCatalog = Mockito.mock(MovieCatalog.class);
+		Mockito.when(movieCatalog.getVersion()).thenReturn(1L);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BusinessLogic cachingLogic = new BusinessLogic(null, postgresService,
+			new MovieListCache(movieCatalog, meterRegistry, true, true, 256), null, meterRegistry);
+
+		Movies movie1 = new Movies();
+		movie1.setMovieName("Inception");
+		movie1.setGenre(com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setShowtime(LocalDateTime.of(2025, 11, 10, 19, 30, 0));
+		Mockito.when(postgresService.findMovies(new MovieQuery(null, null, null, "Inception", Integer.MAX_VALUE)))
+			.thenReturn(new MoviePage(Arrays.asList(movie1), null));
+
+		MovieListResponse first = objectMapper.readValue(cachingLogic.processListRequest(objectMapper.readValue(
+			"{\"topicName\": \"MovieListRequest\", \"correlatorId\": 6001, \"movieName\": \"Inception\"}",
+			MovieListRequest.class)).getBody().toString(), MovieListResponse.class);
+		MovieListResponse second = objectMapper.readValue(cachingLogic.processListRequest(objectMapper.readValue(
+			"{\"topicName\": \"MovieListRequest\", \"correlatorId\": 6002, \"movieName\": \" INCEPTION\"}",
+			MovieListRequest.class)).getBody().toString(), MovieListResponse.class);
+
+		Assertions.assertEquals(6001, first.getCorrelatorId());
+		Assertions.assertEquals(6002, second.getCorrelatorId());
+		Assertions.assertEquals(1, second.getMovies().size());
+		Assertions.assertEquals("Inception", second.getMovies().get(0).getMovieName());
+		Assertions.assertEquals(first.getMovies().get(0).getShowtime(), second.getMovies().get(0).getShowtime());
+		Mockito.verify(postgresService, Mockito.times(1)).findMovies(Mockito.any(MovieQuery.class));
+		Assertions.assertEquals(1, meterRegistry.get("movie.list.cache.lookups").tag("result", "hit")
+			.counter().count());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Paged MovieListRequest returns the next page token")
+	public void moviePageRequestTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Movies movie1 = new Movies("Inception", LocalDateTime.of(2025, 11, 10, 19, 30, 0),
+			com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setId(41L);
+		MovieQuery firstPage = new MovieQuery(com.topics.MovieListRequest.Genre.SCIFI, null, null, null, 1);
+		MovieQuery secondPage = firstPage.after(movie1);
+		Mockito.when(postgresService.findMovies(firstPage))
+			.thenReturn(new MoviePage(Arrays.asList(movie1), secondPage));
+		Mockito.when(postgresService.findMovies(secondPage))
+			.thenReturn(new MoviePage(Arrays.asList(), null));
+
+		ResponseEntity<Object> httpResponse = businessLogic.processListRequest(objectMapper.readValue(
+			"{\"topicName\": \"MovieListRequest\", \"correlatorId\": 8001, \"genre\": \"SCIFI\", \"pageSize\": 1}",
+			PagedMovieListRequest.class));
+		PagedMovieListResponse response = objectMapper.readValue(httpResponse.getBody().toString(),
+			PagedMovieListResponse.class);
+		Assertions.assertEquals(1, response.getMovies().size());
+		Assertions.assertEquals(secondPage.getPageToken(), response.getNextPageToken());
+
+		// the last page carries no token
+		httpResponse = businessLogic.processListRequest(objectMapper.readValue(
+			"{\"topicName\": \"MovieListRequest\", \"correlatorId\": 8002, \"genre\": \"SCIFI\", \"pageSize\": 1,"
+				+ " \"pageToken\": \"" + response.getNextPageToken() + "\"}",
+			PagedMovieListRequest.class));
+		Assertions.assertFalse(httpResponse.getBody().toString().contains("nextPageToken"));
+
+		// a token this service did not hand out is rejected, a batch answers it on its own
+		PagedMovieListRequest invalid = objectMapper.readValue(
+			"{\"topicName\": \"MovieListRequest\", \"correlatorId\": 8003, \"pageToken\": \"not-a-token\"}",
+			PagedMovieListRequest.class);
+		Assertions.assertEquals(400, businessLogic.processListRequest(invalid).getStatusCode().value());
+		List<ResponseEntity<Object>> batch = businessLogic.processListRequests(List.of(invalid));
+		Assertions.assertEquals(400, batch.get(0).getStatusCode().value());
+		Mockito.verify(postgresService, Mockito.times(2)).findMovies(Mockito.any(MovieQuery.class));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Streamed MovieListRequest writes the same response")
+	@SuppressWarnings("unchecked")
+	public void movieStreamRequestTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		MovieListRequest request = objectMapper.readValue(
+			"{\"topicName\": \"MovieListRequest\", \"correlatorId\": 7001, \"genre\": \"SCIFI\"}",
+			MovieListRequest.class);
+		MovieQuery query = new MovieQuery(request.getGenre(), null, null, null, Integer.MAX_VALUE);
+
+		List<Movies> rows = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Movies movie = new Movies("Movie " + i, LocalDateTime.of(2025, 11, 10, 12 + i, 0, 0),
+				com.topics.MovieListRequest.Genre.SCIFI);
+			movie.setPrice(BigDecimal.valueOf(10.00));
+			rows.add(movie);
+		}
+		Mockito.when(postgresService.findMovies(query)).thenReturn(new MoviePage(rows, null));
+		Mockito.when(postgresService.streamMovies(Mockito.eq(query), Mockito.any())).thenAnswer(invocation -> {
+			Consumer<Movies> action = invocation.getArgument(1);
+			rows.forEach(action);
+			return rows.size();
+		});
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		businessLogic.streamListRequest(request, output);
+		MovieListResponse streamed = objectMapper.readValue(output.toByteArray(), MovieListResponse.class);
+		MovieListResponse buffered = objectMapper.readValue(
+			businessLogic.processListRequest(request).getBody().toString(), MovieListResponse.class);
+
+		Assertions.assertEquals("MovieListResponse", streamed.getTopicName());
+		Assertions.assertEquals(7001, streamed.getCorrelatorId());
+		assertNotNull(streamed.getTimestamp());
+		Assertions.assertEquals(objectMapper.writeValueAsString(buffered.getMovies()),
+			objectMapper.writeValueAsString(streamed.getMovies()));
+	}
+
 	private boolean isString(String responseBody) {
 		// Check if the response is a simple string (you may need more specific checks depending on your use case)
 		return responseBody != null && responseBody.length() > 0 && responseBody.charAt(0) != '{';
@@ -0,0 +1,174 @@
+package com.businessLogic;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.catalog.MovieListCache;
+import com.localTopics.GroupTicketRequest;
+import com.postgres.PostgresService;
+import com.seating.SeatInventory;
+import com.postgres.models.MovieTicket;
+import com.postgres.models.Movies;
+import com.ticketing.ReactiveTicketingManagerClient;
+import com.ticketing.TicketIdPool;
+import com.topics.CreateTicketRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveTicketRequestTest {
+	@Mock
+	private PostgresService postgresService;
+	@Mock
+	private TicketIdPool ticketIdPool;
+	@Mock
+	private ReactiveTicketingManagerClient ticketingManagerClient;
+	private ReactiveBusinessLogic reactiveBusinessLogic;
+	private CreateTicketRequest request;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BusinessLogic businessLogic = new BusinessLogic(ticketIdPool, postgresService,
+				new MovieListCache(null, meterRegistry, false, false, 0),
+				new SeatInventory(null, null, meterRegistry, false), meterRegistry);
+		reactiveBusinessLogic = new ReactiveBusinessLogic(businessLogic, ticketIdPool, ticketingManagerClient,
+				meterRegistry, 2, 100);
+		request = new ObjectMapper().readValue("""
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5557,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "C5"
+			}
+			""", CreateTicketRequest.class);
+
+		Movies movie1 = new Movies();
+		movie1.setMovieName("Inception");
+		movie1.setGenre(com.topics.MovieListRequest.Genre.SCIFI);
+		movie1.setPrice(BigDecimal.valueOf(15.00));
+		movie1.setShowtime(LocalDateTime.of(2025, 11, 10, 19, 30, 0));
+		when(postgresService.findByMovieName("Inception")).thenReturn(Arrays.asList(movie1));
+	}
+
+	@AfterEach
+	public void teardown() {
+		reactiveBusinessLogic.shutdown();
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Reactive CreateTicketRequest with the Ticketing Manager WebClient")
+	public void reactiveTicketTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(true);
+		when(postgresService.confirmTicket(any(MovieTicket.class), eq("8060000"))).thenReturn(true);
+		// empty pool, the number comes from the non-blocking client
+		when(ticketingManagerClient.requestTicketId()).thenReturn(Mono.just("8060000"));
+
+		ResponseEntity<Object> response = reactiveBusinessLogic.processTicketRequest(request).block();
+
+		Assertions.assertEquals(200, response.getStatusCode().value());
+		Assertions.assertTrue(response.getBody().toString().contains("8060000"));
+		verify(ticketIdPool).recordFallback();
+
+		// duplicate seat stops before the Ticketing Manager
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(false);
+		Assertions.assertEquals(409, reactiveBusinessLogic.processTicketRequest(request).block()
+				.getStatusCode().value());
+		verify(ticketingManagerClient).requestTicketId();
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Reactive Ticketing Manager failure releases the held seat")
+	public void reactiveCompensationTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(true);
+		when(postgresService.releaseTicket(any(MovieTicket.class))).thenReturn(true);
+		when(ticketingManagerClient.requestTicketId()).thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+
+		ResponseEntity<Object> response = reactiveBusinessLogic.processTicketRequest(request).block();
+
+		Assertions.assertEquals(500, response.getStatusCode().value());
+		verify(postgresService).releaseTicket(argThat(t -> "C5".equals(t.getSeat())));
+		verify(postgresService, never()).confirmTicket(any(MovieTicket.class), any());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Reactive GroupTicketRequest fetches a few numbers at a time, gives them back on failure")
+	public void reactiveGroupTicketIdsTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		GroupTicketRequest groupRequest = new ObjectMapper().readValue("""
+			{
+				"topicName": "GroupTicketRequest",
+				"correlatorId": 5571,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumbers": ["B1", "B2", "B3", "B4", "B5", "B6", "B7", "B8"]
+			}
+			""", GroupTicketRequest.class);
+		// one number pooled, seven requested
+		when(ticketIdPool.poll(8)).thenAnswer(invocation -> new ArrayList<>(List.of("8069999")));
+		when(postgresService.bookTickets(anyList())).thenReturn(true);
+		AtomicInteger calls = new AtomicInteger();
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		when(ticketingManagerClient.requestTicketId()).thenAnswer(invocation -> Mono.defer(() -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return Mono.delay(Duration.ofMillis(20)).map(i -> {
+				inFlight.decrementAndGet();
+				return String.valueOf(8060000 + calls.getAndIncrement());
+			});
+		}));
+
+		Assertions.assertEquals(200, reactiveBusinessLogic.processGroupTicketRequest(groupRequest).block()
+				.getStatusCode().value());
+		Assertions.assertEquals(7, calls.get());
+		Assertions.assertTrue(maxInFlight.get() <= ReactiveBusinessLogic.TICKET_ID_CONCURRENCY);
+		verify(ticketIdPool, never()).offer(anyList());
+
+		// the fourth request fails, the pooled number and those already issued go back to the pool
+		calls.set(0);
+		when(ticketingManagerClient.requestTicketId()).thenAnswer(invocation -> {
+			int call = calls.incrementAndGet();
+			return call == 4
+				? Mono.delay(Duration.ofMillis(50)).then(Mono.<String>error(new IllegalStateException("Connection refused")))
+				: Mono.delay(Duration.ofMillis(20)).map(i -> String.valueOf(8060100 + call));
+		});
+
+		Assertions.assertEquals(500, reactiveBusinessLogic.processGroupTicketRequest(groupRequest).block()
+				.getStatusCode().value());
+		verify(ticketIdPool).offer(argThat(unused -> unused.contains("8069999") && unused.contains("8060101")
+				&& unused.size() >= 4 && unused.size() < 8));
+		verify(postgresService, times(1)).bookTickets(anyList());
+	}
+}
@@ -0,0 +1,154 @@
+package com.businessLogic;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localTopics.SeatAvailabilityRequest;
+import com.localTopics.SeatAvailabilityResponse;
+import com.postgres.MoviesRepository;
+import com.postgres.PostgresService;
+import com.postgres.TicketsRespository;
+import com.postgres.models.MovieTicket;
+import com.postgres.models.Movies;
+import com.seating.SeatInventory;
+import com.ticketing.TicketIdPool;
+import com.topics.CreateTicketRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatAvailabilityRequestTest {
+	@Mock
+	private PostgresService postgresService;
+	@Mock
+	private TicketIdPool ticketIdPool;
+	@Mock
+	private MoviesRepository moviesRepository;
+	@Mock
+	private TicketsRespository ticketsRespository;
+	private BusinessLogic businessLogic;
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@BeforeEach
+	public void setup() {
+		// Inception has A1..A3 with A2 sold, The Dark Knight has no seat map
+		MoviesRepository.ShowtimeSeats seats = Mockito.mock(MoviesRepository.ShowtimeSeats.class);
+		when(seats.getId()).thenReturn(1L);
+		when(seats.getSeats()).thenReturn("{\"A1\": \"AVAILABLE\", \"A2\": \"AVAILABLE\", \"A3\": \"AVAILABLE\"}");
+		MoviesRepository.ShowtimeSeats noSeats = Mockito.mock(MoviesRepository.ShowtimeSeats.class);
+		when(noSeats.getId()).thenReturn(2L);
+		when(noSeats.getSeats()).thenReturn("{}");
+		TicketsRespository.BookedSeat sold = Mockito.mock(TicketsRespository.BookedSeat.class);
+		when(sold.getMovieId()).thenReturn(1L);
+		when(sold.getSeat()).thenReturn("A2");
+		when(moviesRepository.findAllSeats()).thenReturn(List.of(seats, noSeats));
+		when(ticketsRespository.findBookedSeats()).thenReturn(List.of(sold));
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SeatInventory seatInventory = new SeatInventory(moviesRepository, ticketsRespository, meterRegistry, true);
+		seatInventory.reload();
+		businessLogic = new BusinessLogic(ticketIdPool, postgresService, null, seatInventory, meterRegistry);
+
+		when(postgresService.findByMovieName("Inception")).thenReturn(Arrays.asList(
+			movie(1L, "Inception", LocalDateTime.of(2025, 11, 10, 19, 30, 0), com.topics.MovieListRequest.Genre.SCIFI)));
+		Mockito.lenient().when(postgresService.findByMovieName("The Dark Knight")).thenReturn(Arrays.asList(
+			movie(2L, "The Dark Knight", LocalDateTime.of(2025, 11, 10, 21, 45, 0), com.topics.MovieListRequest.Genre.ACTION)));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] SeatAvailabilityRequest for one showing follows bookings")
+	public void singleShowingTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		String JSON = """
+			{
+				"topicName": "SeatAvailabilityRequest",
+				"correlatorId": 5560,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00"
+				}
+			}
+			""";
+		SeatAvailabilityResponse response = availability(JSON);
+		Assertions.assertEquals(5560, response.getCorrelatorId());
+		Assertions.assertEquals(1, response.getShowtimes().size());
+		Assertions.assertEquals(List.of("A1", "A3"), response.getShowtimes().get(0).getAvailableSeats());
+		Assertions.assertEquals(com.topics.Movie.Genre.SCIFI, response.getShowtimes().get(0).getMovie().getGenre());
+
+		// a booking takes the seat out of the next answer
+		when(postgresService.reserveTicket(any(MovieTicket.class))).thenReturn(true);
+		when(postgresService.confirmTicket(any(MovieTicket.class), eq("8060002"))).thenReturn(true);
+		when(ticketIdPool.take()).thenReturn("8060002");
+		Assertions.assertEquals(200, businessLogic.processTicketRequest(objectMapper.readValue("""
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5557,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "A3"
+			}
+			""", CreateTicketRequest.class)).getStatusCode().value());
+		Assertions.assertEquals(List.of("A1"), availability(JSON).getShowtimes().get(0).getAvailableSeats());
+
+		// an unknown showing of a single request is a 404
+		ResponseEntity<Object> notFound = businessLogic.processSeatAvailabilityRequest(objectMapper.readValue(
+			JSON.replace("19:30", "11:00"), SeatAvailabilityRequest.class));
+		Assertions.assertEquals(404, notFound.getStatusCode().value());
+		// availability never reads the tickets table
+		verify(postgresService, never()).findByNameTimeSeat(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] SeatAvailabilityRequest for several showings answers each one")
+	public void multiShowingTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatAvailabilityResponse response = availability("""
+			{
+				"topicName": "SeatAvailabilityRequest",
+				"correlatorId": 5561,
+				"showtimes": [
+					{"movieName": "Inception", "showtime": "2025-11-10T19:30:00-06:00"},
+					{"movieName": "The Dark Knight", "showtime": "2025-11-10T21:45:00-06:00"},
+					{"movieName": "Inception", "showtime": "2025-11-11T19:30:00-06:00"}
+				]
+			}
+			""");
+		Assertions.assertEquals(3, response.getShowtimes().size());
+		Assertions.assertEquals(List.of("A1", "A3"), response.getShowtimes().get(0).getAvailableSeats());
+		Assertions.assertNull(response.getShowtimes().get(1).getAvailableSeats());
+		Assertions.assertTrue(response.getShowtimes().get(1).getError().contains("no seat map"));
+		Assertions.assertNull(response.getShowtimes().get(2).getAvailableSeats());
+		Assertions.assertTrue(response.getShowtimes().get(2).getError().contains("does not have a showtime"));
+	}
+
+	private SeatAvailabilityResponse availability(String json) throws Exception {
+		ResponseEntity<Object> httpResponse = businessLogic.processSeatAvailabilityRequest(
+			objectMapper.readValue(json, SeatAvailabilityRequest.class));
+		Assertions.assertEquals(200, httpResponse.getStatusCode().value());
+		return objectMapper.readValue(httpResponse.getBody().toString(), SeatAvailabilityResponse.class);
+	}
+
+	private static Movies movie(Long id, String name, LocalDateTime showtime, com.topics.MovieListRequest.Genre genre) {
+		Movies movie = new Movies(name, showtime, genre);
+		movie.setId(id);
+		return movie;
+	}
+}
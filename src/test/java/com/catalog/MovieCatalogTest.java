@@ -0,0 +1,155 @@
+package com.catalog;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.postgres.MovieQuery;
+import com.postgres.MoviesRepository;
+import com.postgres.models.Movies;
+import com.topics.MovieListRequest.Genre;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class MovieCatalogTest {
+	@Mock
+	private MoviesRepository moviesRepository;
+
+	private MovieCatalog movieCatalog;
+
+	@BeforeEach
+	public void setup() {
+		movieCatalog = new MovieCatalog(moviesRepository, new SimpleMeterRegistry());
+		when(moviesRepository.findAll()).thenReturn(Arrays.asList(
+			movie(1L, "Inception", LocalDateTime.of(2025, 11, 10, 19, 30), Genre.SCIFI),
+			movie(2L, "The Dark Knight", LocalDateTime.of(2025, 11, 10, 21, 45), Genre.ACTION),
+			movie(3L, "Inception", LocalDateTime.of(2025, 11, 12, 15, 0), Genre.SCIFI)));
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Lookups are answered from a single load")
+	public void lookupsTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Assertions.assertEquals(2, movieCatalog.findByGenre(Genre.SCIFI).size());
+		Assertions.assertEquals(1, movieCatalog.findByGenre(Genre.ACTION).size());
+		Assertions.assertTrue(movieCatalog.findByGenre(Genre.HORROR).isEmpty());
+		Assertions.assertEquals(2, movieCatalog.findByMovieName(" inception ").size());
+
+		List<Movies> range = movieCatalog.findByShowtimeBetween(LocalDateTime.of(2025, 11, 10, 19, 30),
+			LocalDateTime.of(2025, 11, 10, 23, 59));
+		Assertions.assertEquals(2, range.size());
+		Assertions.assertEquals("Inception", range.get(0).getMovieName());
+		Assertions.assertEquals("The Dark Knight", range.get(1).getMovieName());
+
+		verify(moviesRepository, times(1)).findAll();
+		Assertions.assertEquals(4.0 / 5.0, movieCatalog.getHitRate(), 0.0001);
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Combined criteria and paging")
+	public void findTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		LocalDateTime start = LocalDateTime.of(2025, 11, 10, 0, 0);
+		LocalDateTime end = LocalDateTime.of(2025, 11, 12, 23, 59);
+
+		List<Movies> all = movieCatalog.find(new MovieQuery(null, start, end, null, 10));
+		Assertions.assertEquals(Arrays.asList(1L, 2L, 3L), all.stream().map(Movies::getId).toList());
+
+		List<Movies> combined = movieCatalog.find(new MovieQuery(Genre.SCIFI,
+			start, LocalDateTime.of(2025, 11, 11, 0, 0), "INCEPTION", 10));
+		Assertions.assertEquals(1, combined.size());
+		Assertions.assertEquals(1L, combined.get(0).getId());
+
+		Assertions.assertTrue(movieCatalog.find(new MovieQuery(Genre.ACTION, null, null, "Inception", 10)).isEmpty());
+
+		// later pages continue after the last movie of the previous one
+		MovieQuery firstPage = new MovieQuery(null, start, end, null, 2);
+		List<Movies> page = movieCatalog.find(firstPage);
+		Assertions.assertEquals(Arrays.asList(1L, 2L), page.stream().map(Movies::getId).toList());
+		List<Movies> secondPage = movieCatalog.find(firstPage.after(page.get(1)));
+		Assertions.assertEquals(1, secondPage.size());
+		Assertions.assertEquals(3L, secondPage.get(0).getId());
+		Assertions.assertTrue(movieCatalog.find(firstPage.after(secondPage.get(0))).isEmpty());
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Pages walk the indexes in (showtime, id) order from the cursor")
+	public void pagingTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		movieCatalog.getVersion();
+		// saved out of order: 4 shares the showtime of 1, 5 is the earliest showing
+		movieCatalog.onSaved(movie(4L, "Interstellar", LocalDateTime.of(2025, 11, 10, 19, 30), Genre.SCIFI));
+		movieCatalog.onSaved(movie(5L, "Interstellar", LocalDateTime.of(2025, 11, 9, 18, 0), Genre.SCIFI));
+
+		Assertions.assertEquals(List.of(List.of(5L, 1L), List.of(4L, 2L), List.of(3L)),
+			pages(new MovieQuery(null, null, null, null, 2)));
+		Assertions.assertEquals(List.of(List.of(5L, 1L), List.of(4L, 3L)),
+			pages(new MovieQuery(Genre.SCIFI, null, null, null, 2)));
+		Assertions.assertEquals(List.of(List.of(5L), List.of(4L)),
+			pages(new MovieQuery(null, null, null, "interstellar", 1)));
+		Assertions.assertEquals(List.of(List.of(1L, 4L), List.of(2L)),
+			pages(new MovieQuery(null, LocalDateTime.of(2025, 11, 10, 0, 0), LocalDateTime.of(2025, 11, 11, 0, 0),
+				null, 2)));
+	}
+
+	// ids of every page of the query, following the cursor until an empty page
+	private List<List<Long>> pages(MovieQuery query) {
+		List<List<Long>> pages = new ArrayList<>();
+		List<Movies> page = movieCatalog.find(query);
+		while (!page.isEmpty()) {
+			pages.add(page.stream().map(Movies::getId).toList());
+			page = movieCatalog.find(query.after(page.get(page.size() - 1)));
+		}
+		return pages;
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Saved movies are applied without a reload")
+	public void onSavedTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Assertions.assertEquals(2, movieCatalog.findByGenre(Genre.SCIFI).size());
+
+		// movie 3 changes genre and title, a new movie 4 is added
+		movieCatalog.onSaved(movie(3L, "Interstellar", LocalDateTime.of(2025, 11, 12, 15, 0), Genre.DRAMA));
+		movieCatalog.onSaved(movie(4L, "Heat", LocalDateTime.of(2025, 11, 11, 20, 0), Genre.ACTION));
+
+		Assertions.assertEquals(1, movieCatalog.findByGenre(Genre.SCIFI).size());
+		Assertions.assertEquals(1, movieCatalog.findByGenre(Genre.DRAMA).size());
+		Assertions.assertEquals(2, movieCatalog.findByGenre(Genre.ACTION).size());
+		Assertions.assertEquals(1, movieCatalog.findByMovieName("Inception").size());
+		Assertions.assertEquals(1, movieCatalog.findByMovieName("Interstellar").size());
+		Assertions.assertEquals(4, movieCatalog.findAll().size());
+		Assertions.assertEquals(4, movieCatalog.findByShowtimeBetween(LocalDateTime.of(2025, 11, 1, 0, 0),
+			LocalDateTime.of(2025, 11, 30, 0, 0)).size());
+		verify(moviesRepository, times(1)).findAll();
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Invalidation reloads from Postgres")
+	public void invalidateTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		movieCatalog.findAll();
+		movieCatalog.invalidate();
+		movieCatalog.findAll();
+		verify(moviesRepository, times(2)).findAll();
+	}
+
+	private Movies movie(Long id, String name, LocalDateTime showtime, Genre genre) {
+		Movies movie = new Movies(name, showtime, genre);
+		movie.setId(id);
+		movie.setPrice(BigDecimal.valueOf(12.50));
+		return movie;
+	}
+}
@@ -0,0 +1,135 @@
+package com.catalog;
+
+import static org.mockito.Mockito.lenient;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postgres.MovieQuery;
+import com.postgres.MoviesRepository;
+import com.postgres.models.Movies;
+import com.localTopics.PagedMovieListResponse;
+import com.topics.Movie;
+import com.topics.MovieListResponse;
+import com.topics.MovieListRequest.Genre;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class MovieListCacheTest {
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	@Mock
+	private MoviesRepository moviesRepository;
+
+	private MovieCatalog movieCatalog;
+	private MovieListCache movieListCache;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	public void setup() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		movieCatalog = new MovieCatalog(moviesRepository, meterRegistry);
+		movieListCache = new MovieListCache(movieCatalog, meterRegistry, true, true, 2);
+		loads = new AtomicInteger();
+		// the splice test does not touch the catalog
+		lenient().when(moviesRepository.findAll()).thenReturn(Arrays.asList(
+			movie(1L, "Inception", LocalDateTime.of(2025, 11, 10, 19, 30), Genre.SCIFI)));
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Spliced movies array serializes like the full response")
+	public void spliceTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Movie movie = new Movie();
+		movie.setMovieName("Inception");
+		movie.setGenre(Movie.Genre.SCIFI);
+		movie.setShowtime(new Date(1762824600000L));
+		List<Movie> movies = Arrays.asList(movie, movie);
+
+		MovieListResponse response = new MovieListResponse();
+		response.setTopicName("MovieListResponse");
+		response.setCorrelatorId(5555);
+		response.setTimestamp(new Date(1762800000000L));
+		response.setMovies(movies);
+		SerializedMovies serialized = SerializedMovies.of(JSON, movies);
+		Assertions.assertEquals(JSON.writeValueAsString(response),
+			serialized.toResponse(JSON, 5555, new Date(1762800000000L)));
+		Assertions.assertEquals(2, serialized.size());
+
+		// a page with a next page carries its token
+		PagedMovieListResponse page = new PagedMovieListResponse();
+		page.setTopicName("MovieListResponse");
+		page.setCorrelatorId(5555);
+		page.setTimestamp(new Date(1762800000000L));
+		page.setMovies(movies);
+		page.setNextPageToken("next");
+		Assertions.assertEquals(JSON.writeValueAsString(page),
+			SerializedMovies.of(JSON, movies, "next").toResponse(JSON, 5555, new Date(1762800000000L)));
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Cached arrays are dropped when the catalog changes")
+	public void invalidationTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		MovieQuery inception = new MovieQuery(null, null, null, "Inception", 10);
+		SerializedMovies first = movieListCache.get(inception, this::load);
+		Assertions.assertSame(first, movieListCache.get(inception, this::load));
+		Assertions.assertSame(first, movieListCache.get(new MovieQuery(null, null, null, " INCEPTION ", 10), this::load));
+		Assertions.assertEquals(1, loads.get());
+
+		// a write through the service changes the catalog version
+		movieCatalog.onSaved(movie(2L, "Inception", LocalDateTime.of(2025, 11, 12, 15, 0), Genre.SCIFI));
+		Assertions.assertEquals(2, movieListCache.get(inception, this::load).size());
+		Assertions.assertEquals(2, loads.get());
+
+		movieCatalog.invalidate();
+		movieListCache.get(inception, this::load);
+		Assertions.assertEquals(3, loads.get());
+	}
+
+	@Test
+	@DisplayName("[CATALOG] Least recently used array is evicted")
+	public void evictionTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		MovieQuery scifi = new MovieQuery(Genre.SCIFI, null, null, null, 10);
+		MovieQuery action = new MovieQuery(Genre.ACTION, null, null, null, 10);
+		MovieQuery drama = new MovieQuery(Genre.DRAMA, null, null, null, 10);
+		movieListCache.get(scifi, this::load);
+		movieListCache.get(action, this::load);
+		movieListCache.get(scifi, this::load);
+		movieListCache.get(drama, this::load);
+		Assertions.assertEquals(2, movieListCache.size());
+		Assertions.assertEquals(3, loads.get());
+
+		movieListCache.get(scifi, this::load);
+		Assertions.assertEquals(3, loads.get());
+		movieListCache.get(action, this::load);
+		Assertions.assertEquals(4, loads.get());
+	}
+
+	private SerializedMovies load(MovieQuery query) {
+		loads.incrementAndGet();
+		List<Movie> movies = movieCatalog.find(query).stream().map(m -> {
+			Movie movie = new Movie();
+			movie.setMovieName(m.getMovieName());
+			return movie;
+		}).toList();
+		return SerializedMovies.of(JSON, movies);
+	}
+
+	private static Movies movie(Long id, String name, LocalDateTime showtime, Genre genre) {
+		Movies movie = new Movies(name, showtime, genre);
+		movie.setId(id);
+		return movie;
+	}
+}
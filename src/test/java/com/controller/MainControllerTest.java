@@ -1,5 +1,125 @@
 package com.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.ResponseEntity;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.ReactiveBusinessLogic;
+import com.decoder.TopicDecoder;
+import com.dispatch.CreateTicketRequestHandler;
+import com.dispatch.TopicRegistry;
+import com.dispatch.TopicStages;
+import com.schema.SchemaRegistry;
+import com.schema.SchemaValidator;
+import com.topics.CreateTicketRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
 public class MainControllerTest {
-    
+    @Mock
+    private BusinessLogic businessLogic;
+    @Mock
+    private ReactiveBusinessLogic reactiveBusinessLogic;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MainController mainController;
+    private ReactiveMainController reactiveMainController;
+
+    private static final byte[] TICKET_REQUEST = """
+        {
+            "topicName": "CreateTicketRequest",
+            "correlatorId": 5557,
+            "movie": {
+                "movieName": "Inception",
+                "showtime": "2025-11-10T19:30:00-06:00",
+                "genre": "SCIFI"
+            },
+            "seatNumber": "A3"
+        }
+        """.getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        TopicDecoder topicDecoder = new TopicDecoder();
+        TopicRegistry topicRegistry = new TopicRegistry(List.of(
+                new CreateTicketRequestHandler(businessLogic, reactiveBusinessLogic)), meterRegistry);
+        SchemaValidator schemaValidator = new SchemaValidator(new DefaultResourceLoader(),
+                new SchemaRegistry(new DefaultResourceLoader(), meterRegistry), meterRegistry);
+        mainController = new MainController(schemaValidator, topicDecoder, topicRegistry, meterRegistry);
+        reactiveMainController = new ReactiveMainController(schemaValidator, topicDecoder, topicRegistry,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("[CONTROLLER] Every stage of a topic request is timed by topic and outcome")
+    public void stageTimersTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        // stages recorded on the request thread (a query inside the business logic) join the request
+        when(businessLogic.processTicketRequest(any(CreateTicketRequest.class))).thenAnswer(invocation -> {
+            TopicStages.record("postgres.reserve_ticket", System.nanoTime());
+            return ResponseEntity.status(409).body("A ticket already exists");
+        });
+
+        Assertions.assertEquals(409, mainController.processRestTopics(TICKET_REQUEST).getStatusCode().value());
+        for (String stage : List.of(TopicStages.PARSE, TopicStages.SCHEMA_VALIDATION, TopicStages.BIND,
+                "postgres.reserve_ticket")) {
+            Assertions.assertEquals(1, stageCount("CreateTicketRequest", stage, "409"), stage);
+        }
+
+        // unsupported and malformed topics are tagged unknown and never reach binding
+        byte[] unknown = "{\"topicName\": \"PaymentRequest\", \"correlatorId\": 1}".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(400, mainController.processRestTopics(unknown).getStatusCode().value());
+        Assertions.assertEquals(400, mainController.processRestTopics("{".getBytes(StandardCharsets.UTF_8))
+                .getStatusCode().value());
+        Assertions.assertEquals(2, stageCount(TopicStages.UNKNOWN_TOPIC, TopicStages.PARSE, "400"));
+        Assertions.assertEquals(1, stageCount(TopicStages.UNKNOWN_TOPIC, TopicStages.SCHEMA_VALIDATION, "400"));
+        Assertions.assertNull(meterRegistry.find(TopicStages.STAGE_TIMER)
+                .tags("topic", TopicStages.UNKNOWN_TOPIC, "stage", TopicStages.BIND).timer());
+        Assertions.assertEquals(1, meterRegistry.get(SchemaValidator.VALIDATION_FAILURES)
+                .tag("topic", TopicStages.UNKNOWN_TOPIC).counter().count());
+
+        // a schema violation is counted under its topic
+        byte[] invalid = new String(TICKET_REQUEST, StandardCharsets.UTF_8).replace("\"A3\"", "3")
+                .getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(400, mainController.processRestTopics(invalid).getStatusCode().value());
+        Assertions.assertEquals(1, meterRegistry.get(SchemaValidator.VALIDATION_FAILURES)
+                .tag("topic", "CreateTicketRequest").counter().count());
+    }
+
+    @Test
+    @DisplayName("[CONTROLLER] Reactive topic requests carry their stages through the Reactor context")
+    public void reactiveStageTimersTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        // the handler's Mono finds the request's stages in its context, on whichever thread it runs
+        when(reactiveBusinessLogic.processTicketRequest(any(CreateTicketRequest.class))).thenReturn(
+                Mono.deferContextual(context -> {
+                    TopicStages.of(context).add(TopicStages.TICKETING_MANAGER, 1_000_000);
+                    return Mono.just(ResponseEntity.ok("{\"ticketId\":8060002}"));
+                }));
+
+        ResponseEntity<Object> response = reactiveMainController.processRestTopics(TICKET_REQUEST).block();
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        for (String stage : List.of(TopicStages.PARSE, TopicStages.SCHEMA_VALIDATION, TopicStages.BIND,
+                TopicStages.TICKETING_MANAGER)) {
+            Assertions.assertEquals(1, stageCount("CreateTicketRequest", stage, "200"), stage);
+        }
+    }
+
+    private long stageCount(String topic, String stage, String outcome) {
+        return meterRegistry.get(TopicStages.STAGE_TIMER)
+                .tags("topic", topic, "stage", stage, "outcome", outcome).timer().count();
+    }
 }
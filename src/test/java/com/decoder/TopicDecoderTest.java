@@ -0,0 +1,95 @@
+package com.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.schema.SchemaRegistry;
+import com.schema.SchemaValidator;
+import com.topics.CreateTicketRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TopicDecoderTest {
+	private TopicDecoder topicDecoder = new TopicDecoder();
+	private SchemaValidator schemaValidator = new SchemaValidator(new DefaultResourceLoader(),
+			new SchemaRegistry(new DefaultResourceLoader(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+
+	@Test
+	@DisplayName("[DECODER] Validate and bind CreateTicketRequest from one tree")
+	public void decodeCreateTicketRequestTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		byte[] body = """
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5557,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "C5"
+			}
+			""".getBytes(StandardCharsets.UTF_8);
+
+		JsonNode tree = topicDecoder.readTree(body);
+		Assertions.assertEquals("CreateTicketRequest", topicDecoder.topicName(tree));
+		Assertions.assertTrue(schemaValidator.validateJson("CreateTicketRequest", tree));
+
+		CreateTicketRequest request = topicDecoder.bind(tree, CreateTicketRequest.class);
+		assertNotNull(request);
+		Assertions.assertEquals("Inception", request.getMovie().getMovieName());
+		Assertions.assertEquals("C5", request.getSeatNumber());
+	}
+
+	@Test
+	@DisplayName("[DECODER] Invalid MovieListRequest fails validation on the tree")
+	public void decodeInvalidMovieListRequestTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		byte[] body = """
+			{
+				"topicName": "MovieListRequest",
+				"correlatorId": 5555
+			}
+			""".getBytes(StandardCharsets.UTF_8);
+
+		JsonNode tree = topicDecoder.readTree(body);
+		Assertions.assertFalse(schemaValidator.validateJson(topicDecoder.topicName(tree), tree));
+	}
+
+	@Test
+	@DisplayName("[DECODER] Missing topicName")
+	public void missingTopicNameTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		JsonNode tree = topicDecoder.readTree("{\"correlatorId\": 1}".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertNull(topicDecoder.topicName(tree));
+		Assertions.assertFalse(schemaValidator.validateJson(null, tree));
+	}
+
+	@Test
+	@DisplayName("[DECODER] Batch of topics as a JSON array or NDJSON")
+	public void readTopicsTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		byte[] array = """
+			[
+				{"topicName": "MovieListRequest", "correlatorId": 1, "genre": "ACTION"},
+				{"topicName": "MovieListRequest", "correlatorId": 2, "genre": "DRAMA"}
+			]
+			""".getBytes(StandardCharsets.UTF_8);
+		byte[] ndjson = """
+			{"topicName": "MovieListRequest", "correlatorId": 1, "genre": "ACTION"}
+			{"topicName": "MovieListRequest", "correlatorId": 2, "genre": "DRAMA"}
+			""".getBytes(StandardCharsets.UTF_8);
+
+		Assertions.assertEquals(topicDecoder.readTopics(array), topicDecoder.readTopics(ndjson));
+		Assertions.assertEquals(2, topicDecoder.readTopics(ndjson).size());
+		Assertions.assertEquals(2, topicDecoder.readTopics(ndjson).get(1).get("correlatorId").intValue());
+		Assertions.assertTrue(topicDecoder.readTopics(new byte[0]).isEmpty());
+		Assertions.assertThrows(IOException.class,
+				() -> topicDecoder.readTopics("{\"topicName\": ".getBytes(StandardCharsets.UTF_8)));
+	}
+}
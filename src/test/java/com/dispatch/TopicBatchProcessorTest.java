@@ -0,0 +1,101 @@
+package com.dispatch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.ResponseEntity;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.ReactiveBusinessLogic;
+import com.decoder.TopicDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schema.SchemaRegistry;
+import com.schema.SchemaValidator;
+import com.topics.CreateTicketRequest;
+import com.topics.MovieListRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class TopicBatchProcessorTest {
+	@Mock
+	private BusinessLogic businessLogic;
+	@Mock
+	private ReactiveBusinessLogic reactiveBusinessLogic;
+
+	private TopicDecoder topicDecoder = new TopicDecoder();
+	private TopicBatchProcessor topicBatchProcessor;
+
+	@BeforeEach
+	public void setup() {
+		TopicRegistry topicRegistry = new TopicRegistry(List.of(
+				new CreateTicketRequestHandler(businessLogic, reactiveBusinessLogic),
+				new MovieListRequestHandler(businessLogic, reactiveBusinessLogic)), new SimpleMeterRegistry());
+		SchemaValidator schemaValidator = new SchemaValidator(new DefaultResourceLoader(),
+				new SchemaRegistry(new DefaultResourceLoader(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+		topicBatchProcessor = new TopicBatchProcessor(schemaValidator, topicDecoder, topicRegistry);
+	}
+
+	@Test
+	@DisplayName("[DISPATCH] Batch results in order, list requests coalesced, failures isolated")
+	public void processBatchTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		byte[] body = """
+			{"topicName": "MovieListRequest", "correlatorId": 1, "genre": "ACTION"}
+			{"topicName": "MovieListRequest", "correlatorId": 2}
+			{"topicName": "CreateTicketRequest", "correlatorId": 3, "movie": {"movieName": "Inception", "showtime": "2025-11-10T19:30:00-06:00", "genre": "SCIFI"}, "seatNumber": "C5"}
+			{"topicName": "MovieListRequest", "correlatorId": 4, "genre": "DRAMA"}
+			{"topicName": "PaymentRequest", "correlatorId": 5}
+			{"topicName": "CreateTicketRequest", "correlatorId": 6, "movie": {"movieName": "Inception", "showtime": "2025-11-10T19:30:00-06:00", "genre": "SCIFI"}, "seatNumber": "C6"}
+			""".getBytes(StandardCharsets.UTF_8);
+
+		when(reactiveBusinessLogic.processListRequests(any())).thenAnswer(invocation -> {
+			List<MovieListRequest> requests = invocation.getArgument(0);
+			return Mono.just(requests.stream()
+					.map(r -> ResponseEntity.accepted().<Object>body("{\"correlatorId\":" + r.getCorrelatorId() + "}"))
+					.toList());
+		});
+		when(reactiveBusinessLogic.processTicketRequest(argThat(r -> r != null && "C5".equals(r.getSeatNumber()))))
+			.thenReturn(Mono.just(ResponseEntity.ok("{\"ticketId\":8060000}")));
+		when(reactiveBusinessLogic.processTicketRequest(argThat(r -> r != null && "C6".equals(r.getSeatNumber()))))
+			.thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+
+		List<TopicResult> results = topicBatchProcessor.process(topicDecoder.readTopics(body)).collectList().block();
+
+		Assertions.assertEquals(6, results.size());
+		for (int i = 0; i < results.size(); i++) {
+			Assertions.assertEquals(i, results.get(i).index());
+			Assertions.assertEquals(i + 1, results.get(i).correlatorId());
+		}
+		Assertions.assertEquals(202, results.get(0).status());
+		Assertions.assertEquals("{\"correlatorId\":1}", results.get(0).response());
+		Assertions.assertEquals(400, results.get(1).status());
+		Assertions.assertEquals("Schema Validation Failed for topic: MovieListRequest", results.get(1).error());
+		Assertions.assertEquals(200, results.get(2).status());
+		Assertions.assertEquals("{\"correlatorId\":4}", results.get(3).response());
+		// no schema for an unknown topic, same answer as /api/v1/processTopic
+		Assertions.assertEquals("Schema Validation Failed for topic: PaymentRequest", results.get(4).error());
+		Assertions.assertEquals(500, results.get(5).status());
+
+		// both valid list requests in one call, tickets one by one
+		verify(reactiveBusinessLogic, times(1)).processListRequests(argThat(r -> r.size() == 2));
+		verify(reactiveBusinessLogic, never()).processListRequest(any());
+		verify(reactiveBusinessLogic, times(2)).processTicketRequest(any(CreateTicketRequest.class));
+
+		String json = new ObjectMapper().writeValueAsString(results.get(0));
+		Assertions.assertEquals("{\"index\":0,\"correlatorId\":1,\"status\":202,\"response\":{\"correlatorId\":1}}", json);
+	}
+}
@@ -0,0 +1,134 @@
+package com.dispatch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.ReactiveBusinessLogic;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topics.CreateTicketRequest;
+import com.topics.MovieListRequest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class TopicRegistryTest {
+	@Mock
+	private BusinessLogic businessLogic;
+	@Mock
+	private ReactiveBusinessLogic reactiveBusinessLogic;
+
+	private SimpleMeterRegistry meterRegistry;
+	private TopicRegistry topicRegistry;
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@BeforeEach
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		topicRegistry = new TopicRegistry(List.of(new CreateTicketRequestHandler(businessLogic, reactiveBusinessLogic),
+				new MovieListRequestHandler(businessLogic, reactiveBusinessLogic)), meterRegistry);
+	}
+
+	@Test
+	@DisplayName("[DISPATCH] MovieListRequest is routed to processListRequest")
+	public void dispatchMovieListRequestTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		JsonNode tree = objectMapper.readTree("""
+			{
+				"topicName": "MovieListRequest",
+				"correlatorId": 5555,
+				"genre": "ACTION"
+			}
+			""");
+		when(businessLogic.processListRequest(any(MovieListRequest.class)))
+			.thenReturn(ResponseEntity.accepted().body("list"));
+
+		ResponseEntity<Object> response = topicRegistry.dispatch("MovieListRequest", tree);
+		topicRegistry.dispatch("MovieListRequest", tree);
+
+		Assertions.assertEquals("list", response.getBody());
+		Assertions.assertEquals(2, topicRegistry.getInvocationCount("MovieListRequest"));
+		Assertions.assertEquals(0, topicRegistry.getInvocationCount("CreateTicketRequest"));
+		Timer timer = meterRegistry.get(TopicRegistry.DISPATCH_TIMER)
+			.tag("topic", "MovieListRequest").timer();
+		Assertions.assertEquals(2, timer.count());
+	}
+
+	@Test
+	@DisplayName("[DISPATCH] CreateTicketRequest is routed to processTicketRequest")
+	public void dispatchCreateTicketRequestTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		JsonNode tree = objectMapper.readTree("""
+			{
+				"topicName": "CreateTicketRequest",
+				"correlatorId": 5557,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "C5"
+			}
+			""");
+		when(businessLogic.processTicketRequest(any(CreateTicketRequest.class)))
+			.thenReturn(ResponseEntity.ok("ticket"));
+
+		ResponseEntity<Object> response = topicRegistry.dispatch("CreateTicketRequest", tree);
+
+		Assertions.assertEquals("ticket", response.getBody());
+		Assertions.assertEquals(1, topicRegistry.getInvocationCount("CreateTicketRequest"));
+	}
+
+	@Test
+	@DisplayName("[DISPATCH] Reactive dispatch is routed to the ReactiveBusinessLogic")
+	public void dispatchReactiveTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		JsonNode tree = objectMapper.readTree("""
+			{
+				"topicName": "MovieListRequest",
+				"correlatorId": 5555,
+				"genre": "ACTION"
+			}
+			""");
+		when(reactiveBusinessLogic.processListRequest(any(MovieListRequest.class)))
+			.thenReturn(Mono.just(ResponseEntity.accepted().body("list")));
+
+		Mono<ResponseEntity<Object>> response = topicRegistry.dispatchReactive("MovieListRequest", tree);
+
+		// nothing runs until the Mono is subscribed
+		Assertions.assertEquals(0, topicRegistry.getInvocationCount("MovieListRequest"));
+		Assertions.assertEquals("list", response.block().getBody());
+		Assertions.assertEquals(1, topicRegistry.getInvocationCount("MovieListRequest"));
+		Assertions.assertNull(topicRegistry.dispatchReactive("PaymentRequest", tree));
+	}
+
+	@Test
+	@DisplayName("[DISPATCH] Unknown topic has no handler")
+	public void unknownTopicTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Assertions.assertFalse(topicRegistry.supports("PaymentRequest"));
+		Assertions.assertNull(topicRegistry.dispatch("PaymentRequest", objectMapper.readTree("{}")));
+		Assertions.assertNull(topicRegistry.dispatch(null, objectMapper.readTree("{}")));
+	}
+
+	@Test
+	@DisplayName("[DISPATCH] Duplicate handlers are rejected at startup")
+	public void duplicateHandlerTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Assertions.assertThrows(IllegalStateException.class, () -> new TopicRegistry(
+				List.of(new MovieListRequestHandler(businessLogic, reactiveBusinessLogic),
+						new MovieListRequestHandler(businessLogic, reactiveBusinessLogic)),
+				new SimpleMeterRegistry()));
+	}
+}
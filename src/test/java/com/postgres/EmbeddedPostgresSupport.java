@@ -0,0 +1,104 @@
+package com.postgres;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.postgresql.ds.PGSimpleDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/*
+ * Postgres for the database tests and benchmarks, no Docker/Testcontainers needed. Starts an
+ * embedded Postgres once per JVM, or uses a local one when -Dpostgres.url is set
+ * (e.g. the compose.yml database), then applies the Flyway migrations from db/migration.
+ */
+public final class EmbeddedPostgresSupport {
+    private static DataSource dataSource;
+
+    private EmbeddedPostgresSupport() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            dataSource = start();
+            // driver setting of the application datasource (application-*.properties)
+            ((PGSimpleDataSource) dataSource).setReWriteBatchedInserts(true);
+            flyway(dataSource, "latest").migrate();
+        }
+        return dataSource;
+    }
+
+    /*
+     * spring.datasource.* pointing a full application context at the same database
+     */
+    public static Map<String, Object> springProperties() {
+        PGSimpleDataSource pg = (PGSimpleDataSource) dataSource();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", pg.getUrl());
+        properties.put("spring.datasource.username", pg.getUser());
+        properties.put("spring.datasource.password", pg.getPassword() == null ? "" : pg.getPassword());
+        return properties;
+    }
+
+    /*
+     * Empty database on the same server, dropped and created again on every call, for tests that
+     * run the migrations themselves (see flyway(DataSource, String))
+     */
+    public static synchronized DataSource freshDatabase(String name) {
+        PGSimpleDataSource server = (PGSimpleDataSource) dataSource();
+        try (Connection connection = server.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name);
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to create database " + name, e);
+        }
+        PGSimpleDataSource fresh = new PGSimpleDataSource();
+        fresh.setUrl(server.getUrl());
+        fresh.setDatabaseNames(new String[] {name});
+        fresh.setUser(server.getUser());
+        fresh.setPassword(server.getPassword());
+        return fresh;
+    }
+
+    /*
+     * the migrations of db/migration up to and including the target version ("latest" for all)
+     */
+    public static Flyway flyway(DataSource dataSource, String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .schemas("movie_service")
+                .createSchemas(true)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .target(target)
+                .load();
+    }
+
+    private static DataSource start() {
+        String url = System.getProperty("postgres.url");
+        if (url != null) {
+            PGSimpleDataSource local = new PGSimpleDataSource();
+            local.setUrl(url);
+            local.setUser(System.getProperty("postgres.user", "user"));
+            local.setPassword(System.getProperty("postgres.password", "password"));
+            return local;
+        }
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (Exception e) {
+                    // JVM is exiting
+                }
+            }));
+            return postgres.getPostgresDatabase();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to start embedded Postgres", e);
+        }
+    }
+}
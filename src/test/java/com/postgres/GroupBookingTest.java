@@ -0,0 +1,110 @@
+package com.postgres;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.catalog.MovieCatalog;
+import com.postgres.models.MovieTicket;
+import com.topics.MovieListRequest.Genre;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Group bookings and bulk saves inserted as batches against a real (embedded) Postgres, a sold
+ * seat in the group must leave none of its tickets behind
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PostgresService.class, MovieCatalog.class})
+public class GroupBookingTest {
+    private static final String MOVIE = "Group Booking Test";
+    private static final LocalDateTime SHOWTIME = LocalDateTime.of(2031, 3, 1, 20, 0);
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+        @Bean
+        DataSource dataSource() {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private PostgresService postgresService;
+    @Autowired
+    private TicketsRespository ticketsRespository;
+
+    @AfterEach
+    void cleanup() {
+        ticketsRespository.deleteAll(ticketsRespository.findByMovieName(MOVIE));
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Group tickets are inserted all or none")
+    void allOrNothing(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        Assertions.assertTrue(postgresService.bookTickets(tickets(8061100, "B1", "B2", "B3", "B4")));
+        Assertions.assertEquals(4, ticketsRespository.findByMovieName(MOVIE).size());
+        Assertions.assertEquals("8061102", ticketsRespository.findByNameTimeSeat(MOVIE, SHOWTIME, "B3")
+                .get(0).getTicketId());
+
+        // B4 is sold, C1 and C2 must not be inserted either
+        Assertions.assertFalse(postgresService.bookTickets(tickets(8061200, "C1", "C2", "B4")));
+        Assertions.assertEquals(4, ticketsRespository.findByMovieName(MOVIE).size());
+        Assertions.assertTrue(ticketsRespository.findByNameTimeSeat(MOVIE, SHOWTIME, "C1").isEmpty());
+
+        // the seats are free for the next group
+        Assertions.assertTrue(postgresService.bookTickets(tickets(8061300, "C1", "C2")));
+        Assertions.assertEquals(6, ticketsRespository.findByMovieName(MOVIE).size());
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Bulk saved tickets take pooled ids next to native inserts")
+    void pooledIds(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        List<MovieTicket> saved = new ArrayList<>(postgresService.saveTickets(tickets(8061400, "D1", "D2", "D3")));
+        // the native insert draws from the same sequence, its id lies outside Hibernate's block
+        Assertions.assertTrue(postgresService.bookTickets(tickets(8061500, "D4")));
+        saved.addAll(postgresService.saveTickets(tickets(8061600, "D5", "D6")));
+
+        Set<Long> ids = new HashSet<>();
+        ticketsRespository.findByMovieName(MOVIE).forEach(ticket -> ids.add(ticket.getId()));
+        Assertions.assertEquals(6, ids.size());
+        saved.forEach(ticket -> Assertions.assertTrue(ids.contains(ticket.getId())));
+    }
+
+    private static List<MovieTicket> tickets(int firstTicketId, String... seats) {
+        List<MovieTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < seats.length; i++) {
+            MovieTicket ticket = new MovieTicket(MOVIE, SHOWTIME, Genre.DRAMA);
+            ticket.setSeat(seats[i]);
+            ticket.setTicketId(String.valueOf(firstTicketId + i));
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+}
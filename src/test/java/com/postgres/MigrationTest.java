@@ -0,0 +1,110 @@
+package com.postgres;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/*
+ * Migrations applied to data an older release could have left behind, each test migrates a
+ * database of its own up to the version before, seeds the rows and migrates the rest of the way
+ */
+public class MigrationTest {
+
+    @Test
+    @DisplayName("[POSTGRES] V9 builds the unique seat index over a seat sold twice")
+    void seatSoldTwiceBeforeV9(TestInfo testInfo) throws SQLException {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        DataSource dataSource = EmbeddedPostgresSupport.freshDatabase("migration_v9");
+        EmbeddedPostgresSupport.flyway(dataSource, "8").migrate();
+
+        // the seeded Inception A2 ticket sold once more, as check-then-insert allowed
+        execute(dataSource, """
+            INSERT INTO movie_service.tickets (movie_name, showtime, genre, seat, ticket_id)
+            SELECT movie_name, showtime, genre, seat, '8069999'
+            FROM movie_service.tickets
+            WHERE movie_name = 'Inception' AND seat = 'A2'
+            """);
+        Assertions.assertEquals(List.of("8061234", "8069999"), ticketIds(dataSource, "A2"));
+
+        EmbeddedPostgresSupport.flyway(dataSource, "latest").migrate();
+
+        Assertions.assertEquals(List.of("8061234"), ticketIds(dataSource, "A2"));
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] V12 folds a seat sold under two spellings of the title into one ticket")
+    void caseVariantSeatsBeforeV12(TestInfo testInfo) throws SQLException {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        DataSource dataSource = EmbeddedPostgresSupport.freshDatabase("migration_v12");
+        EmbeddedPostgresSupport.flyway(dataSource, "11").migrate();
+
+        // Inception A2 sold again as 'inception' and 'INCEPTION', the case-sensitive V9 index let
+        // both in, and A3 sold once as 'inception'
+        seatSoldAs(dataSource, "inception", "A2", "8069998");
+        seatSoldAs(dataSource, "INCEPTION", "A2", "8069999");
+        seatSoldAs(dataSource, "inception", "A3", "8069997");
+        Assertions.assertEquals(List.of("8061234", "8069998", "8069999"), ticketIds(dataSource, "A2"));
+
+        EmbeddedPostgresSupport.flyway(dataSource, "latest").migrate();
+
+        Assertions.assertEquals(List.of("8061234"), ticketIds(dataSource, "A2"));
+        Assertions.assertEquals(List.of("8069997"), ticketIds(dataSource, "A3"));
+        Assertions.assertEquals(List.of("Inception"), movieNames(dataSource));
+    }
+
+    /*
+     * a ticket for a seat of the seeded Inception showing, sold under the given spelling
+     */
+    private static void seatSoldAs(DataSource dataSource, String movieName, String seat, String ticketId)
+            throws SQLException {
+        execute(dataSource, "INSERT INTO movie_service.tickets (movie_name, showtime, genre, seat, ticket_id)"
+            + " SELECT '" + movieName + "', showtime, genre, '" + seat + "', '" + ticketId + "'"
+            + " FROM movie_service.tickets WHERE movie_name = 'Inception' AND seat = 'A2'");
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /*
+     * ticket numbers sold for a seat of the Inception showing, whatever the case of the title, by id
+     */
+    private static List<String> ticketIds(DataSource dataSource, String seat) throws SQLException {
+        List<String> ticketIds = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT ticket_id FROM movie_service.tickets"
+                    + " WHERE lower(movie_name) = 'inception' AND seat = '" + seat + "' ORDER BY id")) {
+            while (rows.next()) {
+                ticketIds.add(rows.getString(1));
+            }
+        }
+        return ticketIds;
+    }
+
+    /*
+     * spellings of the Inception title left on its tickets
+     */
+    private static List<String> movieNames(DataSource dataSource) throws SQLException {
+        List<String> movieNames = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT DISTINCT movie_name FROM movie_service.tickets"
+                    + " WHERE lower(movie_name) = 'inception'")) {
+            while (rows.next()) {
+                movieNames.add(rows.getString(1));
+            }
+        }
+        return movieNames;
+    }
+}
@@ -0,0 +1,150 @@
+package com.postgres;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.catalog.MovieCatalog;
+import com.postgres.models.Movies;
+import com.topics.MovieListRequest.Genre;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Searches of one batch answered by a single combined query must return what each search returns
+ * on its own, including when the combined query hits its row limit
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.enabled=false",
+    "movie.catalog.enabled=false",
+    "movie.query.max-results=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PostgresService.class, MovieCatalog.class})
+public class MovieBatchQueryTest {
+    private static final String PREFIX = "Batch Query ";
+    private static final LocalDateTime DAY = LocalDateTime.of(2031, 1, 1, 0, 0);
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+        @Bean
+        DataSource dataSource() {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private PostgresService postgresService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // 8 ACTION showings, then 2 DRAMA showings after them
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.update("INSERT INTO movie_service.movies (movie_name, showtime, genre, seats, price)"
+                    + " VALUES (?, ?, ?, '{}'::jsonb, 10.00)", PREFIX + i, DAY.plusHours(i),
+                    i < 8 ? "ACTION" : "DRAMA");
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM movie_service.movies WHERE movie_name LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Coalesced batch searches match the individual searches")
+    void coalescedSearches(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        MovieQuery action = new MovieQuery(Genre.ACTION, DAY, DAY.plusDays(1), null, Integer.MAX_VALUE);
+        MovieQuery drama = new MovieQuery(Genre.DRAMA, DAY, DAY.plusDays(1), null, Integer.MAX_VALUE);
+        MovieQuery title = new MovieQuery(null, null, null, " batch query 9 ", Integer.MAX_VALUE);
+        MovieQuery secondPage = postgresService.findMovies(action).next();
+
+        // first pages share one query, the later page seeks past its cursor on its own
+        Map<MovieQuery, MoviePage> batch = postgresService.findMovies(
+                List.of(action, drama, action, title, secondPage));
+
+        Assertions.assertEquals(4, batch.size());
+        for (MovieQuery query : List.of(action, drama, title, secondPage)) {
+            Assertions.assertEquals(names(postgresService.findMovies(query).movies()),
+                    names(batch.get(query).movies()), query.toString());
+        }
+        Assertions.assertEquals(List.of(PREFIX + 0, PREFIX + 1, PREFIX + 2), names(batch.get(action).movies()));
+        Assertions.assertTrue(batch.get(action).hasNext());
+        Assertions.assertEquals(List.of(PREFIX + 8, PREFIX + 9), names(batch.get(drama).movies()));
+        Assertions.assertFalse(batch.get(drama).hasNext());
+        Assertions.assertEquals(List.of(PREFIX + 3, PREFIX + 4, PREFIX + 5), names(batch.get(secondPage).movies()));
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Page tokens walk every match exactly once")
+    void keysetPages(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        // two showings at the same time, the id breaks the tie
+        jdbcTemplate.update("INSERT INTO movie_service.movies (movie_name, showtime, genre, seats, price)"
+                + " VALUES (?, ?, 'ACTION', '{}'::jsonb, 10.00)", PREFIX + "tie", DAY.plusHours(2));
+        MovieQuery query = new MovieQuery(Genre.ACTION, DAY, DAY.plusDays(1), null, 3);
+
+        List<String> walked = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        MoviePage page = postgresService.findMovies(query);
+        while (true) {
+            walked.addAll(names(page.movies()));
+            sizes.add(page.movies().size());
+            if (!page.hasNext()) {
+                break;
+            }
+            // the token round-trips to the same cursor
+            page = postgresService.findMovies(query.withPageToken(page.next().getPageToken()));
+        }
+        Assertions.assertEquals(List.of(3, 3, 3), sizes);
+        Assertions.assertEquals(List.of(PREFIX + 0, PREFIX + 1, PREFIX + 2, PREFIX + "tie", PREFIX + 3,
+                PREFIX + 4, PREFIX + 5, PREFIX + 6, PREFIX + 7), walked);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> query.withPageToken("not-a-token"));
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Streamed search returns every match in order, uncapped")
+    void streamedSearch(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        MovieQuery action = new MovieQuery(Genre.ACTION, DAY, DAY.plusDays(1), null, Integer.MAX_VALUE);
+        List<Movies> streamed = new ArrayList<>();
+        int count = postgresService.streamMovies(action, streamed::add);
+
+        // movie.query.max-results=3 does not apply
+        Assertions.assertEquals(8, count);
+        Assertions.assertEquals(List.of(PREFIX + 0, PREFIX + 1, PREFIX + 2, PREFIX + 3, PREFIX + 4,
+                PREFIX + 5, PREFIX + 6, PREFIX + 7), names(streamed));
+        Assertions.assertEquals(0, postgresService.streamMovies(
+                new MovieQuery(Genre.HORROR, DAY, DAY.plusDays(1), null, 10), streamed::add));
+    }
+
+    private static List<String> names(List<Movies> movies) {
+        return movies.stream().map(Movies::getMovieName).toList();
+    }
+}
@@ -0,0 +1,151 @@
+package com.postgres;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import com.catalog.MovieCatalog;
+import com.postgres.models.Movies;
+import com.topics.MovieListRequest.Genre;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Concurrent identical movie searches must reach the database once
+ */
+@ExtendWith(MockitoExtension.class)
+public class MovieQueryCoalescingTest {
+    private static final int CALLERS = 16;
+
+    @InjectMocks
+    private PostgresService postgresService;
+    @Mock
+    private MoviesRepository movieRepository;
+    @Mock
+    private TicketsRespository ticketsRespository;
+    @Mock
+    private MovieCatalog movieCatalog;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        postgresService.init();
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Identical concurrent searches share one query")
+    @SuppressWarnings("unchecked")
+    void coalescesIdenticalSearches(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        LocalDateTime from = LocalDateTime.of(2025, 11, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 11, 11, 0, 0);
+        Movies movie = new Movies();
+        movie.setMovieName("Inception");
+        movie.setGenre(Genre.SCIFI);
+        movie.setShowtime(LocalDateTime.of(2025, 11, 10, 19, 30));
+
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return new SliceImpl<>(List.of(movie));
+        }).when(movieRepository).findBy(any(Specification.class), any());
+
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        List<Future<MoviePage>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                // the name differs in case and spacing only, the normalized queries are equal
+                String name = i % 2 == 0 ? "Inception" : " INCEPTION ";
+                results.add(pool.submit(() -> postgresService.findMovies(
+                        new MovieQuery(Genre.SCIFI, from, to, name, 50))));
+            }
+            // hold the leader's query until every other caller has joined it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (followers() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<MoviePage> result : results) {
+                Assertions.assertEquals(List.of(movie), result.get(10, TimeUnit.SECONDS).movies());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(movieRepository, times(1)).findBy(any(Specification.class), any());
+        Assertions.assertEquals(CALLERS - 1, followers());
+        Assertions.assertEquals((CALLERS - 1) / (double) CALLERS,
+                meterRegistry.get("movie.query.coalescing.ratio").gauge().value(), 0.0001);
+
+        // nothing is cached, a later search queries again
+        postgresService.findMovies(new MovieQuery(Genre.SCIFI, from, to, "Inception", 50));
+        verify(movieRepository, times(2)).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] A failed shared query fails every waiting caller")
+    void sharesFailure(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> singleFlight.execute("key", key -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("database unavailable");
+            }));
+            started.await(10, TimeUnit.SECONDS);
+            Future<String> follower = pool.submit(() -> singleFlight.execute("key", key -> "not run"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (meterRegistry.get("test.coalescing").tag("role", "follower").counter().count() < 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> caller : List.of(leader, follower)) {
+                ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                        () -> caller.get(10, TimeUnit.SECONDS));
+                Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        // the failure is not remembered
+        Assertions.assertEquals("retried", singleFlight.execute("key", key -> "retried"));
+    }
+
+    private double followers() {
+        return meterRegistry.get("movie.query.coalescing").tag("role", "follower").counter().count();
+    }
+}
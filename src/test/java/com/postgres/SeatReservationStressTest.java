@@ -0,0 +1,132 @@
+package com.postgres;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.postgres.models.MovieTicket;
+
+/*
+ * Many threads booking the same seat at once against a real (embedded) Postgres, exactly one
+ * booking may win
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SeatReservationStressTest {
+    private static final String MOVIE = "Seat Stress Test";
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+        @Bean
+        DataSource dataSource() {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+    }
+
+    @Autowired
+    private TicketsRespository ticketsRespository;
+
+    @AfterEach
+    void cleanup() {
+        ticketsRespository.deleteAll(ticketsRespository.findByMovieName(MOVIE));
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Concurrent bookings of one seat produce a single ticket")
+    void hammerSingleSeat(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        LocalDateTime showtime = LocalDateTime.of(2025, 11, 10, 19, 30);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int booked = 0;
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        String ticketId = String.format("%07d", thread * ATTEMPTS_PER_THREAD + i);
+                        booked += ticketsRespository.reserveSeat(MOVIE, showtime, "SCIFI", "C5", ticketId);
+                    }
+                    return booked;
+                }));
+            }
+            start.countDown();
+
+            int booked = 0;
+            for (Future<Integer> result : results) {
+                booked += result.get();
+            }
+            Assertions.assertEquals(1, booked);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<MovieTicket> tickets = ticketsRespository.findByNameTimeSeat(MOVIE, showtime, "C5");
+        Assertions.assertEquals(1, tickets.size());
+        // a different seat of the same showing is still free
+        Assertions.assertEquals(1, ticketsRespository.reserveSeat(MOVIE, showtime, "SCIFI", "C6", "9999999"));
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Seat is sold once whatever the case of the title")
+    void titleCaseConflict(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        LocalDateTime showtime = LocalDateTime.of(2025, 11, 10, 17, 15);
+
+        Assertions.assertEquals(1, ticketsRespository.reserveSeat(MOVIE, showtime, "DRAMA", "E2", "8061000"));
+        Assertions.assertEquals(0, ticketsRespository.reserveSeat(MOVIE.toUpperCase(), showtime, "DRAMA", "E2",
+            "8061001"));
+        Assertions.assertEquals(0, ticketsRespository.reserveSeat(MOVIE.toLowerCase(), showtime, "DRAMA", "E2",
+            "8061002"));
+        List<MovieTicket> tickets = ticketsRespository.findByNameTimeSeat(MOVIE.toLowerCase(), showtime, "E2");
+        Assertions.assertEquals(1, tickets.size());
+        Assertions.assertEquals(MOVIE, tickets.get(0).getMovieName());
+    }
+
+    @Test
+    @DisplayName("[POSTGRES] Held seat is confirmed or released")
+    void holdConfirmRelease(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        LocalDateTime showtime = LocalDateTime.of(2025, 11, 10, 21, 45);
+        String pending = TicketsRespository.PENDING_TICKET_ID;
+
+        // released hold frees the seat again
+        Assertions.assertEquals(1, ticketsRespository.reserveSeat(MOVIE, showtime, "ACTION", "D8", pending));
+        Assertions.assertEquals(0, ticketsRespository.reserveSeat(MOVIE, showtime, "ACTION", "D8", pending));
+        Assertions.assertEquals(1, ticketsRespository.releaseSeat(MOVIE, showtime, "D8"));
+        Assertions.assertTrue(ticketsRespository.findByNameTimeSeat(MOVIE, showtime, "D8").isEmpty());
+
+        // confirmed hold keeps the ticket number and can no longer be released
+        Assertions.assertEquals(1, ticketsRespository.reserveSeat(MOVIE, showtime, "ACTION", "D8", pending));
+        Assertions.assertEquals(1, ticketsRespository.confirmSeat(MOVIE, showtime, "D8", "8061234"));
+        Assertions.assertEquals(0, ticketsRespository.releaseSeat(MOVIE, showtime, "D8"));
+        Assertions.assertEquals("8061234",
+            ticketsRespository.findByNameTimeSeat(MOVIE, showtime, "D8").get(0).getTicketId());
+        Assertions.assertEquals(0, ticketsRespository.deleteStalePending(Instant.now().plusSeconds(60)));
+    }
+}
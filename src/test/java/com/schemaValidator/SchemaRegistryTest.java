@@ -0,0 +1,129 @@
+package com.schemaValidator;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import com.schema.SchemaRegistry;
+import com.schema.SchemaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SchemaRegistryTest {
+    private SimpleMeterRegistry meterRegistry;
+    private SchemaRegistry schemaRegistry;
+    private SchemaValidator schemaValidator;
+
+    @BeforeEach
+    void setup() {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        meterRegistry = new SimpleMeterRegistry();
+        schemaRegistry = new SchemaRegistry(resourceLoader, meterRegistry);
+        schemaValidator = new SchemaValidator(resourceLoader, schemaRegistry, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Compiled schema is reused across validations")
+    void testSchemaIsCached(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject json = new JSONObject("""
+            {
+                "topicName": "MovieListRequest",
+                "correlatorId": 5555,
+                "genre": "ACTION"
+            }
+        """);
+
+        Assertions.assertTrue(schemaValidator.validateJson("MovieListRequest", json));
+        Assertions.assertTrue(schemaValidator.validateJson("MovieListRequest", json));
+        Assertions.assertTrue(schemaValidator.validateJson("MovieListRequest", json));
+
+        Assertions.assertEquals(1, schemaRegistry.size());
+        Assertions.assertEquals(1, schemaRegistry.getMissCount());
+        Assertions.assertEquals(2, schemaRegistry.getHitCount());
+        Assertions.assertEquals(2, lookups("hit"));
+        Assertions.assertEquals(1, lookups("miss"));
+        Assertions.assertSame(schemaRegistry.getSchema("MovieListRequest"),
+                schemaRegistry.getSchema("MovieListRequest"));
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Cached schema still rejects invalid topics")
+    void testCachedSchemaRejectsInvalid(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject valid = new JSONObject("""
+            {
+                "topicName": "MovieListRequest",
+                "correlatorId": 5555,
+                "movieName": "Inception"
+            }
+        """);
+        JSONObject invalid = new JSONObject("""
+            {
+                "topicName": "MovieListRequest",
+                "correlatorId": 5555
+            }
+        """);
+
+        Assertions.assertTrue(schemaValidator.validateJson("MovieListRequest", valid));
+        Assertions.assertFalse(schemaValidator.validateJson("MovieListRequest", invalid));
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Service-local topic uses its schema under json-schema/local")
+    void testLocalTopic(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject single = new JSONObject("""
+            {
+                "topicName": "SeatAvailabilityRequest",
+                "correlatorId": 5560,
+                "movie": {"movieName": "Inception", "showtime": "2025-11-10T19:30:00-06:00"}
+            }
+        """);
+        JSONObject multi = new JSONObject("""
+            {
+                "topicName": "SeatAvailabilityRequest",
+                "correlatorId": 5561,
+                "showtimes": [
+                    {"movieName": "Inception", "showtime": "2025-11-10T19:30:00-06:00", "genre": "SCIFI"},
+                    {"movieName": "The Dark Knight", "showtime": "2025-11-10T21:45:00-06:00"}
+                ]
+            }
+        """);
+        Assertions.assertTrue(schemaValidator.validateJson("SeatAvailabilityRequest", single));
+        Assertions.assertTrue(schemaValidator.validateJson("SeatAvailabilityRequest", multi));
+
+        // neither or both forms, and a showing without its showtime
+        Assertions.assertFalse(schemaValidator.validateJson("SeatAvailabilityRequest",
+                new JSONObject(single.toString()).put("showtimes", multi.get("showtimes"))));
+        Assertions.assertFalse(schemaValidator.validateJson("SeatAvailabilityRequest",
+                new JSONObject().put("topicName", "SeatAvailabilityRequest").put("correlatorId", 5562)));
+        Assertions.assertFalse(schemaValidator.validateJson("SeatAvailabilityRequest",
+                new JSONObject(single.toString()).put("movie", new JSONObject().put("movieName", "Inception"))));
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Unknown topic has no schema, looked up once")
+    void testUnknownTopic(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        Assertions.assertNull(schemaRegistry.getSchema("NotARealTopic"));
+        Assertions.assertFalse(schemaValidator.validateJson("NotARealTopic", new JSONObject()));
+        Assertions.assertNull(schemaRegistry.getSchema("NotARealTopic"));
+
+        // later lookups are answered from the registry without loading anything
+        Assertions.assertEquals(1, lookups("miss"));
+        Assertions.assertEquals(2, lookups("unknown"));
+        Assertions.assertEquals(0, schemaRegistry.size());
+
+        // clear() forgets unknown topics too
+        schemaRegistry.clear();
+        Assertions.assertNull(schemaRegistry.getSchema("NotARealTopic"));
+        Assertions.assertEquals(2, lookups("miss"));
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get(SchemaRegistry.LOOKUPS).tag("result", result).counter().count();
+    }
+}
@@ -14,9 +14,11 @@ import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ResourceLoader;
 import com.SchemaService;
-import com.schema.SchemaValidator;  
+import com.schema.SchemaRegistry;
+import com.schema.SchemaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
-@SpringBootTest(classes = SchemaValidator.class)
+@SpringBootTest(classes = {SchemaValidator.class, SchemaRegistry.class})
 @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class})
 class SchemaValidatorTest {
     @Autowired
@@ -26,7 +28,8 @@ class SchemaValidatorTest {
 
     @BeforeEach
     void setup() {
-        schemaValidator = new SchemaValidator(resourceLoader);
+        schemaValidator = new SchemaValidator(resourceLoader, new SchemaRegistry(resourceLoader, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
     }
 
     @Test
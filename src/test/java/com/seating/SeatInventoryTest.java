@@ -0,0 +1,147 @@
+package com.seating;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postgres.EmbeddedPostgresSupport;
+import com.postgres.MoviesRepository;
+import com.postgres.TicketsRespository;
+import com.postgres.TicketsRespository.BookedSeat;
+import com.seating.SeatInventory.Hold;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Seat inventory loaded from and written behind to a real (embedded) Postgres
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SeatInventoryTest {
+    private static final String MOVIE = "Seat Inventory Test";
+    private static final LocalDateTime SHOWTIME = LocalDateTime.of(2031, 2, 1, 20, 0);
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+        @Bean
+        DataSource dataSource() {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+    }
+
+    @Autowired
+    private MoviesRepository moviesRepository;
+    @Autowired
+    private TicketsRespository ticketsRespository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SeatInventory seatInventory;
+    private Long showtimeId;
+
+    @BeforeEach
+    void seed() {
+        // A3 is out of service, A4 is marked sold without a ticket, A2 is sold without the JSONB knowing
+        showtimeId = jdbcTemplate.queryForObject("INSERT INTO movie_service.movies"
+                + " (movie_name, showtime, genre, seats, price) VALUES (?, ?, 'DRAMA', CAST(? AS jsonb), 10.00)"
+                + " RETURNING id", Long.class, MOVIE, SHOWTIME,
+                "{\"A1\": \"AVAILABLE\", \"A2\": \"AVAILABLE\", \"A3\": \"BROKEN\", \"A4\": \"BOOKED\"}");
+        // the ticket carries the title as requested
+        ticketsRespository.reserveSeat(MOVIE.toUpperCase(), SHOWTIME, "DRAMA", "A2", "8061000");
+        seatInventory = new SeatInventory(moviesRepository, ticketsRespository, new SimpleMeterRegistry(), true);
+        seatInventory.reload();
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM movie_service.tickets WHERE lower(movie_name) = lower(?)", MOVIE);
+        jdbcTemplate.update("DELETE FROM movie_service.movies WHERE movie_name = ?", MOVIE);
+    }
+
+    @Test
+    @DisplayName("[SEATING] Seats are loaded from movies.seats and tickets")
+    void load(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        Assertions.assertEquals(Hold.HELD, seatInventory.hold(showtimeId, "A1"));
+        Assertions.assertEquals(Hold.TAKEN, seatInventory.hold(showtimeId, "A1"));
+        Assertions.assertEquals(Hold.TAKEN, seatInventory.hold(showtimeId, "A2"));
+        Assertions.assertEquals(Hold.TAKEN, seatInventory.hold(showtimeId, "A3"));
+        Assertions.assertEquals(Hold.HELD, seatInventory.hold(showtimeId, "A4"));
+        Assertions.assertEquals(Hold.NO_SEAT, seatInventory.hold(showtimeId, "Z9"));
+        Assertions.assertEquals(Hold.UNKNOWN, seatInventory.hold(-1L, "A1"));
+
+        // a blocked seat is never given back
+        seatInventory.release(showtimeId, "A3");
+        Assertions.assertEquals(Hold.TAKEN, seatInventory.hold(showtimeId, "A3"));
+        seatInventory.release(showtimeId, "A1");
+        Assertions.assertEquals(Hold.HELD, seatInventory.hold(showtimeId, "A1"));
+    }
+
+    @Test
+    @DisplayName("[SEATING] Seat changes are written behind to movies.seats")
+    void writeBehind(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        // reload queued the seats whose JSONB disagrees with tickets
+        seatInventory.flush();
+        Assertions.assertEquals(Map.of("A1", "AVAILABLE", "A2", "BOOKED", "A3", "BROKEN", "A4", "AVAILABLE"),
+                seats());
+
+        Assertions.assertEquals(Hold.HELD, seatInventory.hold(showtimeId, "A1"));
+        Assertions.assertEquals("AVAILABLE", seats().get("A1"));
+        seatInventory.flush();
+        Assertions.assertEquals("BOOKED", seats().get("A1"));
+
+        seatInventory.release(showtimeId, "A1");
+        seatInventory.flush();
+        Assertions.assertEquals(Map.of("A1", "AVAILABLE", "A2", "BOOKED", "A3", "BROKEN", "A4", "AVAILABLE"),
+                seats());
+    }
+
+    @Test
+    @DisplayName("[SEATING] Seat held while a reload reads tickets stays taken")
+    void holdDuringReload(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        TicketsRespository tickets = Mockito.mock(TicketsRespository.class,
+                AdditionalAnswers.delegatesTo(ticketsRespository));
+        SeatInventory inventory = new SeatInventory(moviesRepository, tickets, new SimpleMeterRegistry(), true);
+        inventory.reload();
+
+        // A1 is held right after the tickets are read, before its row is inserted
+        Mockito.doAnswer(invocation -> {
+            List<BookedSeat> booked = ticketsRespository.findBookedSeats();
+            Assertions.assertEquals(Hold.HELD, inventory.hold(showtimeId, "A1"));
+            return booked;
+        }).when(tickets).findBookedSeats();
+        inventory.reload();
+
+        Assertions.assertEquals(Hold.TAKEN, inventory.hold(showtimeId, "A1"));
+        Assertions.assertEquals(List.of("A4"), inventory.availableSeats(showtimeId));
+    }
+
+    private Map<String, String> seats() throws Exception {
+        String json = jdbcTemplate.queryForObject("SELECT CAST(seats AS text) FROM movie_service.movies WHERE id = ?",
+                String.class, showtimeId);
+        return new ObjectMapper().readValue(json, new TypeReference<Map<String, String>>() {});
+    }
+}
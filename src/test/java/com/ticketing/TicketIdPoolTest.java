@@ -0,0 +1,134 @@
+package com.ticketing;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TicketIdPoolTest {
+	private TicketingManagerStub stub;
+	private TicketingManagerClient client;
+	private MeterRegistry meterRegistry;
+	private TicketIdPool pool;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		stub = new TicketingManagerStub();
+		client = new TicketingManagerClient(RestClient.create());
+		ReflectionTestUtils.setField(client, "ticketManager", stub.getHost());
+		ReflectionTestUtils.setField(client, "ticketManagerPort", String.valueOf(stub.getPort()));
+		client.init();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	public void teardown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+		stub.close();
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Ticket numbers served from the prefetched pool")
+	public void pooledTicketIdTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		pool = new TicketIdPool(client, meterRegistry, true, 8, 4, 8, true);
+		pool.init();
+		awaitDepth(8);
+		Assertions.assertEquals(8, stub.getRequestCount());
+		Assertions.assertEquals(8.0, meterRegistry.get("ticketing.pool.depth").gauge().value());
+
+		// the pool serves the bookings, dropping below the low-water mark starts a refill
+		Set<String> ticketIds = new HashSet<>();
+		for (int i = 0; i < 5; i++) {
+			ticketIds.add(pool.take());
+		}
+		Assertions.assertEquals(5, ticketIds.size());
+		awaitDepth(8);
+		Assertions.assertEquals(13, stub.getRequestCount());
+		Assertions.assertEquals(5, meterRegistry.get("ticketing.pool.takes").tag("source", "pool").counter().count());
+		Assertions.assertEquals(0, meterRegistry.get("ticketing.pool.takes").tag("source", "fallback").counter().count());
+		Assertions.assertTrue(meterRegistry.get("ticketing.pool.refill").timer().count() >= 2);
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Empty pool falls back to a synchronous request")
+	public void fallbackTicketIdTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		pool = new TicketIdPool(client, meterRegistry, false, 8, 4, 8, false);
+		pool.init();
+
+		Assertions.assertEquals("8060000", pool.take());
+		Assertions.assertEquals(1, stub.getRequestCount());
+		Assertions.assertEquals(0, pool.getDepth());
+		Assertions.assertEquals(1, meterRegistry.get("ticketing.pool.takes").tag("source", "fallback").counter().count());
+
+		// failures are passed through like a direct Ticketing Manager call
+		stub.setErrorRate(1.0);
+		Assertions.assertThrows(RuntimeException.class, () -> pool.take());
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Group bookings take their ticket numbers at once")
+	public void groupTicketIdsTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		pool = new TicketIdPool(client, meterRegistry, true, 8, 4, 8, true);
+		pool.init();
+		awaitDepth(8);
+
+		// six from the pool
+		List<String> ticketIds = pool.take(6);
+		Assertions.assertEquals(List.of("8060000", "8060001", "8060002", "8060003", "8060004", "8060005"), ticketIds);
+		awaitDepth(8);
+
+		// a group larger than the pool takes what is pooled, the rest is requested
+		ticketIds = pool.take(10);
+		Assertions.assertEquals(10, ticketIds.size());
+		Assertions.assertEquals(10, new HashSet<>(ticketIds).size());
+		Assertions.assertEquals(14, meterRegistry.get("ticketing.pool.takes").tag("source", "pool").counter().count());
+		Assertions.assertEquals(2, meterRegistry.get("ticketing.pool.takes").tag("source", "fallback").counter().count());
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Failed group take gives its ticket numbers back to the pool")
+	public void groupTicketIdsReturnedTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		// no refill, the pool only holds what is given back
+		pool = new TicketIdPool(client, meterRegistry, false, 3, 1, 8, false);
+		pool.offer(List.of("8069998", "8069999"));
+		Assertions.assertEquals(2, pool.getDepth());
+
+		stub.setErrorRate(1.0);
+		Assertions.assertThrows(RuntimeException.class, () -> pool.take(4));
+		Assertions.assertEquals(2, pool.getDepth());
+
+		stub.setErrorRate(0);
+		List<String> ticketIds = pool.take(3);
+		Assertions.assertEquals(3, ticketIds.size());
+		Assertions.assertTrue(ticketIds.containsAll(List.of("8069998", "8069999")));
+		Assertions.assertEquals(0, pool.getDepth());
+
+		// numbers beyond capacity are dropped
+		pool.offer(ticketIds);
+		pool.offer(List.of("8069997"));
+		Assertions.assertEquals(3, pool.getDepth());
+	}
+
+	private void awaitDepth(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (pool.getDepth() < expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals(expected, pool.getDepth());
+	}
+}
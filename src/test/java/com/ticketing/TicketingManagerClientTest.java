@@ -0,0 +1,55 @@
+package com.ticketing;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketingManagerClientTest {
+	private TicketingManagerClient client;
+	@Mock
+    private RestClient ticketingManagerClient; 
+	private RestClient.ResponseSpec responseSpec;
+
+	@BeforeEach
+	public void setup() {
+		// REST CLIENT MOCK FOR THE TICKET MANAGER
+		RestClient.RequestBodyUriSpec requestBodyUriSpec = mock(RestClient.RequestBodyUriSpec.class);
+		RestClient.RequestBodySpec requestBodySpec = mock(RestClient.RequestBodySpec.class);
+		responseSpec = mock(RestClient.ResponseSpec.class);
+		when(ticketingManagerClient.post()).thenReturn(requestBodyUriSpec);
+		when(requestBodyUriSpec.uri(ArgumentMatchers.<String>any())).thenReturn(requestBodySpec);  // this line is crucial, or else URI error
+		when(requestBodySpec.contentType(any(MediaType.class))).thenReturn(requestBodySpec); // chainable
+		when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+		client = new TicketingManagerClient(ticketingManagerClient);
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Ticket number from the Ticketing Manager")
+	public void requestTicketIdTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		when(responseSpec.toEntity(String.class)).thenReturn(ResponseEntity.ok("8060000"));
+		Assertions.assertEquals("8060000", client.requestTicketId());
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Non-2xx Ticketing Manager response")
+	public void requestTicketIdFailureTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		when(responseSpec.toEntity(String.class)).thenReturn(ResponseEntity.status(HttpStatus.FOUND).body(""));
+		Assertions.assertNull(client.requestTicketId());
+	}
+}
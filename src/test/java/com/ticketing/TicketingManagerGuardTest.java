@@ -0,0 +1,200 @@
+package com.ticketing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+public class TicketingManagerGuardTest {
+	private TicketingManagerStub stub;
+	private MeterRegistry meterRegistry;
+	private TicketingManagerGuard guard;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		stub = new TicketingManagerStub();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	public void teardown() {
+		if (guard != null) {
+			guard.shutdown();
+		}
+		stub.close();
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Slow Ticketing Manager calls give up after the read timeout")
+	public void readTimeoutTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		guard = guard(10, Duration.ZERO, false);
+		TicketingManagerClient client = client(guard, Duration.ofMillis(200));
+		ReactiveTicketingManagerClient reactiveClient = new ReactiveTicketingManagerClient(WebClient.builder(),
+				client, guard, 10, Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofMillis(200));
+		stub.setLatencyMillis(2000);
+
+		long start = System.nanoTime();
+		Assertions.assertThrows(RestClientException.class, client::requestTicketId);
+		Assertions.assertThrows(RuntimeException.class, () -> reactiveClient.requestTicketId().block());
+		Assertions.assertTrue(System.nanoTime() - start < Duration.ofMillis(1500).toNanos());
+		Assertions.assertEquals(2, meterRegistry.get(TicketingManagerGuard.REQUESTS)
+				.tag("outcome", "failure").timer().count());
+		reactiveClient.shutdown();
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Circuit opens on failures, refuses calls until trial calls close it")
+	public void circuitBreakerTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		guard = guard(10, Duration.ZERO, false);
+		TicketingManagerClient client = client(guard, Duration.ofSeconds(1));
+		stub.setErrorRate(1.0);
+
+		// 4 of the last 4 calls failed
+		for (int i = 0; i < 4; i++) {
+			Assertions.assertThrows(RestClientException.class, client::requestTicketId);
+		}
+		Assertions.assertEquals(TicketingManagerGuard.State.OPEN, guard.getState());
+		TicketingManagerUnavailableException refused = Assertions.assertThrows(
+				TicketingManagerUnavailableException.class, client::requestTicketId);
+		Assertions.assertTrue(refused.getRetryAfter().compareTo(Duration.ofMillis(300)) <= 0);
+		Assertions.assertEquals(4, stub.getRequestCount());
+		Assertions.assertEquals(2.0, meterRegistry.get(TicketingManagerGuard.CIRCUIT_STATE).gauge().value());
+		Assertions.assertEquals(1, meterRegistry.get(TicketingManagerGuard.REJECTED)
+				.tag("reason", "circuit_open").counter().count());
+
+		// a failed trial call opens it again
+		Thread.sleep(350);
+		Assertions.assertThrows(RestClientException.class, client::requestTicketId);
+		Assertions.assertEquals(TicketingManagerGuard.State.OPEN, guard.getState());
+
+		// two answered trial calls close it
+		stub.setErrorRate(0);
+		Thread.sleep(350);
+		Assertions.assertNotNull(client.requestTicketId());
+		Assertions.assertEquals(TicketingManagerGuard.State.HALF_OPEN, guard.getState());
+		Assertions.assertNotNull(client.requestTicketId());
+		Assertions.assertEquals(TicketingManagerGuard.State.CLOSED, guard.getState());
+		Assertions.assertEquals(7, stub.getRequestCount());
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Cancelled trial call does not keep the circuit half-open")
+	public void cancelledTrialTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		guard = guard(10, Duration.ZERO, false);
+		for (int i = 0; i < 4; i++) {
+			Assertions.assertNull(guard.call(() -> null));
+		}
+		Assertions.assertEquals(TicketingManagerGuard.State.OPEN, guard.getState());
+		Thread.sleep(350);
+
+		// both trial calls are cancelled before the Ticketing Manager answers (client gone)
+		guard.callReactive(() -> Mono.<String>never()).subscribe().dispose();
+		guard.callReactive(() -> Mono.<String>never()).subscribe().dispose();
+		Assertions.assertEquals(TicketingManagerGuard.State.HALF_OPEN, guard.getState());
+		Assertions.assertEquals(0.0, meterRegistry.get(TicketingManagerGuard.BULKHEAD_ACTIVE).gauge().value());
+
+		// their slots went back, two answered trial calls close the circuit
+		Assertions.assertEquals("8060000", guard.callReactive(() -> Mono.just("8060000")).block());
+		Assertions.assertEquals("8060001", guard.call(() -> "8060001"));
+		Assertions.assertEquals(TicketingManagerGuard.State.CLOSED, guard.getState());
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Bulkhead refuses calls beyond max-concurrent")
+	public void bulkheadTest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		guard = guard(2, Duration.ZERO, false);
+		TicketingManagerClient client = client(guard, Duration.ofSeconds(1));
+		stub.setLatencyMillis(150);
+
+		List<CompletableFuture<String>> inFlight = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			inFlight.add(CompletableFuture.supplyAsync(client::requestTicketId,
+					Executors.newVirtualThreadPerTaskExecutor()));
+		}
+		long deadline = System.currentTimeMillis() + 5000;
+		while (meterRegistry.get(TicketingManagerGuard.BULKHEAD_ACTIVE).gauge().value() < 2
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+
+		Assertions.assertThrows(TicketingManagerUnavailableException.class, client::requestTicketId);
+		for (CompletableFuture<String> call : inFlight) {
+			Assertions.assertNotNull(call.get());
+		}
+		Assertions.assertEquals(2, stub.getRequestCount());
+		Assertions.assertEquals(1, meterRegistry.get(TicketingManagerGuard.REJECTED)
+				.tag("reason", "bulkhead_full").counter().count());
+		Assertions.assertEquals(0.0, meterRegistry.get(TicketingManagerGuard.BULKHEAD_ACTIVE).gauge().value());
+	}
+
+	@Test
+	@DisplayName("[TICKETING] Hedged request answers when the first one is slow")
+	public void hedgingTest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		guard = guard(10, Duration.ZERO, true);
+
+		// first attempt stuck behind a slow Ticketing Manager, the hedge 50 ms later answers at once
+		AtomicInteger attempts = new AtomicInteger();
+		long start = System.nanoTime();
+		Assertions.assertEquals("8060001", guard.call(() -> {
+			if (attempts.getAndIncrement() == 0) {
+				try {
+					Thread.sleep(1000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return "8060000";
+			}
+			return "8060001";
+		}));
+		Assertions.assertTrue(System.nanoTime() - start < Duration.ofMillis(800).toNanos());
+
+		AtomicInteger reactiveAttempts = new AtomicInteger();
+		Assertions.assertEquals("8060003", guard.callReactive(() -> reactiveAttempts.getAndIncrement() == 0
+				? Mono.delay(Duration.ofSeconds(1)).thenReturn("8060002")
+				: Mono.just("8060003")).block());
+		Assertions.assertEquals(2, meterRegistry.get(TicketingManagerGuard.HEDGES).tag("result", "sent").counter().count());
+		Assertions.assertEquals(2, meterRegistry.get(TicketingManagerGuard.HEDGES).tag("result", "won").counter().count());
+
+		// a fast answer is not hedged, a slow non-2xx answer (empty) is and stays empty
+		Assertions.assertEquals("8060004", guard.call(() -> "8060004"));
+		Assertions.assertNull(guard.callReactive(() -> Mono.delay(Duration.ofMillis(100)).then(Mono.<String>empty()))
+				.block());
+		Assertions.assertEquals(3, meterRegistry.get(TicketingManagerGuard.HEDGES).tag("result", "sent").counter().count());
+	}
+
+	// failure-rate 0.5 over a window of 4, open for 300 ms, 2 trial calls, hedge after 50 ms
+	private TicketingManagerGuard guard(int maxConcurrent, Duration maxWait, boolean hedging) {
+		return new TicketingManagerGuard(meterRegistry, maxConcurrent, maxWait, 0.5, 4, 4, Duration.ofMillis(300), 2,
+				hedging, Duration.ofMillis(50), true);
+	}
+
+	private TicketingManagerClient client(TicketingManagerGuard guard, Duration readTimeout) {
+		TicketingManagerClient client = new TicketingManagerClient(RestClient.builder()
+				.requestFactory(TicketingManagerClient.requestFactory(true, Duration.ofSeconds(1), readTimeout))
+				.build(), guard);
+		ReflectionTestUtils.setField(client, "ticketManager", stub.getHost());
+		ReflectionTestUtils.setField(client, "ticketManagerPort", String.valueOf(stub.getPort()));
+		client.init();
+		return client;
+	}
+}